@@ -1,6 +1,13 @@
 package controller;
 
+import engine.EndgameBitbases;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+
+import model.Board;
 import model.ChessModel;
+import model.GameStatus;
 
 import observer.Observable;
 import observer.Observer;
@@ -13,6 +20,8 @@ import javax.swing.*;
 
 import java.awt.Component;
 import java.io.*;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
 
 
 //Controlador do jogo de xadrez que coordena a comunicacao entre o chessmodel e as views.
@@ -21,6 +30,18 @@ public class GameController implements Observer{
     private GameView view; // view do tabuleiro
     private ConsoleView consoleView;  // view ta tela de inicio
 
+    // Computador: joga com uma das cores, buscando em segundo plano sobre uma cópia do tabuleiro
+    private static final long COMPUTER_TIME_MILLIS = 2000;
+    private boolean computerEnabled = false;
+    private boolean computerWhite = false;
+    private Search computerSearch;    // busca em andamento, ou null
+    private final TranspositionTable computerTable = new TranspositionTable(); // reaproveitada de um lance para o outro
+    // Bases de finais KPK/KRK: carregadas do arquivo (ou geradas e gravadas nele) em segundo plano
+    // quando o computador é ligado; null até ficarem prontas
+    private static final String BITBASES_FILE = "endgame.bitbases";
+    private EndgameBitbases bitbases;
+    private boolean bitbasesRequested = false;
+
  
     public GameController(ChessModel model) {
         this.model = model;
@@ -46,31 +67,152 @@ public class GameController implements Observer{
     }
 
 
-    // Verifica se foi cheque mate, congelamento, ou se o jogo continua
+    // Verifica se foi cheque mate, congelamento, empate por repetição, pelos 50 lances ou por material insuficiente,
+    // ou se o jogo continua
+    // A situação vem dos lances legais calculados uma única vez para a posição atual
     public void checkEndOfGame() {
-        if (model.isCheckMate()) {
-            JOptionPane.showMessageDialog(view, "Xeque-mate! O jogador " + (model.isWhiteTurn() ? "branco" : "preto") + " perdeu.");
-            // Fecha a janela atual
+        GameStatus status = model.getGameStatus();
+        if (status == GameStatus.CHECKMATE) {
+            endGame("Xeque-mate! O jogador " + (model.isWhiteTurn() ? "branco" : "preto") + " perdeu.");
+        } else if (status == GameStatus.STALEMATE) {
+            endGame("Empate por congelamento!");
+        } else if (status == GameStatus.THREEFOLD_REPETITION) {
+            endGame("Empate por repetição tripla da posição!");
+        } else if (status == GameStatus.FIFTY_MOVE_RULE) {
+            endGame("Empate pela regra dos 50 lances!");
+        } else if (status == GameStatus.INSUFFICIENT_MATERIAL) {
+            endGame("Empate por material insuficiente!");
+        } else {
             if (consoleView != null) {
-                consoleView.dispose();
+                consoleView.updateTurn(); // Atualiza a barra de menu com a cor do próximo turno
+                showEndgameResult();
+            }
+            if (isComputerTurn()) {
+                startComputerMove();
             }
+        }
+    }
 
-            // Abre a tela inicial
-            new StartView();
-        } else if (model.isStalelMate()) {
-            JOptionPane.showMessageDialog(view, "Empate por congelamento!");
-            // Fecha a janela atual
-            if (consoleView != null) {
-                consoleView.dispose();
+    // Nos finais cobertos pelas bases, mostra no menu o resultado com jogo perfeito
+    private void showEndgameResult() {
+        if (bitbases == null || !EndgameBitbases.covers(model.getBoard())) return;
+        int wdl = bitbases.wdl(model.getBoard());
+        String side = model.isWhiteTurn() ? "brancas" : "pretas";
+        String other = model.isWhiteTurn() ? "pretas" : "brancas";
+        int distance = bitbases.mateDistance(model.getBoard());
+        String mate = distance >= 0 ? " (mate em " + (distance + 1) / 2 + ")" : "";
+        if (wdl == EndgameBitbases.WIN) {
+            consoleView.showEndgameInfo("Final teórico: " + side + " vencem" + mate);
+        } else if (wdl == EndgameBitbases.LOSS) {
+            consoleView.showEndgameInfo("Final teórico: " + other + " vencem" + mate);
+        } else {
+            consoleView.showEndgameInfo("Final teórico: empate");
+        }
+    }
+
+    // Faz o computador jogar com a cor indicada (true = brancas); se já for a vez dele, começa a pensar
+    public void setComputerPlayer(boolean white) {
+        computerEnabled = true;
+        computerWhite = white;
+        loadBitbases();
+        checkEndOfGame();
+    }
+
+    // Começa a carregar as bases de finais numa thread de fundo (uma única vez); até ficarem prontas,
+    // o computador joga sem elas
+    private void loadBitbases() {
+        if (bitbasesRequested) return;
+        bitbasesRequested = true;
+        new SwingWorker<EndgameBitbases, Void>() {
+            @Override
+            protected EndgameBitbases doInBackground() throws IOException {
+                return EndgameBitbases.loadOrGenerate(Paths.get(BITBASES_FILE));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    bitbases = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    bitbasesRequested = false; // tenta de novo na próxima vez que o computador for ligado
+                }
+            }
+        }.execute();
+    }
+
+    // Volta para dois jogadores humanos, interrompendo a busca em andamento
+    public void disableComputerPlayer() {
+        computerEnabled = false;
+        stopComputer();
+    }
+
+    // Retorna true se a vez é do computador (a interface ignora os cliques no tabuleiro)
+    public boolean isComputerTurn() {
+        return computerEnabled && model.isWhiteTurn() == computerWhite && !model.hasPendingPromotion();
+    }
+
+    // Busca o lance do computador numa thread de fundo e o joga na thread da interface.
+    // O lance é descartado se a partida mudou enquanto o computador pensava (reinício ou carregamento).
+    private void startComputerMove() {
+        if (computerSearch != null) return; // já está pensando nesta posição
+        ChessModel searchedModel = model;
+        long key = model.positionKey();
+        Search search = new Search(new Board(model.getBoard()), computerTable);
+        search.setBitbases(bitbases);
+        computerSearch = search;
+
+        new SwingWorker<SearchResult, Void>() {
+            @Override
+            protected SearchResult doInBackground() {
+                return search.search(Search.MAX_PLY, COMPUTER_TIME_MILLIS, 0);
+            }
+
+            @Override
+            protected void done() {
+                if (computerSearch == search) {
+                    computerSearch = null;
+                }
+                SearchResult result;
+                try {
+                    result = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    return;
+                }
+                if (consoleView != null) {
+                    consoleView.showComputerInfo(result);
+                }
+                if (!computerEnabled || model != searchedModel || model.positionKey() != key) {
+                    return;
+                }
+                if (model.playMove(result.getBestMove())) {
+                    if (view != null) view.repaint();
+                    checkEndOfGame();
+                }
             }
+        }.execute();
+    }
 
-            // Abre a tela inicial
-            new StartView();
-        } else if (consoleView != null) {
-            consoleView.updateTurn(); // Atualiza a barra de menu com a cor do próximo turno
+    // Interrompe a busca do computador, se houver; o lance dela não é jogado
+    private void stopComputer() {
+        if (computerSearch != null) {
+            computerSearch.stop();
+            computerSearch = null;
         }
     }
 
+    // Mostra a mensagem de fim de jogo, fecha a janela atual e volta para a tela inicial
+    private void endGame(String message) {
+        stopComputer();
+        JOptionPane.showMessageDialog(view, message);
+        // Fecha a janela atual
+        if (consoleView != null) {
+            consoleView.dispose();
+        }
+
+        // Abre a tela inicial
+        new StartView();
+    }
+
     // Faz a promocao do peao recebendo como parametro o tipo da peca que ele ira se transformar
     public void setPawnPromotion(String tipo) {
         model.promotePawn(tipo);
@@ -80,8 +222,8 @@ public class GameController implements Observer{
 
     //Reseta o modelo do jogo para o estado inicial, atualiza as referências nas views e notifica componentes 
     public void restartGame() {
-        ChessModel.resetInstance();
-        this.model = ChessModel.getInstance();
+        stopComputer();
+        this.model = new ChessModel();
 
         GameView newGameView = new GameView(model);
         newGameView.setController(this);
@@ -93,6 +235,9 @@ public class GameController implements Observer{
             consoleView.setGameView(newGameView);
             consoleView.updateTurn();
         }
+        if (isComputerTurn()) {
+            startComputerMove(); // computador com as brancas abre a nova partida
+        }
     }
 
     //Recebe: componente pai para a caixa de diálogo
@@ -136,8 +281,7 @@ public class GameController implements Observer{
                 reader.close();
 
                 if (fen != null && !fen.trim().isEmpty()) {
-                    ChessModel.resetInstance();
-                    ChessModel newModel = ChessModel.getInstance();
+                    ChessModel newModel = new ChessModel();
                     newModel.loadFEN(fen.trim());
 
                     JOptionPane.showMessageDialog(parent, "Partida carregada com sucesso!");
@@ -156,6 +300,7 @@ public class GameController implements Observer{
     // Função responsável por declarar o vencedor a partir do turno e
     // retornar a mensagem de vitória para o jogador oposto.
     public void desist() {
+        stopComputer();
         String vencedor = model.isWhiteTurn() ? "pretas" : "brancas";
         JOptionPane.showMessageDialog(view,
             "Jogador das " + (model.isWhiteTurn() ? "brancas" : "pretas") +
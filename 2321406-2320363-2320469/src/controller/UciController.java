@@ -0,0 +1,355 @@
+package controller;
+
+import engine.EndgameBitbases;
+import engine.OpeningBook;
+import engine.PolyglotKey;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * Controlador do protocolo UCI: lê os comandos de uma interface de xadrez (ou gerenciador de torneios)
+ * pela entrada de texto e responde pela saída, sem interface gráfica.
+ * A posição vem de ChessModel.loadFEN e os lances de "position ... moves" passam por ChessModel.playMove,
+ * como os lances da interface. A leitura dos comandos e a busca rodam em threads separadas: enquanto
+ * a busca pensa, "stop", "isready" e "quit" continuam sendo atendidos, e o pedido de parada é visto pela
+ * busca no nó seguinte (ver Search.stop).
+ * Comandos: uci, isready, setoption, ucinewgame, position, go, stop e quit; os demais são ignorados.
+ */
+public class UciController {
+    public static final String ENGINE_NAME = "ChessGame";
+
+    // Com relógio e sem "movestogo", o tempo restante é dividido como se faltassem estes lances
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    // Margem deixada no relógio para a comunicação com a interface
+    private static final long MOVE_OVERHEAD_MILLIS = 30;
+    private static final int MAX_HASH_MEGABYTES = 1024;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final ExecutorService searchThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uci-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ChessModel model = new ChessModel();
+    private TranspositionTable table = new TranspositionTable();
+    private EndgameBitbases bitbases;   // opção BitbasesFile, ou null
+    private OpeningBook book;           // opções BookFile e Random64File, ou null
+    private boolean ownBook = false;    // opção OwnBook: se o livro é consultado antes de buscar
+    private String bookFile = "";
+    private String random64File = "";
+
+    // Busca em andamento (só alterados pela thread de leitura)
+    private Search search;
+    private CountDownLatch stopSignal;  // liberado por stop ou quit; "go infinite" espera por ele
+    private Future<?> searchTask;
+
+    public UciController(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    // Lê e executa os comandos até "quit" ou o fim da entrada; a busca em andamento é parada antes de voltar
+    public void run() throws IOException {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handle(line)) break;
+            }
+        } finally {
+            stopSearch();
+            searchThread.shutdown();
+        }
+    }
+
+    /**
+     * Executa um comando UCI.
+     * Retorna: false se o comando for "quit", true caso contrário.
+     */
+    public boolean handle(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + ENGINE_NAME);
+                send("id author Dante Navaza, Breno Andrade, Rafael Chesz");
+                send("option name Hash type spin default " + TranspositionTable.DEFAULT_MEGABYTES
+                        + " min 1 max " + MAX_HASH_MEGABYTES);
+                send("option name OwnBook type check default false");
+                send("option name BookFile type string default <empty>");
+                send("option name Random64File type string default <empty>");
+                send("option name BitbasesFile type string default <empty>");
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "setoption":
+                setOption(line);
+                break;
+            case "ucinewgame":
+                stopSearch();
+                table.clear();
+                break;
+            case "position":
+                setPosition(tokens);
+                break;
+            case "go":
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                break; // comandos desconhecidos (e linhas vazias) são ignorados, como pede o protocolo
+        }
+        return true;
+    }
+
+    // Retorna a partida com a posição do último comando "position"
+    public ChessModel getModel() {
+        return model;
+    }
+
+    // "setoption name <nome> value <valor>": o nome pode ter espaços, e o valor é o resto da linha
+    private void setOption(String line) {
+        int nameIndex = line.indexOf(" name ");
+        if (nameIndex < 0) return;
+        int valueIndex = line.indexOf(" value ", nameIndex);
+        String name = (valueIndex < 0 ? line.substring(nameIndex + 6) : line.substring(nameIndex + 6, valueIndex)).trim();
+        String value = valueIndex < 0 ? "" : line.substring(valueIndex + 7).trim();
+        stopSearch();
+        try {
+            switch (name.toLowerCase()) {
+                case "hash":
+                    int megabytes = Integer.parseInt(value);
+                    if (megabytes < 1 || megabytes > MAX_HASH_MEGABYTES) {
+                        throw new IllegalArgumentException("tamanho fora do intervalo: " + value);
+                    }
+                    table = new TranspositionTable(megabytes);
+                    break;
+                case "ownbook":
+                    ownBook = Boolean.parseBoolean(value);
+                    break;
+                case "bookfile":
+                    bookFile = value;
+                    loadBook();
+                    break;
+                case "random64file":
+                    random64File = value;
+                    loadBook();
+                    break;
+                case "bitbasesfile":
+                    bitbases = isEmpty(value) ? null : EndgameBitbases.loadOrGenerate(Paths.get(value));
+                    break;
+                default:
+                    send("info string Opção desconhecida: " + name);
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            send("info string Opção " + name + " inválida: " + ex.getMessage());
+        }
+    }
+
+    // Abre o livro quando os dois arquivos (livro e tabela Polyglot) estiverem definidos
+    private void loadBook() throws IOException {
+        book = null;
+        if (isEmpty(bookFile) || isEmpty(random64File)) return;
+        book = OpeningBook.open(Paths.get(bookFile), PolyglotKey.load(Paths.get(random64File)), System.nanoTime());
+    }
+
+    private static boolean isEmpty(String value) {
+        return value.isEmpty() || value.equals("<empty>");
+    }
+
+    // "position [startpos | fen <FEN>] [moves <lance> ...]". Com uma FEN ou um lance inválido, avisa e
+    // mantém a posição anterior.
+    private void setPosition(String[] tokens) {
+        int index = 1;
+        StringBuilder fen = new StringBuilder();
+        if (index < tokens.length && tokens[index].equals("startpos")) {
+            fen.append(ChessModel.START_FEN);
+            index++;
+        } else if (index < tokens.length && tokens[index].equals("fen")) {
+            for (index++; index < tokens.length && !tokens[index].equals("moves"); index++) {
+                if (fen.length() > 0) fen.append(' ');
+                fen.append(tokens[index]);
+            }
+        } else {
+            send("info string Comando position sem startpos nem fen");
+            return;
+        }
+
+        ChessModel newModel = new ChessModel();
+        try {
+            newModel.loadFEN(fen.toString());
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            send("info string FEN inválida: " + fen);
+            return;
+        }
+        if (index < tokens.length && tokens[index].equals("moves")) {
+            for (index++; index < tokens.length; index++) {
+                int move = parseMove(newModel.getBoard(), tokens[index]);
+                if (move == Move.NONE || !newModel.playMove(move)) {
+                    send("info string Lance ilegal: " + tokens[index]);
+                    return;
+                }
+            }
+        }
+        model = newModel;
+    }
+
+    // Encontra, entre os lances legais da posição, o lance na notação de coordenadas; Move.NONE se não houver
+    private static int parseMove(Board board, String text) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.toUci(moves[i]).equals(text)) return moves[i];
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * "go" com depth, nodes, movetime, wtime/btime/winc/binc/movestogo ou infinite. Sem nenhum limite a busca
+     * é infinita. A busca roda na thread de busca, que imprime um "info" por profundidade concluída e,
+     * ao terminar, o "bestmove"; numa busca infinita o "bestmove" só sai depois de "stop".
+     */
+    private void go(String[] tokens) {
+        stopSearch();
+        int depth = Search.MAX_PLY;
+        long nodes = 0;
+        long moveTime = 0;
+        long clock = -1;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        boolean infinite = false;
+        boolean white = model.isWhiteTurn();
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "depth": depth = Math.min(Integer.parseInt(tokens[++i]), Search.MAX_PLY); break;
+                    case "nodes": nodes = Long.parseLong(tokens[++i]); break;
+                    case "movetime": moveTime = Long.parseLong(tokens[++i]); break;
+                    case "wtime": if (white) clock = Long.parseLong(tokens[++i]); else i++; break;
+                    case "btime": if (!white) clock = Long.parseLong(tokens[++i]); else i++; break;
+                    case "winc": if (white) increment = Long.parseLong(tokens[++i]); else i++; break;
+                    case "binc": if (!white) increment = Long.parseLong(tokens[++i]); else i++; break;
+                    case "movestogo": movesToGo = Math.max(1, Integer.parseInt(tokens[++i])); break;
+                    case "infinite": infinite = true; break;
+                    default: break;
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+            send("info string Comando go inválido");
+            send("bestmove 0000");
+            return;
+        }
+        if (moveTime == 0 && clock >= 0) {
+            moveTime = allocateTime(clock, increment, movesToGo);
+        }
+        if (depth < 1) depth = 1;
+        boolean waitForStop = infinite || (depth == Search.MAX_PLY && nodes == 0 && moveTime == 0);
+
+        // A cópia leva as posições anteriores da partida, então a busca enxerga as repetições
+        Board board = new Board(model.getBoard());
+        Search current = new Search(board, table);
+        current.setBitbases(bitbases);
+        current.setIterationListener(this::sendInfo);
+        CountDownLatch signal = new CountDownLatch(1);
+        int maxDepth = depth;
+        long maxNodes = nodes;
+        long timeMillis = moveTime;
+        OpeningBook currentBook = ownBook ? book : null;
+        search = current;
+        stopSignal = signal;
+        searchTask = searchThread.submit(() -> {
+            int bookMove = currentBook != null ? currentBook.pickMove(board) : Move.NONE;
+            int best = bookMove;
+            if (best == Move.NONE) {
+                SearchResult result = current.search(maxDepth, timeMillis, maxNodes);
+                best = result.getBestMove();
+            }
+            // Na busca infinita, o lance só é informado quando a interface pedir
+            if (waitForStop) {
+                awaitUninterruptibly(signal);
+            }
+            send("bestmove " + (best == Move.NONE ? "0000" : Move.toUci(best)));
+        });
+    }
+
+    // Tempo para o lance com relógio: uma fração do que resta mais a maior parte do incremento,
+    // sem nunca chegar perto de zerar o relógio
+    static long allocateTime(long clock, long increment, int movesToGo) {
+        long time = clock / movesToGo + increment * 3 / 4;
+        time = Math.min(time, clock - MOVE_OVERHEAD_MILLIS);
+        return Math.max(1, time);
+    }
+
+    // Para a busca em andamento, se houver, e espera o "bestmove" dela sair
+    private void stopSearch() {
+        if (search == null) return;
+        search.stop();
+        stopSignal.countDown();
+        try {
+            searchTask.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            send("info string Falha na busca: " + ex.getCause());
+        }
+        search = null;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ex) {
+                // só a parada libera a espera
+            }
+        }
+    }
+
+    // Uma linha "info" por profundidade concluída
+    private void sendInfo(SearchResult.Iteration iteration) {
+        int score = iteration.getScore();
+        String scoreText;
+        if (Search.isMateScore(score)) {
+            scoreText = SearchResult.formatScore(score);  // "mate N", negativo se for sofrido
+        } else {
+            scoreText = "cp " + score;
+        }
+        long millis = iteration.getElapsedNanos() / 1_000_000;
+        long nps = (long) (iteration.getNodes() * 1e9 / Math.max(1, iteration.getElapsedNanos()));
+        send("info depth " + iteration.getDepth() + " score " + scoreText + " nodes " + iteration.getNodes()
+                + " nps " + nps + " time " + millis + " hashfull " + table.hashfull()
+                + " pv " + SearchResult.formatLine(iteration.getPrincipalVariation()));
+    }
+
+    // As duas threads escrevem na saída: cada linha sai inteira e é enviada na hora
+    private void send(String text) {
+        synchronized (out) {
+            out.println(text);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package engine;
+
+import model.Board;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Bases de finais geradas por análise retrógrada, consultadas em tempo constante:
+ * rei e peão contra rei (KPK: ganha ou empata) e rei e torre contra rei (KRK: distância até o mate).
+ * As posições são normalizadas com o lado forte nas brancas (espelhando o tabuleiro na vertical e trocando
+ * as cores) e, no KPK, com o peão nas colunas a-d (espelhando na horizontal).
+ * O KPK guarda um bit por posição (vitória das brancas) e o KRK, 6 bits por posição (meio-lances até o mate),
+ * ambos em vetores de long que podem ser gravados num arquivo e lidos de volta sem refazer a geração.
+ * A geração percorre todas as posições de cada passo em paralelo.
+ */
+public final class EndgameBitbases {
+    // Resultados de wdl, do ponto de vista do jogador da vez
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    public static final int UNKNOWN = 2;  // material fora das bases
+
+    private static final int MAGIC = 0x4B504B52;  // "KPKR": início do arquivo
+
+    // KPK: [vez][rei branco][rei preto][peão: (linha - 1) * 4 + coluna, colunas a-d e linhas 1 a 6]
+    private static final int KPK_SIZE = 2 * 64 * 64 * 24;
+    // KRK: [vez][rei branco][torre branca][rei preto]
+    private static final int KRK_SIZE = 2 * 64 * 64 * 64;
+    private static final int DTM_BITS = 6;
+    private static final int DTM_PER_LONG = 64 / DTM_BITS;
+    private static final int NO_MATE = (1 << DTM_BITS) - 1;  // empate ou posição inválida
+
+    // Estados durante a geração
+    private static final byte INVALID = 0;
+    private static final byte PENDING = 1;
+    private static final byte DRAWN = 2;
+    private static final byte WON = 3;
+
+    private static final int WHITE_TO_MOVE = 0;
+    private static final int BLACK_TO_MOVE = 1;
+
+    private static final long[] KING_ATTACKS = new long[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int row = square >>> 3;
+            int col = square & 7;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = row + dr;
+                    int c = col + dc;
+                    if ((dr != 0 || dc != 0) && r >= 0 && r < 8 && c >= 0 && c < 8) {
+                        KING_ATTACKS[square] |= 1L << (r * 8 + c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final long KPK_WHITE = Board.materialKey(true, Board.KING) + Board.materialKey(false, Board.KING)
+            + Board.materialKey(true, Board.PAWN);
+    private static final long KPK_BLACK = Board.materialKey(true, Board.KING) + Board.materialKey(false, Board.KING)
+            + Board.materialKey(false, Board.PAWN);
+    private static final long KRK_WHITE = Board.materialKey(true, Board.KING) + Board.materialKey(false, Board.KING)
+            + Board.materialKey(true, Board.ROOK);
+    private static final long KRK_BLACK = Board.materialKey(true, Board.KING) + Board.materialKey(false, Board.KING)
+            + Board.materialKey(false, Board.ROOK);
+
+    private final long[] kpkWins;       // bit por posição KPK normalizada: 1 se as brancas ganham
+    private final long[] krkDistances;  // 6 bits por posição KRK: meio-lances até o mate, ou NO_MATE
+
+    private EndgameBitbases(long[] kpkWins, long[] krkDistances) {
+        this.kpkWins = kpkWins;
+        this.krkDistances = krkDistances;
+    }
+
+    /**
+     * Gera as duas bases com o número de threads indicado.
+     */
+    public static EndgameBitbases generate(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new EndgameBitbases(generateKpk(pool), generateKrk(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Lê as bases do arquivo; se ele não existir, gera com todos os núcleos e grava no arquivo.
+     */
+    public static EndgameBitbases loadOrGenerate(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return read(file);
+        }
+        EndgameBitbases bitbases = generate(Runtime.getRuntime().availableProcessors());
+        bitbases.write(file);
+        return bitbases;
+    }
+
+    // Grava as bases no arquivo: número mágico, tamanhos e os vetores de long
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(kpkWins.length);
+            out.writeInt(krkDistances.length);
+            for (long bits : kpkWins) out.writeLong(bits);
+            for (long bits : krkDistances) out.writeLong(bits);
+        }
+    }
+
+    // Lê as bases gravadas por write
+    public static EndgameBitbases read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Arquivo de bases de finais inválido: " + file);
+            }
+            long[] kpk = new long[in.readInt()];
+            long[] krk = new long[in.readInt()];
+            if (kpk.length != (KPK_SIZE + 63) / 64 || krk.length != (KRK_SIZE + DTM_PER_LONG - 1) / DTM_PER_LONG) {
+                throw new IOException("Tamanhos inesperados no arquivo de bases de finais: " + file);
+            }
+            for (int i = 0; i < kpk.length; i++) kpk[i] = in.readLong();
+            for (int i = 0; i < krk.length; i++) krk[i] = in.readLong();
+            return new EndgameBitbases(kpk, krk);
+        }
+    }
+
+    // Retorna true se o material da posição for KPK ou KRK (de qualquer cor)
+    public static boolean covers(Board board) {
+        long material = board.getMaterialKey();
+        return material == KPK_WHITE || material == KPK_BLACK || material == KRK_WHITE || material == KRK_BLACK;
+    }
+
+    /**
+     * Resultado da posição com jogo perfeito, do ponto de vista do jogador da vez:
+     * WIN, DRAW, LOSS, ou UNKNOWN se o material não for KPK nem KRK.
+     */
+    public int wdl(Board board) {
+        long material = board.getMaterialKey();
+        if (material == KPK_WHITE || material == KPK_BLACK) {
+            boolean strongWhite = material == KPK_WHITE;
+            boolean win = probeKpk(board, strongWhite);
+            return !win ? DRAW : board.isWhiteToMove() == strongWhite ? WIN : LOSS;
+        }
+        if (material == KRK_WHITE || material == KRK_BLACK) {
+            boolean strongWhite = material == KRK_WHITE;
+            if (probeKrk(board, strongWhite) == NO_MATE) return DRAW;
+            return board.isWhiteToMove() == strongWhite ? WIN : LOSS;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Meio-lances até o mate com jogo perfeito numa posição KRK (0 se o rei da vez já está em mate),
+     * ou -1 se não for KRK ou se for empate (torre capturada ou afogamento).
+     */
+    public int mateDistance(Board board) {
+        long material = board.getMaterialKey();
+        if (material != KRK_WHITE && material != KRK_BLACK) return -1;
+        int distance = probeKrk(board, material == KRK_WHITE);
+        return distance == NO_MATE ? -1 : distance;
+    }
+
+    // Consulta o KPK; "strongWhite" indica a cor do peão
+    private boolean probeKpk(Board board, boolean strongWhite) {
+        int flip = strongWhite ? 0 : 56;  // espelho vertical para o peão ficar com as brancas
+        int pawn = Long.numberOfTrailingZeros(board.getPieces(strongWhite, Board.PAWN)) ^ flip;
+        int mirror = (pawn & 7) > 3 ? 7 : 0;  // espelho horizontal para o peão ficar nas colunas a-d
+        int strongKing = board.getKingSquare(strongWhite) ^ flip ^ mirror;
+        int weakKing = board.getKingSquare(!strongWhite) ^ flip ^ mirror;
+        int side = board.isWhiteToMove() == strongWhite ? WHITE_TO_MOVE : BLACK_TO_MOVE;
+        int index = kpkIndex(side, strongKing, weakKing, pawn ^ mirror);
+        return (kpkWins[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Consulta o KRK; "strongWhite" indica a cor da torre
+    private int probeKrk(Board board, boolean strongWhite) {
+        int flip = strongWhite ? 0 : 56;
+        int rook = Long.numberOfTrailingZeros(board.getPieces(strongWhite, Board.ROOK)) ^ flip;
+        int strongKing = board.getKingSquare(strongWhite) ^ flip;
+        int weakKing = board.getKingSquare(!strongWhite) ^ flip;
+        int side = board.isWhiteToMove() == strongWhite ? WHITE_TO_MOVE : BLACK_TO_MOVE;
+        int index = krkIndex(side, strongKing, rook, weakKing);
+        return (int) (krkDistances[index / DTM_PER_LONG] >>> (index % DTM_PER_LONG * DTM_BITS)) & NO_MATE;
+    }
+
+    // ---- KPK -----------------------------------------------------------------------------------------
+
+    private static int kpkIndex(int side, int whiteKing, int blackKing, int pawn) {
+        return ((side * 64 + whiteKing) * 64 + blackKing) * 24 + ((pawn >>> 3) - 1) * 4 + (pawn & 7);
+    }
+
+    // Casas atacadas pelo peão branco (que avança para linhas menores)
+    private static long pawnAttacks(int pawn) {
+        long attacks = 0L;
+        if ((pawn & 7) > 0) attacks |= 1L << (pawn - 9);
+        if ((pawn & 7) < 7) attacks |= 1L << (pawn - 7);
+        return attacks;
+    }
+
+    // Gera o KPK: classifica as posições terminais e repete passadas sobre as pendentes até nada mudar.
+    // Brancas na vez ganham se algum lance leva a vitória e empatam se todos levam a empate; pretas na vez
+    // empatam se algum lance leva a empate e perdem se todos levam a vitória. O que sobra pendente é empate.
+    private static long[] generateKpk(ForkJoinPool pool) {
+        byte[] states = new byte[KPK_SIZE];
+        run(pool, KPK_SIZE, index -> states[index] = classifyKpk(index));
+        boolean[] changed = new boolean[1];
+        do {
+            changed[0] = false;
+            run(pool, KPK_SIZE, index -> {
+                if (states[index] == PENDING) {
+                    byte state = resolveKpk(index, states);
+                    if (state != PENDING) {
+                        states[index] = state;
+                        changed[0] = true;
+                    }
+                }
+            });
+        } while (changed[0]);
+
+        long[] wins = new long[(KPK_SIZE + 63) / 64];
+        for (int index = 0; index < KPK_SIZE; index++) {
+            if (states[index] == WON) wins[index >>> 6] |= 1L << index;
+        }
+        return wins;
+    }
+
+    private static byte classifyKpk(int index) {
+        int pawnIndex = index % 24;
+        int pawn = (pawnIndex / 4 + 1) * 8 + pawnIndex % 4;
+        int blackKing = (index / 24) & 63;
+        int whiteKing = (index / (24 * 64)) & 63;
+        int side = index / (24 * 64 * 64);
+
+        if (whiteKing == blackKing || whiteKing == pawn || blackKing == pawn
+                || (KING_ATTACKS[whiteKing] & (1L << blackKing)) != 0
+                || (side == WHITE_TO_MOVE && (pawnAttacks(pawn) & (1L << blackKing)) != 0)) {
+            return INVALID;
+        }
+        if (side == WHITE_TO_MOVE) {
+            // Promoção imediata que o rei preto não consegue capturar (ou que o rei branco protege)
+            int queen = pawn - 8;
+            if ((pawn >>> 3) == 1 && queen != whiteKing && queen != blackKing
+                    && ((KING_ATTACKS[blackKing] & (1L << queen)) == 0
+                        || (KING_ATTACKS[whiteKing] & (1L << queen)) != 0)) {
+                return WON;
+            }
+            return PENDING;
+        }
+        long escapes = KING_ATTACKS[blackKing] & ~(KING_ATTACKS[whiteKing] | pawnAttacks(pawn));
+        if (escapes == 0) {
+            return (pawnAttacks(pawn) & (1L << blackKing)) != 0 ? WON : DRAWN;  // mate ou afogamento
+        }
+        // O rei preto captura o peão desprotegido
+        if ((escapes & (1L << pawn)) != 0) {
+            return DRAWN;
+        }
+        return PENDING;
+    }
+
+    private static byte resolveKpk(int index, byte[] states) {
+        int pawnIndex = index % 24;
+        int pawn = (pawnIndex / 4 + 1) * 8 + pawnIndex % 4;
+        int blackKing = (index / 24) & 63;
+        int whiteKing = (index / (24 * 64)) & 63;
+        int side = index / (24 * 64 * 64);
+        boolean anyWin = false;
+        boolean anyDraw = false;
+        boolean anyPending = false;
+
+        if (side == WHITE_TO_MOVE) {
+            long targets = KING_ATTACKS[whiteKing] & ~KING_ATTACKS[blackKing] & ~(1L << pawn);
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                byte state = states[kpkIndex(BLACK_TO_MOVE, to, blackKing, pawn)];
+                anyWin |= state == WON;
+                anyDraw |= state == DRAWN;
+                anyPending |= state == PENDING;
+            }
+            // Avanços que não promovem (a promoção já foi resolvida em classifyKpk)
+            int single = pawn - 8;
+            if ((single >>> 3) > 0 && single != whiteKing && single != blackKing) {
+                byte state = states[kpkIndex(BLACK_TO_MOVE, whiteKing, blackKing, single)];
+                anyWin |= state == WON;
+                anyDraw |= state == DRAWN;
+                anyPending |= state == PENDING;
+                int twice = pawn - 16;
+                if ((pawn >>> 3) == 6 && twice != whiteKing && twice != blackKing) {
+                    state = states[kpkIndex(BLACK_TO_MOVE, whiteKing, blackKing, twice)];
+                    anyWin |= state == WON;
+                    anyDraw |= state == DRAWN;
+                    anyPending |= state == PENDING;
+                }
+            }
+            if (anyWin) return WON;
+            return anyPending ? PENDING : DRAWN;
+        }
+
+        long targets = KING_ATTACKS[blackKing] & ~(KING_ATTACKS[whiteKing] | pawnAttacks(pawn));
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            byte state = states[kpkIndex(WHITE_TO_MOVE, whiteKing, to, pawn)];
+            anyWin |= state == WON;
+            anyDraw |= state == DRAWN;
+            anyPending |= state == PENDING;
+        }
+        if (anyDraw) return DRAWN;
+        return anyPending ? PENDING : WON;
+    }
+
+    // ---- KRK -----------------------------------------------------------------------------------------
+
+    private static int krkIndex(int side, int whiteKing, int rook, int blackKing) {
+        return ((side * 64 + whiteKing) * 64 + rook) * 64 + blackKing;
+    }
+
+    // Casas atacadas pela torre com as peças de "occupied" bloqueando (a casa da peça bloqueadora é incluída)
+    private static long rookAttacks(int square, long occupied) {
+        long attacks = 0L;
+        int row = square >>> 3;
+        int col = square & 7;
+        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        for (int[] direction : directions) {
+            int r = row + direction[0];
+            int c = col + direction[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                long bit = 1L << (r * 8 + c);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    // Gera o KRK por níveis de distância: no nível 0 estão as posições com as pretas em mate; num nível
+    // ímpar, as brancas na vez com algum lance para uma posição do nível anterior; num nível par, as pretas
+    // na vez cujos lances levam todos a posições já resolvidas (sem poder capturar a torre).
+    // Cada nível só lê níveis anteriores, da outra cor, então as posições de um nível são resolvidas em paralelo.
+    private static long[] generateKrk(ForkJoinPool pool) {
+        byte[] distances = new byte[KRK_SIZE];  // -1: não resolvida (empate ao final)
+        byte[] valid = new byte[KRK_SIZE];
+        run(pool, KRK_SIZE, index -> {
+            distances[index] = -1;
+            valid[index] = isValidKrk(index) ? (byte) 1 : 0;
+            if (valid[index] != 0 && index >= KRK_SIZE / 2 && isBlackMated(index)) {
+                distances[index] = 0;
+            }
+        });
+        int[] found = new int[1];
+        int idle = 0;
+        for (int level = 1; level < NO_MATE && idle < 2; level++) {
+            int current = level;
+            found[0] = 0;
+            int from = level % 2 == 1 ? 0 : KRK_SIZE / 2;  // brancas na vez na primeira metade, pretas na segunda
+            run(pool, KRK_SIZE / 2, offset -> {
+                int index = from + offset;
+                if (valid[index] == 0 || distances[index] >= 0) return;
+                boolean resolved = current % 2 == 1 ? whiteReaches(index, distances, current - 1)
+                                                    : blackIsLost(index, distances);
+                if (resolved) {
+                    distances[index] = (byte) current;
+                    found[0] = 1;
+                }
+            });
+            idle = found[0] == 0 ? idle + 1 : 0;
+        }
+
+        long[] packed = new long[(KRK_SIZE + DTM_PER_LONG - 1) / DTM_PER_LONG];
+        for (int index = 0; index < KRK_SIZE; index++) {
+            long distance = distances[index] >= 0 ? distances[index] : NO_MATE;
+            packed[index / DTM_PER_LONG] |= distance << (index % DTM_PER_LONG * DTM_BITS);
+        }
+        return packed;
+    }
+
+    private static boolean isValidKrk(int index) {
+        int blackKing = index & 63;
+        int rook = (index >>> 6) & 63;
+        int whiteKing = (index >>> 12) & 63;
+        int side = index >>> 18;
+        if (whiteKing == rook || whiteKing == blackKing || rook == blackKing
+                || (KING_ATTACKS[whiteKing] & (1L << blackKing)) != 0) {
+            return false;
+        }
+        // Com as brancas na vez, o rei preto não pode estar em cheque
+        return side == BLACK_TO_MOVE
+                || (rookAttacks(rook, (1L << whiteKing) | (1L << blackKing)) & (1L << blackKing)) == 0;
+    }
+
+    // Casas para onde o rei preto pode ir (incluindo capturar a torre desprotegida)
+    private static long blackKingMoves(int whiteKing, int rook, int blackKing) {
+        long targets = KING_ATTACKS[blackKing] & ~KING_ATTACKS[whiteKing];
+        // Sem o rei preto na ocupação: ele não se esconde atrás de si mesmo na linha da torre
+        long attacked = rookAttacks(rook, 1L << whiteKing) & ~(1L << rook);
+        return targets & ~attacked;
+    }
+
+    private static boolean isBlackMated(int index) {
+        int blackKing = index & 63;
+        int rook = (index >>> 6) & 63;
+        int whiteKing = (index >>> 12) & 63;
+        boolean inCheck = (rookAttacks(rook, (1L << whiteKing) | (1L << blackKing)) & (1L << blackKing)) != 0;
+        return inCheck && blackKingMoves(whiteKing, rook, blackKing) == 0;
+    }
+
+    // Brancas na vez: algum lance leva a uma posição (pretas na vez) perdida em exatamente "target" meio-lances
+    private static boolean whiteReaches(int index, byte[] distances, int target) {
+        int blackKing = index & 63;
+        int rook = (index >>> 6) & 63;
+        int whiteKing = (index >>> 12) & 63;
+        long kingTargets = KING_ATTACKS[whiteKing] & ~KING_ATTACKS[blackKing] & ~(1L << rook);
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            if (distances[krkIndex(BLACK_TO_MOVE, to, rook, blackKing)] == target) return true;
+        }
+        long rookTargets = rookAttacks(rook, (1L << whiteKing) | (1L << blackKing))
+                & ~((1L << whiteKing) | (1L << blackKing));
+        while (rookTargets != 0) {
+            int to = Long.numberOfTrailingZeros(rookTargets);
+            rookTargets &= rookTargets - 1;
+            if (distances[krkIndex(BLACK_TO_MOVE, whiteKing, to, blackKing)] == target) return true;
+        }
+        return false;
+    }
+
+    // Pretas na vez: têm lances, nenhum captura a torre e todos levam a posições já ganhas pelas brancas
+    private static boolean blackIsLost(int index, byte[] distances) {
+        int blackKing = index & 63;
+        int rook = (index >>> 6) & 63;
+        int whiteKing = (index >>> 12) & 63;
+        long targets = blackKingMoves(whiteKing, rook, blackKing);
+        if (targets == 0 || (targets & (1L << rook)) != 0) {
+            return false;  // afogamento (o mate já está no nível 0) ou captura da torre
+        }
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (distances[krkIndex(WHITE_TO_MOVE, whiteKing, rook, to)] < 0) return false;
+        }
+        return true;
+    }
+
+    // Executa a ação para cada índice de 0 a count - 1, dividindo o intervalo entre as threads do pool
+    private static void run(ForkJoinPool pool, int count, IntConsumer action) {
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(action)).join();
+    }
+}
@@ -0,0 +1,242 @@
+package engine;
+
+import model.Board;
+import model.ChessModel;
+import model.MoveGenerator;
+
+import java.io.PrintStream;
+
+/**
+ * Avaliação estática de uma posição, em centésimos de peão, do ponto de vista do jogador da vez.
+ * É interpolada entre meio-jogo e final pela fase da partida (quantas peças ainda há no tabuleiro).
+ * Material e tabelas de peça-casa são mantidos pelo próprio Board a cada lance feito ou desfeito;
+ * aqui só se calculam os termos que dependem da posição inteira: estrutura de peões (guardada num cache
+ * indexado pela chave dos peões), mobilidade e segurança do rei. Cada thread de busca usa a sua instância.
+ */
+public final class Evaluation {
+    // Valor simples de cada tipo de peça (índice = tipo do Board), usado para ordenar capturas
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    // Margem da avaliação preguiçosa: mobilidade e segurança do rei raramente mudam a avaliação mais que isto
+    private static final int LAZY_MARGIN = 400;
+
+    // Estrutura de peões (meio-jogo / final), por peão
+    private static final int DOUBLED_MG = -10, DOUBLED_EG = -20;
+    private static final int ISOLATED_MG = -10, ISOLATED_EG = -12;
+    // Peão passado, pela fileira relativa (1 = segunda fileira do dono, 6 = sétima)
+    private static final int[] PASSED_MG = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_EG = {0, 10, 15, 25, 45, 70, 110, 0};
+
+    // Mobilidade por casa alcançada além da média do tipo de peça (índice = tipo)
+    private static final int[] MOBILITY_BASE = {0, 4, 6, 7, 13, 0};
+    private static final int[] MOBILITY_MG = {0, 4, 5, 2, 1, 0};
+    private static final int[] MOBILITY_EG = {0, 4, 5, 4, 2, 0};
+
+    // Segurança do rei (só no meio-jogo): peso de cada ataque à zona do rei, escala pelo número de atacantes
+    // (um atacante sozinho não é ameaça) e bônus por peão do escudo na frente do rei
+    private static final int[] ATTACK_WEIGHT = {0, 20, 20, 40, 80, 0};
+    private static final int[] ATTACKER_SCALE = {0, 0, 50, 75, 88, 94, 97, 99};
+    private static final int SHIELD_BONUS = 12;
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = FILE_A << 7;
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[][] PASSED_MASKS = new long[2][64];  // [cor][casa]: casas à frente nas três colunas
+    private static final long[][] SHIELD_MASKS = new long[2][64];  // [cor][casa do rei]: duas fileiras à frente
+
+    static {
+        for (int col = 0; col < 8; col++) {
+            ADJACENT_FILES[col] = (col > 0 ? FILE_A << (col - 1) : 0L) | (col < 7 ? FILE_A << (col + 1) : 0L);
+        }
+        for (int square = 0; square < 64; square++) {
+            int row = square >>> 3;
+            int col = square & 7;
+            long files = ADJACENT_FILES[col] | (FILE_A << col);
+            for (int r = 0; r < 8; r++) {
+                long rank = 0xFFL << (8 * r);
+                if (r < row) PASSED_MASKS[Board.WHITE][square] |= files & rank;
+                if (r > row) PASSED_MASKS[Board.BLACK][square] |= files & rank;
+                if (r < row && r >= row - 2) SHIELD_MASKS[Board.WHITE][square] |= files & rank;
+                if (r > row && r <= row + 2) SHIELD_MASKS[Board.BLACK][square] |= files & rank;
+            }
+        }
+    }
+
+    // Cache da estrutura de peões, indexado pela chave de Zobrist dos peões
+    private static final int PAWN_CACHE_SIZE = 1 << 14;
+    private final long[] pawnKeys = new long[PAWN_CACHE_SIZE];
+    private final int[] pawnMidgame = new int[PAWN_CACHE_SIZE];
+    private final int[] pawnEndgame = new int[PAWN_CACHE_SIZE];
+    private long pawnProbes;
+    private long pawnHits;
+
+    // Termos de peças de uma cor calculados por evaluatePieces (evita alocar a cada avaliação)
+    private int piecesMidgame;
+    private int piecesEndgame;
+
+    /**
+     * Retorna a avaliação completa da posição: positiva se o jogador da vez estiver melhor.
+     */
+    public int evaluate(Board board) {
+        return evaluate(board, -Search.INFINITY, Search.INFINITY);
+    }
+
+    /**
+     * Avaliação preguiçosa: se material, posição e peões já deixam a avaliação longe da janela (alpha, beta)
+     * da busca, mobilidade e segurança do rei não são calculadas, pois não mudariam o resultado.
+     */
+    public int evaluate(Board board, int alpha, int beta) {
+        int mg = board.getMidgameScore();
+        int eg = board.getEndgameScore();
+        int phase = Math.min(board.getPhase(), Board.maxPhase());
+
+        int index = (int) board.getPawnKey() & (PAWN_CACHE_SIZE - 1);
+        pawnProbes++;
+        if (pawnKeys[index] == board.getPawnKey()) {
+            pawnHits++;
+        } else {
+            evaluatePawns(board, index);
+        }
+        mg += pawnMidgame[index];
+        eg += pawnEndgame[index];
+
+        int sign = board.isWhiteToMove() ? 1 : -1;
+        int score = sign * taper(mg, eg, phase);
+        if (score + LAZY_MARGIN <= alpha || score - LAZY_MARGIN >= beta) {
+            return score;
+        }
+
+        long occupied = board.getOccupied();
+        evaluatePieces(board, true, occupied);
+        mg += piecesMidgame;
+        eg += piecesEndgame;
+        evaluatePieces(board, false, occupied);
+        mg -= piecesMidgame;
+        eg -= piecesEndgame;
+        return sign * taper(mg, eg, phase);
+    }
+
+    // Interpola entre meio-jogo (fase máxima) e final (fase 0)
+    private static int taper(int mg, int eg, int phase) {
+        return (mg * phase + eg * (Board.maxPhase() - phase)) / Board.maxPhase();
+    }
+
+    // Calcula a estrutura de peões (brancas - pretas) e guarda no cache
+    private void evaluatePawns(Board board, int index) {
+        int mg = 0;
+        int eg = 0;
+        for (int color = Board.WHITE; color <= Board.BLACK; color++) {
+            boolean white = color == Board.WHITE;
+            long own = board.getPieces(white, Board.PAWN);
+            long enemy = board.getPieces(!white, Board.PAWN);
+            int sign = white ? 1 : -1;
+            for (int col = 0; col < 8; col++) {
+                int onFile = Long.bitCount(own & (FILE_A << col));
+                if (onFile > 1) {
+                    mg += sign * DOUBLED_MG * (onFile - 1);
+                    eg += sign * DOUBLED_EG * (onFile - 1);
+                }
+                if (onFile > 0 && (own & ADJACENT_FILES[col]) == 0) {
+                    mg += sign * ISOLATED_MG * onFile;
+                    eg += sign * ISOLATED_EG * onFile;
+                }
+            }
+            long pawns = own;
+            while (pawns != 0) {
+                int square = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                if ((PASSED_MASKS[color][square] & enemy) == 0) {
+                    int rank = white ? 7 - (square >>> 3) : square >>> 3;
+                    mg += sign * PASSED_MG[rank];
+                    eg += sign * PASSED_EG[rank];
+                }
+            }
+        }
+        pawnKeys[index] = board.getPawnKey();
+        pawnMidgame[index] = mg;
+        pawnEndgame[index] = eg;
+    }
+
+    // Mobilidade das peças da cor, ataques delas à zona do rei adversário e escudo de peões do próprio rei,
+    // do ponto de vista da cor indicada, em piecesMidgame e piecesEndgame
+    private void evaluatePieces(Board board, boolean white, long occupied) {
+        long own = board.getOccupancy(white);
+        long enemyPawns = board.getPieces(!white, Board.PAWN);
+        long pawnAttacks = white
+                ? ((enemyPawns & ~FILE_A) << 7) | ((enemyPawns & ~FILE_H) << 9)
+                : ((enemyPawns & ~FILE_A) >>> 9) | ((enemyPawns & ~FILE_H) >>> 7);
+        long safe = ~own & ~pawnAttacks;
+
+        int enemyKing = board.getKingSquare(!white);
+        long kingZone = enemyKing >= 0 ? board.attacksFrom(enemyKing, occupied) | (1L << enemyKing) : 0L;
+        int attackers = 0;
+        int attackWeight = 0;
+
+        int mg = 0;
+        int eg = 0;
+        for (int type = Board.KNIGHT; type <= Board.QUEEN; type++) {
+            long pieces = board.getPieces(white, type);
+            while (pieces != 0) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                long attacks = board.attacksFrom(square, occupied);
+                int mobility = Long.bitCount(attacks & safe) - MOBILITY_BASE[type];
+                mg += mobility * MOBILITY_MG[type];
+                eg += mobility * MOBILITY_EG[type];
+                long hits = attacks & kingZone;
+                if (hits != 0) {
+                    attackers++;
+                    attackWeight += ATTACK_WEIGHT[type] * Long.bitCount(hits);
+                }
+            }
+        }
+        // Ataques ao rei adversário e o escudo de peões do próprio rei
+        mg += attackWeight * ATTACKER_SCALE[Math.min(attackers, ATTACKER_SCALE.length - 1)] / 100;
+        int king = board.getKingSquare(white);
+        if (king >= 0) {
+            long shield = SHIELD_MASKS[white ? Board.WHITE : Board.BLACK][king] & board.getPieces(white, Board.PAWN);
+            mg += SHIELD_BONUS * Math.min(3, Long.bitCount(shield));
+        }
+        piecesMidgame = mg;
+        piecesEndgame = eg;
+    }
+
+    // Fração das consultas ao cache de peões que o encontraram preenchido (0 a 1)
+    public double getPawnHitRate() {
+        return pawnProbes == 0 ? 0 : (double) pawnHits / pawnProbes;
+    }
+
+    /**
+     * Mede avaliações por segundo: em cada rodada, cada posição das FENs tem todos os lances legais feitos,
+     * avaliados (avaliação completa, sem margem) e desfeitos, exercitando também a atualização incremental.
+     * Retorna: o número de avaliações feitas.
+     */
+    public static long benchmark(String[] fens, int rounds, PrintStream out) {
+        Evaluation evaluation = new Evaluation();
+        Board[] boards = new Board[fens.length];
+        for (int i = 0; i < fens.length; i++) {
+            boards[i] = ChessModel.fromFEN(fens[i]).getBoard();
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        long evaluations = 0;
+        long checksum = 0;  // usado na saída para que as avaliações não sejam descartadas pelo compilador
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (Board board : boards) {
+                int count = MoveGenerator.generateLegal(board, moves);
+                for (int i = 0; i < count; i++) {
+                    board.makeMove(moves[i]);
+                    checksum += evaluation.evaluate(board);
+                    board.unmakeMove();
+                }
+                evaluations += count;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        out.println("Posições: " + fens.length + ", rodadas: " + rounds + ", avaliações: " + evaluations);
+        out.printf("Avaliações por segundo: %,d%n", (long) (evaluations * 1e9 / Math.max(1, elapsed)));
+        out.printf("Acertos no cache de peões: %.1f%% (soma de controle %d)%n",
+                100 * evaluation.getPawnHitRate(), checksum);
+        return evaluations;
+    }
+}
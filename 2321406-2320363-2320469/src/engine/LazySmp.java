@@ -0,0 +1,145 @@
+package engine;
+
+import model.Board;
+import model.Move;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Busca paralela "Lazy SMP": todas as threads buscam a mesma posição da raiz, cada uma com a sua cópia
+ * do tabuleiro, e só se comunicam pela tabela de transposição compartilhada (sem travas, ver TranspositionTable).
+ * As auxiliares começam em profundidades diferentes e rodam a ordem da raiz; o que uma thread guarda na tabela
+ * poda a árvore das outras. O resultado é o da thread principal, que roda na thread de quem chamou e é
+ * a única sujeita aos limites de tempo e de nós; ao terminar ela para as auxiliares.
+ */
+public class LazySmp {
+    private final int threads;
+    private final TranspositionTable table;
+    private final ExecutorService helpers;  // threads - 1 threads auxiliares (null com uma thread só)
+    private volatile EndgameBitbases bitbases;
+
+    public LazySmp(int threads) {
+        this(threads, new TranspositionTable());
+    }
+
+    public LazySmp(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        this.threads = threads;
+        this.table = table;
+        this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    // Define as bases de finais usadas por todas as threads (null para não usar)
+    public void setBitbases(EndgameBitbases bitbases) {
+        this.bitbases = bitbases;
+    }
+
+    /**
+     * Busca a posição do tabuleiro (que não é alterado) com todas as threads, até a profundidade, o tempo
+     * (em milissegundos) ou o número de nós da thread principal; 0 indica sem limite.
+     * Retorna: as profundidades da thread principal, com o total de nós somado de todas as threads.
+     */
+    public SearchResult search(Board board, int maxDepth, long timeMillis, long maxNodes) {
+        return search(board, maxDepth, timeMillis, maxNodes, null);
+    }
+
+    /**
+     * Como search(board, maxDepth, timeMillis, maxNodes), imprimindo em "out" cada profundidade concluída
+     * pela thread principal.
+     */
+    public synchronized SearchResult search(Board board, int maxDepth, long timeMillis, long maxNodes,
+                                            PrintStream out) {
+        List<Search> helperSearches = new ArrayList<>();
+        List<Future<SearchResult>> futures = new ArrayList<>();
+        for (int id = 1; id < threads; id++) {
+            Search helper = new Search(new Board(board), table);
+            helper.setHelperId(id);
+            helper.setBitbases(bitbases);
+            helperSearches.add(helper);
+            futures.add(helpers.submit(() -> helper.search(maxDepth, 0, 0)));
+        }
+
+        Search mainSearch = new Search(new Board(board), table);
+        mainSearch.setBitbases(bitbases);
+        SearchResult main = mainSearch.search(maxDepth, timeMillis, maxNodes, out);
+
+        long nodes = main.getNodes();
+        for (Search helper : helperSearches) {
+            helper.stop();
+        }
+        for (Future<SearchResult> future : futures) {
+            nodes += join(future).getNodes();
+        }
+        return new SearchResult(main.getIterations(), nodes, main.getElapsedNanos(), main.getStatistics());
+    }
+
+    // Espera a busca auxiliar terminar e devolve o seu resultado
+    private static SearchResult join(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca auxiliar interrompida", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Falha na busca auxiliar", ex.getCause());
+        }
+    }
+
+    // Encerra as threads auxiliares
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdown();
+        }
+    }
+
+    /**
+     * Mede o tempo até a profundidade na posição com 1, 2, 4, ... até "maxThreads" threads, cada medição
+     * com a tabela de transposição vazia, imprimindo tempo, nós, nós por segundo e aceleração em relação
+     * a uma thread. Serve para dimensionar o número de núcleos de uma máquina de análise.
+     * Uma busca de aquecimento (descartada) vem antes, para que a compilação JIT não pese só na primeira medição.
+     */
+    public static void measureScaling(Board board, int depth, int maxThreads, int megabytes, PrintStream out) {
+        List<Integer> counts = new ArrayList<>();
+        for (int n = 1; n < maxThreads; n *= 2) {
+            counts.add(n);
+        }
+        counts.add(maxThreads);
+
+        TranspositionTable table = new TranspositionTable(megabytes);
+        new Search(new Board(board), table).search(Math.max(1, depth - 1), 0, 0);
+        long baseline = 0;
+        for (int n : counts) {
+            table.clear();
+            LazySmp smp = new LazySmp(n, table);
+            SearchResult result = smp.search(board, depth, 0, 0);
+            smp.shutdown();
+            if (n == 1) {
+                baseline = result.getElapsedNanos();
+            }
+            double speedup = (double) baseline / result.getElapsedNanos();
+            out.printf("%3d threads: profundidade %2d em %7d ms, %12d nós, %,14d nós/s, aceleração %5.2fx, lance %s%n",
+                    n, result.getDepth(), result.getElapsedNanos() / 1_000_000, result.getNodes(),
+                    result.getNodesPerSecond(), speedup, Move.toUci(result.getBestMove()));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package engine;
+
+import model.Board;
+import model.Move;
+import model.MoveGenerator;
+import model.StaticExchange;
+
+/**
+ * Entrega os lances de um nó da busca em etapas, gerando cada grupo só quando o anterior se esgota:
+ * primeiro o lance da tabela de transposição, depois as capturas e promoções pela vítima mais valiosa
+ * com o atacante menos valioso (MVV-LVA), os lances matadores do nível, os lances quietos pela tabela de
+ * histórico e por fim as capturas que perdem material pela avaliação estática de trocas (StaticExchange).
+ * Na busca de quiescência só as capturas que não perdem material são entregues. Como a maioria dos cortes
+ * acontece no lance da tabela ou numa captura, os lances quietos muitas vezes nem chegam a ser gerados.
+ * Em cada etapa o próximo lance é o de maior nota ainda não entregue (seleção), então a lista nunca é
+ * ordenada por inteiro.
+ * Há um objeto por nível da busca, reaproveitado a cada nó (sem alocação).
+ */
+final class MovePicker {
+    // Etapas, na ordem em que são percorridas
+    private static final int HASH = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int CAPTURES = 2;
+    private static final int GENERATE_QUIETS = 3;
+    private static final int FIRST_KILLER = 4;
+    private static final int SECOND_KILLER = 5;
+    private static final int QUIETS = 6;
+    private static final int BAD_CAPTURES = 7;
+    private static final int UNORDERED = 8;  // sem ordenação: todos os lances na ordem da geração
+    private static final int DONE = 9;
+
+    // Promoções que não são para rainha vão para o fim das capturas
+    private static final int UNDERPROMOTION = -10000;
+
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+    private final int[] badCaptures = new int[MoveGenerator.MAX_MOVES];  // guardadas enquanto a lista vira quietos
+    private final int[] exchangeGains = new int[StaticExchange.MAX_EXCHANGES];  // espaço da StaticExchange
+    private int badCount;
+    private int badNext;
+    private boolean capturesOnly;
+    private Board board;
+    private int[] history;
+    private int hashMove;
+    private int killer1;
+    private int killer2;
+    private int rotation;
+    private int stage;
+    private int next;
+    private int count;
+    private boolean quietsGenerated;
+
+    /**
+     * Prepara o nó: "history" é a tabela de histórico do jogador da vez (indexada por origem * 64 + destino),
+     * "rotation" roda os lances quietos antes da ordenação (auxiliares do LazySmp na raiz) e, sem "ordered",
+     * todos os lances são entregues na ordem da geração, o que serve para medir o ganho da ordenação.
+     */
+    void reset(Board board, int hashMove, int killer1, int killer2, int[] history, int rotation, boolean ordered) {
+        this.board = board;
+        this.hashMove = hashMove;
+        this.killer1 = killer1;
+        this.killer2 = killer2;
+        this.history = history;
+        this.rotation = rotation;
+        this.stage = ordered ? HASH : UNORDERED;
+        this.next = 0;
+        this.count = 0;
+        this.badCount = 0;
+        this.badNext = 0;
+        this.capturesOnly = false;
+        this.quietsGenerated = false;
+    }
+
+    // Prepara o nó da busca de quiescência: só capturas e promoções, sem as que perdem material
+    void resetCaptures(Board board) {
+        reset(board, Move.NONE, Move.NONE, Move.NONE, null, 0, true);
+        this.stage = GENERATE_CAPTURES;
+        this.capturesOnly = true;
+    }
+
+    // Quantas capturas perdedoras o nó deixou de lado (na quiescência, as podadas)
+    int getBadCaptureCount() {
+        return badCount;
+    }
+
+    // Se este nó chegou a gerar os lances quietos (ou todos, sem ordenação)
+    boolean quietsGenerated() {
+        return quietsGenerated;
+    }
+
+    // Retorna o próximo lance legal do nó, ou Move.NONE quando não houver mais
+    int nextMove() {
+        while (true) {
+            switch (stage) {
+                case HASH:
+                    stage = GENERATE_CAPTURES;
+                    // A lista ainda não foi gerada neste nó: serve de espaço para conferir o lance
+                    if (hashMove != Move.NONE && MoveGenerator.isLegal(board, hashMove, moves)) {
+                        return hashMove;
+                    }
+                    hashMove = Move.NONE;
+                    break;
+                case GENERATE_CAPTURES:
+                    count = MoveGenerator.generateCaptures(board, moves);
+                    next = 0;
+                    for (int i = 0; i < count; i++) {
+                        scores[i] = captureScore(moves[i]);
+                    }
+                    stage = CAPTURES;
+                    break;
+                case CAPTURES: {
+                    int move = selectBest();
+                    if (move == Move.NONE) {
+                        stage = capturesOnly ? DONE : GENERATE_QUIETS;
+                    } else if (!Move.isPromotion(move) && StaticExchange.isLosing(board, move, exchangeGains)) {
+                        badCaptures[badCount++] = move;
+                    } else {
+                        return move;
+                    }
+                    break;
+                }
+                case GENERATE_QUIETS:
+                    count = MoveGenerator.generateQuiets(board, moves);
+                    next = 0;
+                    quietsGenerated = true;
+                    if (rotation > 0) {
+                        rotate(moves, count, rotation);
+                    }
+                    for (int i = 0; i < count; i++) {
+                        scores[i] = history[(Move.from(moves[i]) << 6) | Move.to(moves[i])];
+                    }
+                    stage = FIRST_KILLER;
+                    break;
+                // Os matadores vieram de outras posições do mesmo nível: só valem se estiverem na lista
+                case FIRST_KILLER:
+                    stage = SECOND_KILLER;
+                    if (killer1 != hashMove && moveToNext(killer1)) return killer1;
+                    break;
+                case SECOND_KILLER:
+                    stage = QUIETS;
+                    if (killer2 != hashMove && moveToNext(killer2)) return killer2;
+                    break;
+                case QUIETS: {
+                    int move = selectBest();
+                    if (move != Move.NONE) return move;
+                    stage = BAD_CAPTURES;
+                    break;
+                }
+                case BAD_CAPTURES:
+                    if (badNext < badCount) return badCaptures[badNext++];
+                    stage = DONE;
+                    break;
+                case UNORDERED:
+                    if (!quietsGenerated) {
+                        count = MoveGenerator.generateLegal(board, moves);
+                        quietsGenerated = true;
+                    }
+                    if (next < count) return moves[next++];
+                    stage = DONE;
+                    break;
+                default:
+                    return Move.NONE;
+            }
+        }
+    }
+
+    // MVV-LVA: a vítima mais valiosa primeiro e, entre capturas da mesma vítima, o atacante menos valioso.
+    // A promoção soma o valor da peça nova; promoções a outras peças que não a rainha ficam por último.
+    private int captureScore(int move) {
+        int score = -board.getPieceType(Move.from(move));
+        if (Move.isCapture(move)) {
+            int victim = board.getPieceType(Move.to(move));
+            score += 16 * Evaluation.PIECE_VALUES[victim >= 0 ? victim : Board.PAWN]; // casa vazia: en passant
+        }
+        if (Move.isPromotion(move)) {
+            score += Move.promotion(move) == Board.QUEEN ? 16 * Evaluation.PIECE_VALUES[Board.QUEEN] : UNDERPROMOTION;
+        }
+        return score;
+    }
+
+    // Troca o lance de maior nota ainda não entregue para a posição "next" e o entrega,
+    // pulando o lance da tabela (já entregue). Retorna Move.NONE se a etapa acabou.
+    private int selectBest() {
+        while (next < count) {
+            int best = next;
+            for (int i = next + 1; i < count; i++) {
+                if (scores[i] > scores[best]) best = i;
+            }
+            int move = moves[best];
+            moves[best] = moves[next];
+            scores[best] = scores[next];
+            next++;
+            if (move != hashMove) return move;
+        }
+        return Move.NONE;
+    }
+
+    // Traz o lance (se estiver entre os ainda não entregues) para a posição "next" e avança; retorna se achou
+    private boolean moveToNext(int move) {
+        if (move == Move.NONE) return false;
+        for (int i = next; i < count; i++) {
+            if (moves[i] == move) {
+                moves[i] = moves[next];
+                scores[i] = scores[next];
+                moves[next++] = move;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Roda os lances de list[0..count) em "shift" posições para a direita, no próprio vetor (três inversões)
+    private static void rotate(int[] list, int count, int shift) {
+        if (count < 2) return;
+        shift %= count;
+        reverse(list, 0, count);
+        reverse(list, 0, shift);
+        reverse(list, shift, count);
+    }
+
+    // Inverte a ordem de list[from..to)
+    private static void reverse(int[] list, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int move = list[i];
+            list[i] = list[j];
+            list[j] = move;
+        }
+    }
+}
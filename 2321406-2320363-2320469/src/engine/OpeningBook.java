@@ -0,0 +1,175 @@
+package engine;
+
+import model.Board;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Livro de aberturas no formato Polyglot (.bin): entradas de 16 bytes (chave da posição, lance, peso e
+ * aprendizado, em big-endian) ordenadas pela chave. O arquivo é mapeado na memória só para leitura em vez
+ * de lido, então abrir o livro leva o mesmo tempo qualquer que seja o tamanho dele, só as páginas
+ * consultadas são carregadas, e várias JVMs na mesma máquina compartilham o cache de páginas do sistema.
+ * A consulta é uma busca binária pela chave (ver PolyglotKey).
+ * A escolha entre os lances de uma posição é aleatória, proporcional ao peso; com a mesma semente,
+ * a mesma sequência de consultas dá sempre os mesmos lances.
+ */
+public final class OpeningBook {
+    private static final int ENTRY_SIZE = 16;
+    // Cada mapeamento tem no máximo 2 GB; livros maiores são divididos em trechos de 2^26 entradas (1 GB)
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_ENTRIES = 1L << SEGMENT_SHIFT;
+
+    private final MappedByteBuffer[] segments;
+    private final long entries;
+    private final PolyglotKey keys;
+    private final Random random;
+
+    private OpeningBook(MappedByteBuffer[] segments, long entries, PolyglotKey keys, long seed) {
+        this.segments = segments;
+        this.entries = entries;
+        this.keys = keys;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Abre o livro do arquivo, com as chaves calculadas pela tabela Polyglot informada e a semente
+     * da escolha aleatória dos lances.
+     */
+    public static OpeningBook open(Path file, PolyglotKey keys, long seed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % ENTRY_SIZE != 0) {
+                throw new IOException("Tamanho inválido para um livro Polyglot (" + size + " bytes): " + file);
+            }
+            long entries = size / ENTRY_SIZE;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((entries + SEGMENT_ENTRIES - 1) / SEGMENT_ENTRIES)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * SEGMENT_ENTRIES * ENTRY_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start,
+                        SEGMENT_ENTRIES * ENTRY_SIZE));
+                segments[i].order(ByteOrder.BIG_ENDIAN);
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            return new OpeningBook(segments, entries, keys, seed);
+        }
+    }
+
+    // Número de entradas do livro
+    public long size() {
+        return entries;
+    }
+
+    /**
+     * Retorna os lances do livro para a posição, como lances do Board, com os pesos correspondentes em
+     * "weights" (se não for null, do tamanho do resultado ou maior). Lances do livro que não são legais
+     * na posição (chave repetida por acaso ou livro corrompido) são ignorados.
+     */
+    public int[] getMoves(Board board, int[] weights) {
+        long key = keys.compute(board);
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        int legalCount = MoveGenerator.generateLegal(board, legal);
+        List<int[]> found = new ArrayList<>();
+        for (long index = lowerBound(key); index < entries && key(index) == key; index++) {
+            int move = fromPolyglot(entryMove(index), legal, legalCount);
+            if (move != Move.NONE) {
+                found.add(new int[] {move, entryWeight(index)});
+            }
+        }
+        int[] moves = new int[found.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = found.get(i)[0];
+            if (weights != null) weights[i] = found.get(i)[1];
+        }
+        return moves;
+    }
+
+    /**
+     * Escolhe um lance do livro para a posição, com probabilidade proporcional ao peso.
+     * Retorna: o lance, ou Move.NONE se a posição não estiver no livro (ou todos os pesos forem 0).
+     */
+    public synchronized int pickMove(Board board) {
+        int[] weights = new int[MoveGenerator.MAX_MOVES];
+        int[] moves = getMoves(board, weights);
+        long total = 0;
+        for (int i = 0; i < moves.length; i++) {
+            total += weights[i];
+        }
+        if (total == 0) {
+            return Move.NONE;
+        }
+        long choice = (long) (random.nextDouble() * total);
+        for (int i = 0; i < moves.length; i++) {
+            choice -= weights[i];
+            if (choice < 0) return moves[i];
+        }
+        return moves[moves.length - 1];
+    }
+
+    // Primeira entrada com chave maior ou igual à procurada (comparação sem sinal, como no arquivo)
+    private long lowerBound(long key) {
+        long low = 0;
+        long high = entries;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(key(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long key(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong(offset(index));
+    }
+
+    private int entryMove(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getShort(offset(index) + 8) & 0xFFFF;
+    }
+
+    private int entryWeight(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getShort(offset(index) + 10) & 0xFFFF;
+    }
+
+    private static int offset(long index) {
+        return (int) (index & (SEGMENT_ENTRIES - 1)) * ENTRY_SIZE;
+    }
+
+    /**
+     * Converte um lance do Board para a codificação Polyglot: bits 0-2 coluna e 3-5 fileira do destino,
+     * 6-8 coluna e 9-11 fileira da origem (fileira 0 = primeira), 12-14 promoção (1 cavalo a 4 rainha).
+     * O roque é escrito como o rei capturando a própria torre (e1h1, e1a1, e8h8, e8a8).
+     */
+    public static int toPolyglot(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if ((Move.flags(move) & Move.CASTLING) != 0) {
+            to = to > from ? to + 1 : to - 2;
+        }
+        return polyglotSquare(to) | (polyglotSquare(from) << 6) | (Move.promotion(move) << 12);
+    }
+
+    // Encontra entre os lances legais o que corresponde ao lance Polyglot (Move.NONE se nenhum)
+    private static int fromPolyglot(int polyglot, int[] legal, int count) {
+        for (int i = 0; i < count; i++) {
+            if (toPolyglot(legal[i]) == polyglot) return legal[i];
+        }
+        return Move.NONE;
+    }
+
+    // Casa na numeração Polyglot (a1 = 0, h8 = 63) a partir da casa do Board (a8 = 0, h1 = 63)
+    private static int polyglotSquare(int square) {
+        return square ^ 56;
+    }
+}
@@ -0,0 +1,231 @@
+package engine;
+
+import model.Board;
+import model.MoveGenerator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft paralelo com fork/join: a raiz é sempre dividida em uma tarefa por lance, e subárvores
+ * grandes continuam sendo divididas até restarem SERIAL_DEPTH níveis, contados em série.
+ * Cada tarefa trabalha sobre a sua própria cópia do tabuleiro (new Board(Board)),
+ * então nenhum estado é compartilhado entre as threads, nem o ChessModel.
+ */
+public class ParallelPerft {
+    // Subárvores com até esta profundidade restante são contadas em série numa única tarefa
+    private static final int SERIAL_DEPTH = 4;
+
+    private final ForkJoinPool pool;
+    private final int threads;
+
+    // Estatísticas de cada thread da execução corrente (uma entrada por thread que contou nós)
+    private final Queue<WorkerStats> workers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<WorkerStats> localStats = new ThreadLocal<>();
+
+    public ParallelPerft(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        this.threads = threads;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Conta os nós a "depth" lances da posição do tabuleiro, que não é alterado.
+     * Retorna: o total de nós, o tempo e as estatísticas por thread.
+     */
+    public synchronized Result perft(Board board, int depth) {
+        workers.clear();
+        long start = System.nanoTime();
+        long nodes = depth < 1 ? 1 : pool.invoke(new RootTask(new Board(board), depth));
+        long elapsed = System.nanoTime() - start;
+        List<WorkerStats> stats = new ArrayList<>(workers);
+        workers.clear();
+        return new Result(nodes, elapsed, threads, stats);
+    }
+
+    // Encerra as threads do pool
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Mede a escala do perft na posição com 1, 2, 4, ... até "maxThreads" threads,
+     * imprimindo tempo, aceleração e eficiência em relação à execução com uma thread.
+     */
+    public static void measureScaling(Board board, int depth, int maxThreads, PrintStream out) {
+        List<Integer> counts = new ArrayList<>();
+        for (int n = 1; n < maxThreads; n *= 2) {
+            counts.add(n);
+        }
+        counts.add(maxThreads);
+
+        long baseline = 0;
+        for (int n : counts) {
+            ParallelPerft perft = new ParallelPerft(n);
+            Result result = perft.perft(board, depth);
+            perft.shutdown();
+            if (n == 1) {
+                baseline = result.getElapsedNanos();
+            }
+            double speedup = (double) baseline / result.getElapsedNanos();
+            out.printf("%3d threads: %12d nós, %7d ms, %,14d nós/s, aceleração %5.2fx, eficiência %5.1f%%%n",
+                    n, result.getNodes(), result.getElapsedNanos() / 1_000_000, result.getNodesPerSecond(),
+                    speedup, 100 * speedup / n);
+        }
+    }
+
+    // Estatísticas da thread corrente, registradas na primeira vez que ela conta nós nesta execução
+    private WorkerStats stats() {
+        WorkerStats stats = localStats.get();
+        if (stats == null || !stats.active) {
+            stats = new WorkerStats(Thread.currentThread().getName());
+            localStats.set(stats);
+            workers.add(stats);
+        }
+        return stats;
+    }
+
+    // Divide a raiz: uma subtarefa por lance legal, mesmo em profundidades rasas
+    private final class RootTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+
+        RootTask(Board board, int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            return split(board, depth);
+        }
+    }
+
+    // Subárvore: dividida de novo se ainda for grande, senão contada em série
+    private final class SubtreeTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+
+        SubtreeTask(Board board, int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth <= SERIAL_DEPTH) {
+                WorkerStats stats = stats();
+                long start = System.nanoTime();
+                long nodes = new Perft(board).perft(depth);
+                stats.busyNanos += System.nanoTime() - start;
+                stats.nodes += nodes;
+                return nodes;
+            }
+            return split(board, depth);
+        }
+    }
+
+    // Cria uma tarefa por lance sobre uma cópia do tabuleiro após o lance e soma os resultados
+    private long split(Board board, int depth) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, moves);
+        if (depth == 1) {
+            WorkerStats stats = stats();
+            stats.nodes += count;
+            return count;
+        }
+        List<SubtreeTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Board child = new Board(board);
+            child.makeMove(moves[i]);
+            SubtreeTask task = new SubtreeTask(child, depth - 1);
+            task.fork();
+            tasks.add(task);
+        }
+        long nodes = 0;
+        for (SubtreeTask task : tasks) {
+            nodes += task.join();
+        }
+        return nodes;
+    }
+
+    // Nós contados e tempo ocupado de uma thread; só é alterado pela própria thread
+    private static final class WorkerStats {
+        private final String name;
+        private long nodes;
+        private long busyNanos;
+        private boolean active = true;
+
+        WorkerStats(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Resultado de uma execução: total de nós, tempo de parede e nós/tempo ocupado de cada thread.
+     */
+    public static final class Result {
+        private final long nodes;
+        private final long elapsedNanos;
+        private final int threads;
+        private final List<WorkerStats> workers;
+
+        private Result(long nodes, long elapsedNanos, int threads, List<WorkerStats> workers) {
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+            this.threads = threads;
+            this.workers = workers;
+            for (WorkerStats stats : workers) {
+                stats.active = false; // a próxima execução registra estatísticas novas
+            }
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getNodesPerSecond() {
+            return (long) (nodes * 1e9 / Math.max(1, elapsedNanos));
+        }
+
+        // Fração do tempo disponível (threads x tempo de parede) em que as threads estiveram contando nós
+        public double getUtilization() {
+            long busy = 0;
+            for (WorkerStats stats : workers) {
+                busy += stats.busyNanos;
+            }
+            return (double) busy / ((double) threads * Math.max(1, elapsedNanos));
+        }
+
+        // Imprime o total, o tempo, a taxa de cada thread e a utilização do pool
+        public void print(PrintStream out) {
+            out.println("Nós: " + nodes);
+            Perft.printRate(out, nodes, elapsedNanos);
+            for (WorkerStats stats : workers) {
+                long rate = (long) (stats.nodes * 1e9 / Math.max(1, stats.busyNanos));
+                out.printf("  %-30s %12d nós (%5.1f%%), %,14d nós/s%n",
+                        stats.name, stats.nodes, 100.0 * stats.nodes / Math.max(1, nodes), rate);
+            }
+            out.printf("Threads: %d, utilização: %.1f%%%n", threads, 100 * getUtilization());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package engine;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.PrintStream;
+
+/**
+ * Perft: conta os nós da árvore de lances legais até uma profundidade fixa.
+ * Serve para validar o gerador de lances (os totais das posições padrão são conhecidos)
+ * e para medir sua vazão em nós por segundo antes e depois de cada mudança nas regras.
+ */
+public class Perft {
+    /**
+     * Posições padrão de perft com os totais de nós esperados por profundidade (índice 0 = profundidade 1).
+     * Cobrem roque, en passant, promoções e cravadas.
+     */
+    public static final String[][] SUITE = {
+        {"Inicial", ChessModel.START_FEN,
+            "20 400 8902 197281 4865609 119060324"},
+        {"Kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "48 2039 97862 4085603 193690690"},
+        {"Posição 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "14 191 2812 43238 674624 11030083 178633661"},
+        {"Posição 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "6 264 9467 422333 15833292"},
+        {"Posição 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            "44 1486 62379 2103487 89941194"},
+        {"Posição 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "46 2079 89890 3894594 164075551"},
+    };
+
+    private final Board board;
+    private int[][] moves = new int[0][];   // um vetor de lances por nível, alocado conforme a profundidade pedida
+
+    public Perft(Board board) {
+        this.board = board;
+    }
+
+    // Retorna o tabuleiro sobre o qual o perft é feito
+    public Board getBoard() {
+        return board;
+    }
+
+    // Retorna o número de posições folha a "depth" lances da posição atual.
+    // No último nível os lances legais são apenas contados, sem serem feitos.
+    public long perft(int depth) {
+        ensureBuffers(depth);
+        return perft(depth, 0);
+    }
+
+    private long perft(int depth, int ply) {
+        int[] buffer = moves[ply];
+        int count = MoveGenerator.generateLegal(board, buffer);
+        if (depth <= 1) {
+            return depth == 1 ? count : 1;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(buffer[i]);
+            nodes += perft(depth - 1, ply + 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    // Imprime a contagem de cada lance da raiz ("divide"), o total, o tempo e os nós por segundo.
+    // Retorna o total de nós.
+    public long divide(int depth, PrintStream out) {
+        ensureBuffers(depth);
+        long start = System.nanoTime();
+        int[] root = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, root);
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(root[i]);
+            long nodes = depth > 1 ? perft(depth - 1, 1) : 1;
+            board.unmakeMove();
+            out.println(Move.toUci(root[i]) + ": " + nodes);
+            total += nodes;
+        }
+        long elapsed = System.nanoTime() - start;
+        out.println();
+        out.println("Lances: " + count);
+        out.println("Nós: " + total);
+        printRate(out, total, elapsed);
+        return total;
+    }
+
+    // Garante um vetor de lances por nível até a profundidade indicada
+    private void ensureBuffers(int depth) {
+        if (moves.length < depth) {
+            moves = new int[depth][MoveGenerator.MAX_MOVES];
+        }
+    }
+
+    /**
+     * Executa a suíte padrão até a profundidade máxima indicada, comparando cada total com o esperado.
+     * Retorna: true se todas as contagens conferirem.
+     */
+    public static boolean runSuite(int maxDepth, PrintStream out) {
+        return runSuite(maxDepth, 1, out);
+    }
+
+    /**
+     * Como runSuite(maxDepth, out), mas com mais de uma thread a contagem é feita pelo ParallelPerft.
+     */
+    public static boolean runSuite(int maxDepth, int threads, PrintStream out) {
+        ParallelPerft parallel = threads > 1 ? new ParallelPerft(threads) : null;
+        boolean ok = true;
+        long totalNodes = 0;
+        long totalTime = 0;
+        for (String[] entry : SUITE) {
+            String[] expected = entry[2].split(" ");
+            Perft perft = new Perft(ChessModel.fromFEN(entry[1]).getBoard());
+            for (int depth = 1; depth <= Math.min(maxDepth, expected.length); depth++) {
+                long start = System.nanoTime();
+                long nodes = parallel != null ? parallel.perft(perft.getBoard(), depth).getNodes() : perft.perft(depth);
+                long elapsed = System.nanoTime() - start;
+                boolean match = nodes == Long.parseLong(expected[depth - 1]);
+                ok &= match;
+                totalNodes += nodes;
+                totalTime += elapsed;
+                out.printf("%-10s profundidade %d: %12d nós %s (esperado %s, %d ms)%n",
+                        entry[0], depth, nodes, match ? "OK  " : "ERRO", expected[depth - 1], elapsed / 1_000_000);
+            }
+        }
+        out.println();
+        out.println("Nós: " + totalNodes);
+        printRate(out, totalNodes, totalTime);
+        out.println(ok ? "Todas as contagens conferem." : "Há contagens divergentes!");
+        if (parallel != null) {
+            parallel.shutdown();
+        }
+        return ok;
+    }
+
+    static void printRate(PrintStream out, long nodes, long nanos) {
+        long millis = Math.max(1, nanos / 1_000_000);
+        out.println("Tempo: " + millis + " ms");
+        out.println("Nós por segundo: " + (nodes * 1000 / millis));
+    }
+}
@@ -0,0 +1,160 @@
+package engine;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.util.List;
+
+/**
+ * Notação algébrica (SAN) dos lances e texto de partidas no formato PGN, lido pelas interfaces de xadrez e
+ * pelas ferramentas de análise de torneios.
+ */
+public final class Pgn {
+    private static final String PIECE_LETTERS = "PNBRQK";
+    private static final int LINE_WIDTH = 80;  // as linhas do texto dos lances não passam disto
+
+    private Pgn() {
+    }
+
+    /**
+     * Retorna o lance em notação algébrica (ex.: "e4", "Nbd7", "exd6", "e8=Q+", "O-O", "Qh4#") na posição
+     * do tabuleiro, antes de ser feito. O tabuleiro é usado para desfazer ambiguidades e marcar cheques
+     * (o lance é feito e desfeito); ele volta ao estado original.
+     */
+    public static String toSan(Board board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int type = board.getPieceType(from);
+        if (type < 0) {
+            throw new IllegalArgumentException("Nenhuma peça na origem do lance " + Move.toUci(move));
+        }
+        StringBuilder san = new StringBuilder(8);
+        if ((Move.flags(move) & Move.CASTLING) != 0) {
+            san.append(to > from ? "O-O" : "O-O-O");
+        } else if (type == Board.PAWN) {
+            if (Move.isCapture(move)) {
+                san.append(fileOf(from)).append('x');
+            }
+            appendSquare(san, to);
+            if (Move.isPromotion(move)) {
+                san.append('=').append(PIECE_LETTERS.charAt(Move.promotion(move)));
+            }
+        } else {
+            san.append(PIECE_LETTERS.charAt(type));
+            appendDisambiguation(san, board, move, type);
+            if (Move.isCapture(move)) san.append('x');
+            appendSquare(san, to);
+        }
+
+        board.makeMove(move);
+        boolean white = board.isWhiteToMove();
+        int king = board.getKingSquare(white);
+        if (king >= 0 && board.isSquareAttacked(king, !white)) {
+            san.append(MoveGenerator.generateLegal(board, new int[MoveGenerator.MAX_MOVES]) == 0 ? '#' : '+');
+        }
+        board.unmakeMove();
+        return san.toString();
+    }
+
+    // Outra peça do mesmo tipo que também pode ir para o destino: coluna de origem, senão fileira, senão as duas
+    private static void appendDisambiguation(StringBuilder san, Board board, int move, int type) {
+        int from = Move.from(move);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, moves);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (int i = 0; i < count; i++) {
+            int other = Move.from(moves[i]);
+            if (other != from && Move.to(moves[i]) == Move.to(move) && board.getPieceType(other) == type) {
+                ambiguous = true;
+                sameFile |= (other & 7) == (from & 7);
+                sameRank |= (other >>> 3) == (from >>> 3);
+            }
+        }
+        if (!ambiguous) return;
+        if (!sameFile) {
+            san.append(fileOf(from));
+        } else if (!sameRank) {
+            san.append(rankOf(from));
+        } else {
+            san.append(fileOf(from)).append(rankOf(from));
+        }
+    }
+
+    /**
+     * Monta o texto PGN de uma partida: os cabeçalhos obrigatórios (Event, Site, Date, Round, White, Black e
+     * Result), SetUp e FEN quando a partida não começa da posição inicial, e os lances em SAN numerados a
+     * partir da FEN, quebrados em linhas de até 80 caracteres. "comment", se não for null, vai entre chaves
+     * antes do resultado (ex.: o motivo do fim da partida).
+     * "date" segue o formato do PGN (aaaa.mm.dd) e "result" é "1-0", "0-1", "1/2-1/2" ou "*".
+     */
+    public static String format(String event, String date, int round, String white, String black, String fen,
+                                List<String> sanMoves, String result, String comment) {
+        StringBuilder text = new StringBuilder();
+        appendTag(text, "Event", event);
+        appendTag(text, "Site", "?");
+        appendTag(text, "Date", date);
+        appendTag(text, "Round", String.valueOf(round));
+        appendTag(text, "White", white);
+        appendTag(text, "Black", black);
+        appendTag(text, "Result", result);
+        if (!fen.equals(ChessModel.START_FEN)) {
+            appendTag(text, "SetUp", "1");
+            appendTag(text, "FEN", fen);
+        }
+        appendTag(text, "PlyCount", String.valueOf(sanMoves.size()));
+        text.append('\n');
+
+        String[] fields = fen.split(" ");
+        boolean whiteToMove = fields.length < 2 || fields[1].equals("w");
+        int number = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < sanMoves.size(); i++) {
+            String token = sanMoves.get(i);
+            if (whiteToMove) {
+                token = number + ". " + token;
+            } else if (i == 0) {
+                token = number + "... " + token;
+            }
+            appendToken(text, line, token);
+            if (!whiteToMove) number++;
+            whiteToMove = !whiteToMove;
+        }
+        if (comment != null) {
+            appendToken(text, line, "{" + comment.replace('}', ')') + "}");
+        }
+        appendToken(text, line, result);
+        text.append(line).append("\n\n");
+        return text.toString();
+    }
+
+    // Junta a palavra à linha corrente, passando a linha para o texto quando ela ficaria longa demais
+    private static void appendToken(StringBuilder text, StringBuilder line, String token) {
+        if (line.length() > 0 && line.length() + 1 + token.length() > LINE_WIDTH) {
+            text.append(line).append('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0) line.append(' ');
+        line.append(token);
+    }
+
+    private static void appendTag(StringBuilder text, String name, String value) {
+        text.append('[').append(name).append(" \"")
+            .append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append("\"]\n");
+    }
+
+    private static void appendSquare(StringBuilder san, int square) {
+        san.append(fileOf(square)).append(rankOf(square));
+    }
+
+    private static char fileOf(int square) {
+        return (char) ('a' + (square & 7));
+    }
+
+    private static char rankOf(int square) {
+        return (char) ('8' - (square >>> 3));
+    }
+}
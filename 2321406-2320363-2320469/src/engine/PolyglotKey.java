@@ -0,0 +1,105 @@
+package engine;
+
+import model.Board;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Chave de posição no formato Polyglot, usada pelos livros de abertura .bin: o XOR de 781 números
+ * aleatórios fixos (tabela "Random64" da especificação), um por peça em cada casa (768), direito de roque (4),
+ * coluna de en passant (8) e vez das brancas (1). A tabela não vem com o jogo; é lida de um arquivo texto
+ * com os 781 números em hexadecimal, na ordem da especificação (ver load).
+ * A chave de Zobrist do Board não serve no lugar desta, pois usa outros números.
+ */
+public final class PolyglotKey {
+    public static final int RANDOM_COUNT = 781;
+
+    private static final int CASTLING_OFFSET = 768;
+    private static final int EN_PASSANT_OFFSET = 772;
+    private static final int TURN_OFFSET = 780;
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = FILE_A << 7;
+
+    private final long[] random;
+
+    public PolyglotKey(long[] random) {
+        if (random.length != RANDOM_COUNT) {
+            throw new IllegalArgumentException("A tabela Polyglot precisa de " + RANDOM_COUNT + " números, não "
+                    + random.length);
+        }
+        this.random = random.clone();
+    }
+
+    /**
+     * Lê a tabela de um arquivo texto com os 781 números em hexadecimal (com ou sem "0x" e sufixo "ULL"),
+     * separados por espaços, vírgulas ou quebras de linha; comentários "//" até o fim da linha são ignorados.
+     */
+    public static PolyglotKey load(Path file) throws IOException {
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).replaceAll("//[^\n]*", " ");
+        long[] random = new long[RANDOM_COUNT];
+        int count = 0;
+        for (String token : text.split("[\\s,{};]+")) {
+            if (token.isEmpty()) continue;
+            String hex = token.replaceFirst("^0[xX]", "").replaceFirst("[uUlL]+$", "");
+            if (count == RANDOM_COUNT) {
+                throw new IOException("Mais de " + RANDOM_COUNT + " números em " + file);
+            }
+            try {
+                random[count++] = Long.parseUnsignedLong(hex, 16);
+            } catch (NumberFormatException ex) {
+                throw new IOException("Número inválido na tabela Polyglot: " + token, ex);
+            }
+        }
+        if (count != RANDOM_COUNT) {
+            throw new IOException("A tabela Polyglot em " + file + " tem " + count + " números, e não "
+                    + RANDOM_COUNT);
+        }
+        return new PolyglotKey(random);
+    }
+
+    /**
+     * Retorna a chave Polyglot da posição. A coluna de en passant só entra quando um peão da vez pode de fato
+     * capturar, como na especificação.
+     */
+    public long compute(Board board) {
+        long key = 0L;
+        for (int color = Board.WHITE; color <= Board.BLACK; color++) {
+            boolean white = color == Board.WHITE;
+            for (int type = Board.PAWN; type <= Board.KING; type++) {
+                // Tipo de peça da especificação: peão preto 0, peão branco 1, cavalo preto 2, ... rei branco 11
+                int kind = 2 * type + (white ? 1 : 0);
+                long pieces = board.getPieces(white, type);
+                while (pieces != 0) {
+                    int square = Long.numberOfTrailingZeros(pieces);
+                    pieces &= pieces - 1;
+                    // Na especificação a fileira 0 é a primeira; no Board, a linha 0 é a oitava
+                    key ^= random[64 * kind + 8 * (7 - (square >>> 3)) + (square & 7)];
+                }
+            }
+        }
+        int rights = board.getCastlingRights();
+        if ((rights & Board.WHITE_KINGSIDE) != 0) key ^= random[CASTLING_OFFSET];
+        if ((rights & Board.WHITE_QUEENSIDE) != 0) key ^= random[CASTLING_OFFSET + 1];
+        if ((rights & Board.BLACK_KINGSIDE) != 0) key ^= random[CASTLING_OFFSET + 2];
+        if ((rights & Board.BLACK_QUEENSIDE) != 0) key ^= random[CASTLING_OFFSET + 3];
+
+        int epSquare = board.getEnPassantSquare();
+        if (epSquare >= 0) {
+            boolean white = board.isWhiteToMove();
+            // Peões da vez ao lado do peão que avançou duas casas (uma fileira atrás da casa de en passant)
+            long pushed = 1L << (white ? epSquare + 8 : epSquare - 8);
+            long neighbours = ((pushed & ~FILE_A) >>> 1) | ((pushed & ~FILE_H) << 1);
+            if ((neighbours & board.getPieces(white, Board.PAWN)) != 0) {
+                key ^= random[EN_PASSANT_OFFSET + (epSquare & 7)];
+            }
+        }
+        if (board.isWhiteToMove()) {
+            key ^= random[TURN_OFFSET];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,434 @@
+package engine;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Busca alfa-beta (negamax) com aprofundamento iterativo sobre um tabuleiro.
+ * Os lances de cada nó vêm do MovePicker: o da tabela de transposição (ou da variação principal da
+ * profundidade anterior), as capturas, os lances matadores e os quietos pelo histórico. No horizonte, uma busca
+ * de quiescência só com capturas resolve as trocas em andamento antes de avaliar.
+ * A busca para ao fim do orçamento de tempo ou de nós, devolvendo o resultado da última profundidade concluída.
+ * Várias buscas podem compartilhar a mesma tabela de transposição em threads diferentes (ver LazySmp).
+ * Os lances são feitos e desfeitos no próprio tabuleiro (que volta ao estado original) em vetores
+ * pré-alocados por nível, como no Perft; para buscar sem mexer na partida, passe uma cópia (new Board(Board)).
+ */
+public class Search {
+    public static final int MAX_PLY = 64;            // profundidade máxima de um ramo, em meio-lances
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;            // MATE - n: mate em n meio-lances a partir da raiz
+    public static final int KNOWN_WIN = 20000;       // vitória garantida pelas bases de finais, sem mate à vista
+
+    private static final int CHECK_INTERVAL = 2048;  // nós entre duas verificações do tempo e dos nós (potência de 2)
+    private static final int HISTORY_MAX = 16384;    // limite da tabela de histórico (ver updateHistory)
+
+    private final Board board;
+    private final TranspositionTable table;
+    private final Evaluation evaluation = new Evaluation();  // própria desta busca (o cache de peões não é compartilhado)
+    private int helperId = 0;                        // 0 na busca principal; > 0 nas auxiliares do LazySmp
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+    private final int[][] killers = new int[MAX_PLY + 1][2];  // dois lances quietos que cortaram em cada nível
+    private final int[][] history = new int[2][64 * 64];      // [cor][origem * 64 + destino]: cortes de lances quietos
+    private final int[][] quietsTried = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+    private boolean moveOrdering = true;
+    private EndgameBitbases bitbases;                // consultadas nos finais cobertos, ou null
+    private Consumer<SearchResult.Iteration> listener;  // avisado a cada profundidade concluída, ou null
+    // Variações principais em tabela triangular: pvTable[ply] guarda a melhor linha a partir do nível ply
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private int[] previousPv = new int[0];           // variação da profundidade anterior, tentada primeiro
+
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private boolean timed;
+    private boolean stopped;                         // limite atingido: a iteração corrente é descartada
+    private volatile boolean stopRequested;          // pedido de parada vindo de outra thread (ver stop)
+
+    // Estatísticas da ordenação (ver SearchResult.Statistics)
+    private long expandedNodes;
+    private long movesSearched;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long quietGenerations;
+    private long quiescenceNodes;
+    private long losingCapturesPruned;
+
+    // Cria uma busca com uma tabela de transposição própria, de tamanho padrão
+    public Search(Board board) {
+        this(board, new TranspositionTable());
+    }
+
+    // Cria uma busca que usa (e alimenta) a tabela de transposição informada
+    public Search(Board board, TranspositionTable table) {
+        this.board = board;
+        this.table = table;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            pickers[ply] = new MovePicker();
+        }
+    }
+
+    // Cria uma busca sobre uma cópia do tabuleiro da partida, que não é alterado
+    public static Search fromModel(ChessModel model) {
+        return new Search(new Board(model.getBoard()));
+    }
+
+    // Retorna o tabuleiro sobre o qual a busca é feita
+    public Board getBoard() {
+        return board;
+    }
+
+    // Pede que a busca pare assim que possível (pode ser chamado de outra thread).
+    // O pedido vale também para uma busca que ainda não começou, então cada busca parada usa um objeto novo;
+    // o que se reaproveita entre buscas é a tabela de transposição.
+    public void stop() {
+        stopRequested = true;
+    }
+
+    // Define as bases de finais consultadas durante a busca (null para não usar): nas posições KPK e KRK
+    // a avaliação vem delas em vez da busca
+    public void setBitbases(EndgameBitbases bitbases) {
+        this.bitbases = bitbases;
+    }
+
+    // Define quem é avisado de cada profundidade concluída, na thread da busca (null para ninguém);
+    // serve para mostrar o andamento de uma busca longa, como no "info" do protocolo UCI
+    public void setIterationListener(Consumer<SearchResult.Iteration> listener) {
+        this.listener = listener;
+    }
+
+    // Liga ou desliga a ordenação de lances (ligada por padrão). Desligada, cada nó percorre os lances na
+    // ordem da geração; serve só para medir quantos nós a ordenação economiza (ver SearchMain ordering).
+    public void setMoveOrdering(boolean enabled) {
+        moveOrdering = enabled;
+    }
+
+    /**
+     * Busca com aprofundamento iterativo até "maxDepth", parando ao fim do tempo (em milissegundos) ou do
+     * número de nós; 0 indica sem limite. A primeira profundidade sempre é concluída.
+     * Retorna: o melhor lance, a variação principal e as estatísticas de cada profundidade.
+     */
+    public SearchResult search(int maxDepth, long timeMillis, long maxNodes) {
+        return search(maxDepth, timeMillis, maxNodes, null);
+    }
+
+    /**
+     * Como search(maxDepth, timeMillis, maxNodes), imprimindo em "out" cada profundidade concluída.
+     */
+    public SearchResult search(int maxDepth, long timeMillis, long maxNodes, PrintStream out) {
+        if (maxDepth < 1 || timeMillis < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("Limites de busca inválidos: profundidade " + maxDepth
+                    + ", tempo " + timeMillis + ", nós " + maxNodes);
+        }
+        long start = System.nanoTime();
+        timed = timeMillis > 0;
+        deadline = start + timeMillis * 1_000_000;
+        nodeLimit = maxNodes > 0 ? maxNodes : Long.MAX_VALUE;
+        nodes = 0;
+        stopped = false;
+        previousPv = new int[0];
+        expandedNodes = movesSearched = cutoffs = firstMoveCutoffs = quietGenerations = 0;
+        quiescenceNodes = losingCapturesPruned = 0;
+        for (int[] pair : killers) {
+            pair[0] = pair[1] = Move.NONE;
+        }
+        for (int[] scores : history) {
+            Arrays.fill(scores, 0);
+        }
+
+        List<SearchResult.Iteration> iterations = new ArrayList<>();
+        // As auxiliares ímpares começam uma profundidade à frente, para que as threads não busquem sempre
+        // a mesma profundidade ao mesmo tempo
+        for (int depth = 1 + (helperId & 1); depth <= Math.min(maxDepth, MAX_PLY); depth++) {
+            int score = negamax(depth, 0, -INFINITY, INFINITY, !iterations.isEmpty() || helperId > 0);
+            if (stopped) {
+                break; // profundidade incompleta: vale a anterior
+            }
+            previousPv = new int[pvLength[0]];
+            System.arraycopy(pvTable[0], 0, previousPv, 0, pvLength[0]);
+            SearchResult.Iteration iteration =
+                    new SearchResult.Iteration(depth, score, previousPv, nodes, System.nanoTime() - start);
+            iterations.add(iteration);
+            if (out != null) {
+                iteration.print(out);
+            }
+            if (listener != null) {
+                listener.accept(iteration);
+            }
+            // Mate encontrado dentro do horizonte ou posição sem lances: buscar mais fundo não muda o lance
+            if (previousPv.length == 0 || Math.abs(score) >= MATE - depth) {
+                break;
+            }
+            // Uma profundidade a mais leva bem mais que todas as anteriores juntas: não vale começá-la
+            if (timed && System.nanoTime() - start > (deadline - start) / 2) {
+                break;
+            }
+        }
+        SearchResult.Statistics statistics = new SearchResult.Statistics(expandedNodes, movesSearched, cutoffs,
+                firstMoveCutoffs, quietGenerations, quiescenceNodes, losingCapturesPruned);
+        return new SearchResult(iterations, nodes, System.nanoTime() - start, statistics);
+    }
+
+    // Retorna true se a avaliação indica mate (a favor ou contra) dentro do alcance da busca
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE - MAX_PLY;
+    }
+
+    // Marca esta busca como a auxiliar de número "id" do LazySmp, que varia a profundidade inicial e a ordem
+    // dos lances da raiz para que as threads explorem partes diferentes da árvore
+    void setHelperId(int id) {
+        helperId = id;
+    }
+
+    // Negamax com poda alfa-beta. Retorna a avaliação da posição para o jogador da vez.
+    // "limited": se a busca pode ser interrompida pelos limites (a primeira profundidade nunca é).
+    private int negamax(int depth, int ply, int alpha, int beta, boolean limited) {
+        pvLength[ply] = ply;
+        // O pedido de parada é lido a cada nó (uma leitura volátil), para que stop seja atendido em
+        // microssegundos; o relógio e o limite de nós só a cada CHECK_INTERVAL nós
+        if (((++nodes & (CHECK_INTERVAL - 1)) == 0 || stopRequested) && limited) {
+            checkLimits();
+        }
+        if (stopped) {
+            return 0;
+        }
+        // Empates pelo histórico ou pelo material (a raiz é sempre buscada para haver um lance)
+        if (ply > 0 && (board.repetitionCount() > 0 || board.isInsufficientMaterial())) {
+            return 0;
+        }
+        // Regra dos 50 lances: como em ChessModel.getGameStatus, o mate vem antes do empate. Só em cheque é
+        // preciso conferir se há lance legal; a lista de lances quietos deste nível ainda está livre
+        boolean inCheck = isInCheck();
+        if (ply > 0 && board.isFiftyMoveRule()
+                && (!inCheck || MoveGenerator.generateLegal(board, quietsTried[ply]) > 0)) {
+            return 0;
+        }
+        // Finais das bases: resultado exato, sem buscar (a raiz é buscada para haver um lance)
+        if (ply > 0 && bitbases != null && EndgameBitbases.covers(board)) {
+            return endgameScore(ply);
+        }
+
+        if (inCheck && ply < MAX_PLY) {
+            depth++; // extensão de cheque: não deixa um cheque esconder um mate logo além do horizonte
+        }
+        if (ply >= MAX_PLY) {
+            return evaluation.evaluate(board, alpha, beta);
+        }
+        if (depth <= 0) {
+            return quiescence(ply, alpha, beta, limited);
+        }
+
+        // Tabela de transposição: o lance guardado é tentado primeiro e, fora da raiz, uma busca
+        // guardada pelo menos tão profunda pode responder pela posição inteira
+        long key = board.getKey();
+        long entry = table.probe(key);
+        int hashMove = Move.NONE;
+        if (entry != 0L) {
+            hashMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        // Sem lance na tabela, o da variação principal anterior (só está na lista se a posição for a mesma)
+        if (hashMove == Move.NONE && ply < previousPv.length) {
+            hashMove = previousPv[ply];
+        }
+        boolean white = board.isWhiteToMove();
+        MovePicker picker = pickers[ply];
+        picker.reset(board, hashMove, killers[ply][0], killers[ply][1], history[white ? Board.WHITE : Board.BLACK],
+                ply == 0 ? helperId : 0, moveOrdering);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        int searched = 0;
+        int quiets = 0;
+        int move;
+        while ((move = picker.nextMove()) != Move.NONE) {
+            board.makeMove(move);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha, limited);
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            searched++;
+            boolean quiet = !Move.isCapture(move) && !Move.isPromotion(move);
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        cutoffs++;
+                        if (searched == 1) firstMoveCutoffs++;
+                        if (quiet) {
+                            updateKillers(ply, move);
+                            updateHistory(white, move, quietsTried[ply], quiets, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+            if (quiet) {
+                quietsTried[ply][quiets++] = move;
+            }
+        }
+        expandedNodes++;
+        movesSearched += searched;
+        if (picker.quietsGenerated()) quietGenerations++;
+        if (searched == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER
+                  : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bestMove != Move.NONE ? bestMove : hashMove, scoreToTable(best, ply), depth, bound);
+        return best;
+    }
+
+    // Busca de quiescência: no horizonte, em vez de avaliar no meio de uma troca, continua só com as capturas
+    // e promoções até a posição ficar quieta. O jogador da vez pode ficar com a avaliação estática ("stand pat")
+    // se nenhuma captura a melhorar. Capturas que perdem material pela avaliação estática de trocas são
+    // podadas, o que mantém pequena a árvore de quiescência. Em cheque todos os lances são buscados, pois parar
+    // não é uma opção. Não usa a tabela de transposição nem altera a variação principal; o próprio nó já foi
+    // contado por negamax, e cada lance feito aqui conta um nó.
+    private int quiescence(int ply, int alpha, int beta, boolean limited) {
+        pvLength[ply] = ply;
+        if (ply >= MAX_PLY) {
+            return evaluation.evaluate(board, alpha, beta);
+        }
+        boolean inCheck = isInCheck();
+        boolean white = board.isWhiteToMove();
+        MovePicker picker = pickers[ply];
+        int best = -INFINITY;
+        if (inCheck) {
+            picker.reset(board, Move.NONE, killers[ply][0], killers[ply][1], history[white ? Board.WHITE : Board.BLACK],
+                    0, true);
+        } else {
+            best = evaluation.evaluate(board, alpha, beta);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+            picker.resetCaptures(board);
+        }
+
+        int searched = 0;
+        int move;
+        while ((move = picker.nextMove()) != Move.NONE) {
+            board.makeMove(move);
+            if (((++nodes & (CHECK_INTERVAL - 1)) == 0 || stopRequested) && limited) {
+                checkLimits();
+            }
+            int score = stopped ? 0 : -quiescence(ply + 1, -beta, -alpha, limited);
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            searched++;
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        quiescenceNodes += searched;
+        if (!inCheck) {
+            losingCapturesPruned += picker.getBadCaptureCount();
+        }
+        return inCheck && searched == 0 ? -MATE + ply : best;
+    }
+
+    // Avaliação de uma posição coberta pelas bases de finais. No KRK a distância até o mate é exata e vira
+    // uma avaliação de mate; no KPK a vitória soma KNOWN_WIN à avaliação estática, para que a busca ainda
+    // prefira avançar o peão.
+    private int endgameScore(int ply) {
+        int wdl = bitbases.wdl(board);
+        if (wdl == EndgameBitbases.DRAW) {
+            return 0;
+        }
+        int distance = bitbases.mateDistance(board);
+        if (distance >= 0) {
+            return wdl == EndgameBitbases.WIN ? MATE - ply - distance : -MATE + ply + distance;
+        }
+        int score = evaluation.evaluate(board);
+        return wdl == EndgameBitbases.WIN ? KNOWN_WIN + score : -KNOWN_WIN + score;
+    }
+
+    // Mates são guardados na tabela contados a partir da posição, e não da raiz, para valerem em qualquer nível
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    // A melhor linha deste nível passa a ser o lance seguido da melhor linha do nível seguinte
+    private void updatePv(int ply, int move) {
+        pvTable[ply][ply] = move;
+        System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+        pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+    }
+
+    // Guarda o lance quieto que cortou como primeiro matador do nível (o anterior passa a segundo)
+    private void updateKillers(int ply, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    // Histórico: bônus para o lance quieto que cortou e penalidade para os quietos tentados antes dele,
+    // proporcionais ao quadrado da profundidade. A fórmula puxa cada valor de volta para zero à medida que
+    // se aproxima de HISTORY_MAX, então a tabela nunca transborda e cortes antigos vão perdendo peso.
+    private void updateHistory(boolean white, int move, int[] tried, int count, int depth) {
+        int[] scores = history[white ? Board.WHITE : Board.BLACK];
+        int bonus = Math.min(depth * depth, 400);
+        addHistory(scores, move, bonus);
+        for (int i = 0; i < count; i++) {
+            addHistory(scores, tried[i], -bonus);
+        }
+    }
+
+    private static void addHistory(int[] scores, int move, int bonus) {
+        int index = (Move.from(move) << 6) | Move.to(move);
+        scores[index] += bonus - scores[index] * Math.abs(bonus) / HISTORY_MAX;
+    }
+
+    private boolean isInCheck() {
+        boolean white = board.isWhiteToMove();
+        int king = board.getKingSquare(white);
+        return king >= 0 && board.isSquareAttacked(king, !white);
+    }
+
+    private void checkLimits() {
+        if (stopRequested || nodes >= nodeLimit || (timed && System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+    }
+}
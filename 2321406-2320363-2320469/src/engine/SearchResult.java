@@ -0,0 +1,222 @@
+package engine;
+
+import model.Move;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma busca: o melhor lance, a variação principal e a avaliação da última iteração completa,
+ * mais o tempo e os nós de cada profundidade concluída (tempo até a profundidade).
+ */
+public final class SearchResult {
+    private final List<Iteration> iterations;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final Statistics statistics;
+
+    SearchResult(List<Iteration> iterations, long nodes, long elapsedNanos, Statistics statistics) {
+        this.iterations = Collections.unmodifiableList(iterations);
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.statistics = statistics;
+    }
+
+    // Melhor lance encontrado, ou Move.NONE se a posição não tiver lances legais
+    public int getBestMove() {
+        int[] pv = getPrincipalVariation();
+        return pv.length > 0 ? pv[0] : Move.NONE;
+    }
+
+    // Variação principal da última profundidade concluída (cópia)
+    public int[] getPrincipalVariation() {
+        return iterations.isEmpty() ? new int[0] : iterations.get(iterations.size() - 1).getPrincipalVariation();
+    }
+
+    // Avaliação do melhor lance em centésimos de peão, do ponto de vista de quem joga (ver Search.isMateScore)
+    public int getScore() {
+        return iterations.isEmpty() ? 0 : iterations.get(iterations.size() - 1).getScore();
+    }
+
+    // Última profundidade concluída (0 se nenhuma)
+    public int getDepth() {
+        return iterations.isEmpty() ? 0 : iterations.get(iterations.size() - 1).getDepth();
+    }
+
+    // Total de nós visitados, incluindo os da iteração interrompida pelo limite
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getNodesPerSecond() {
+        return (long) (nodes * 1e9 / Math.max(1, elapsedNanos));
+    }
+
+    // Iterações concluídas, em ordem de profundidade
+    public List<Iteration> getIterations() {
+        return iterations;
+    }
+
+    // Estatísticas da ordenação de lances da busca
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    // Fator de ramificação efetivo: nós da última profundidade concluída divididos pelos da anterior
+    // (0 com menos de duas profundidades)
+    public double getEffectiveBranchingFactor() {
+        int size = iterations.size();
+        if (size < 2) return 0;
+        long last = iterations.get(size - 1).getNodes() - iterations.get(size - 2).getNodes();
+        long previous = iterations.get(size - 2).getNodes() - (size > 2 ? iterations.get(size - 3).getNodes() : 0);
+        return (double) last / Math.max(1, previous);
+    }
+
+    // Imprime o resumo: lance escolhido, profundidade, nós, tempo e nós por segundo.
+    // As profundidades são impressas uma a uma durante a busca (ver Search.search com PrintStream).
+    public void print(PrintStream out) {
+        out.println("Melhor lance: " + (getBestMove() == Move.NONE ? "nenhum" : Move.toUci(getBestMove())));
+        out.println("Profundidade: " + getDepth() + ", nós: " + nodes);
+        Perft.printRate(out, nodes, elapsedNanos);
+        out.printf("Fator de ramificação efetivo: %.2f%n", getEffectiveBranchingFactor());
+        statistics.print(out);
+    }
+
+    // Texto da avaliação: centésimos de peão com sinal, ou "mate N" (lances até o mate, negativo se for sofrido)
+    public static String formatScore(int score) {
+        if (Search.isMateScore(score)) {
+            int plies = Search.MATE - Math.abs(score);
+            return "mate " + (score > 0 ? (plies + 1) / 2 : -(plies / 2));
+        }
+        return String.format("%+d", score);
+    }
+
+    // Texto de uma variação em notação de coordenadas
+    public static String formatLine(int[] moves) {
+        StringBuilder text = new StringBuilder();
+        for (int move : moves) {
+            if (text.length() > 0) text.append(' ');
+            text.append(Move.toUci(move));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Contadores da ordenação de lances, somados sobre todos os nós com lances buscados (sem as folhas).
+     * Com uma boa ordenação, quase todo corte acontece no primeiro lance, poucos lances são buscados
+     * por nó e muitos nós cortam antes de precisar gerar os lances quietos.
+     */
+    public static final class Statistics {
+        private final long expandedNodes;
+        private final long movesSearched;
+        private final long cutoffs;
+        private final long firstMoveCutoffs;
+        private final long quietGenerations;
+        private final long quiescenceNodes;
+        private final long losingCapturesPruned;
+
+        Statistics(long expandedNodes, long movesSearched, long cutoffs, long firstMoveCutoffs,
+                   long quietGenerations, long quiescenceNodes, long losingCapturesPruned) {
+            this.expandedNodes = expandedNodes;
+            this.movesSearched = movesSearched;
+            this.cutoffs = cutoffs;
+            this.firstMoveCutoffs = firstMoveCutoffs;
+            this.quietGenerations = quietGenerations;
+            this.quiescenceNodes = quiescenceNodes;
+            this.losingCapturesPruned = losingCapturesPruned;
+        }
+
+        // Nós em que a busca percorreu lances (não contam folhas nem respostas da tabela de transposição)
+        public long getExpandedNodes() {
+            return expandedNodes;
+        }
+
+        public long getCutoffs() {
+            return cutoffs;
+        }
+
+        // Média de lances buscados por nó expandido: o fator de ramificação que a poda deixou
+        public double getMovesPerNode() {
+            return (double) movesSearched / Math.max(1, expandedNodes);
+        }
+
+        // Fração dos cortes beta que aconteceram já no primeiro lance (0 a 1)
+        public double getFirstMoveCutoffRate() {
+            return (double) firstMoveCutoffs / Math.max(1, cutoffs);
+        }
+
+        // Fração dos nós expandidos que precisaram gerar os lances quietos (0 a 1)
+        public double getQuietGenerationRate() {
+            return (double) quietGenerations / Math.max(1, expandedNodes);
+        }
+
+        // Nós visitados pela busca de quiescência (lances feitos depois do horizonte)
+        public long getQuiescenceNodes() {
+            return quiescenceNodes;
+        }
+
+        // Capturas que perdem material, descartadas na quiescência sem serem buscadas
+        public long getLosingCapturesPruned() {
+            return losingCapturesPruned;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("Nós de quiescência: %d, capturas perdedoras podadas: %d%n",
+                    quiescenceNodes, losingCapturesPruned);
+            out.printf("Lances por nó: %.2f, cortes no primeiro lance: %.1f%%, nós que geraram os quietos: %.1f%%%n",
+                    getMovesPerNode(), 100 * getFirstMoveCutoffRate(), 100 * getQuietGenerationRate());
+        }
+    }
+
+    /**
+     * Uma profundidade concluída: avaliação, variação principal e nós e tempo acumulados até ela.
+     */
+    public static final class Iteration {
+        private final int depth;
+        private final int score;
+        private final int[] pv;
+        private final long nodes;
+        private final long elapsedNanos;
+
+        Iteration(int depth, int score, int[] pv, long nodes, long elapsedNanos) {
+            this.depth = depth;
+            this.score = score;
+            this.pv = pv;
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int[] getPrincipalVariation() {
+            return pv.clone();
+        }
+
+        // Nós visitados desde o início da busca até concluir esta profundidade
+        public long getNodes() {
+            return nodes;
+        }
+
+        // Tempo desde o início da busca até concluir esta profundidade
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("profundidade %2d: %-9s %12d nós %7d ms %,12d nós/s  %s%n",
+                    depth, formatScore(score), nodes, elapsedNanos / 1_000_000,
+                    (long) (nodes * 1e9 / Math.max(1, elapsedNanos)), formatLine(pv));
+        }
+    }
+}
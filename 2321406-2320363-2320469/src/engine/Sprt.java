@@ -0,0 +1,134 @@
+package engine;
+
+/**
+ * Placar de um confronto entre duas versões do motor, do ponto de vista da primeira, com a estimativa de Elo
+ * e o teste sequencial da razão de probabilidades (SPRT).
+ * O SPRT compara a hipótese H0 (a diferença é elo0) com H1 (a diferença é elo1) a cada partida: quando o
+ * logaritmo da razão (LLR) sai do intervalo [ln(beta / (1 - alpha)), ln((1 - beta) / alpha)], uma delas é
+ * aceita com erros alpha e beta, em geral com muito menos partidas que um número fixo. O LLR usa a
+ * aproximação normal do placar com vitórias, empates e derrotas, como nos testes de motores de xadrez.
+ */
+public final class Sprt {
+    public static final int CONTINUE = 0;   // ainda sem decisão
+    public static final int ACCEPT_H0 = -1; // a mudança não ganha elo1 (diferença de até elo0)
+    public static final int ACCEPT_H1 = 1;  // a mudança ganha pelo menos elo1
+
+    private final double elo0;
+    private final double elo1;
+    private final double lowerBound;
+    private final double upperBound;
+    private int wins;
+    private int draws;
+    private int losses;
+
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+            throw new IllegalArgumentException("Parâmetros do SPRT inválidos: elo0 " + elo0 + ", elo1 " + elo1
+                    + ", alpha " + alpha + ", beta " + beta);
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    // Registra uma partida: 1 vitória, 0.5 empate, 0 derrota (da primeira versão)
+    public void add(double score) {
+        if (score == 1) {
+            wins++;
+        } else if (score == 0.5) {
+            draws++;
+        } else if (score == 0) {
+            losses++;
+        } else {
+            throw new IllegalArgumentException("Resultado inválido: " + score);
+        }
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getGames() {
+        return wins + draws + losses;
+    }
+
+    // Pontuação média por partida (0 a 1)
+    public double getScore() {
+        int games = getGames();
+        return games == 0 ? 0.5 : (wins + 0.5 * draws) / games;
+    }
+
+    // Diferença de Elo correspondente à pontuação (infinita com 100% ou 0%)
+    public double getElo() {
+        return elo(getScore());
+    }
+
+    // Meia largura do intervalo de 95% de confiança do Elo (infinita enquanto todas as partidas tiverem o
+    // mesmo resultado)
+    public double getEloMargin() {
+        int games = getGames();
+        if (variance() == 0) return Double.POSITIVE_INFINITY;
+        double deviation = Math.sqrt(variance() / games);
+        double score = getScore();
+        return (elo(Math.min(1, score + 1.96 * deviation)) - elo(Math.max(0, score - 1.96 * deviation))) / 2;
+    }
+
+    // Logaritmo da razão de probabilidades entre H1 e H0 com as partidas até agora
+    public double getLlr() {
+        double variance = variance();
+        if (variance == 0) return 0;  // sem variação (nenhuma partida, ou todas com o mesmo resultado)
+        double score0 = expectedScore(elo0);
+        double score1 = expectedScore(elo1);
+        return (score1 - score0) * (2 * getScore() - score0 - score1) * getGames() / (2 * variance);
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    // CONTINUE, ACCEPT_H0 ou ACCEPT_H1
+    public int getDecision() {
+        double llr = getLlr();
+        if (llr >= upperBound) return ACCEPT_H1;
+        if (llr <= lowerBound) return ACCEPT_H0;
+        return CONTINUE;
+    }
+
+    // Resumo em uma linha: placar, Elo com a margem e o LLR entre os limites
+    public String summary() {
+        String decision = getDecision() == ACCEPT_H1 ? " H1 aceita" : getDecision() == ACCEPT_H0 ? " H0 aceita" : "";
+        return String.format("+%d =%d -%d  Elo %+.1f ± %.1f  LLR %.2f [%.2f, %.2f]%s", wins, draws, losses,
+                getElo(), getEloMargin(), getLlr(), lowerBound, upperBound, decision);
+    }
+
+    // Variância da pontuação de uma partida
+    private double variance() {
+        int games = getGames();
+        if (games == 0) return 0;
+        double score = getScore();
+        return (wins * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score)
+                + losses * score * score) / games;
+    }
+
+    // Pontuação esperada com a diferença de Elo (curva logística)
+    private static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    private static double elo(double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+}
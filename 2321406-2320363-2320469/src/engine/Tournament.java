@@ -0,0 +1,378 @@
+package engine;
+
+import model.Board;
+import model.ChessModel;
+import model.GameStatus;
+import model.Move;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Torneio sem interface gráfica entre duas configurações do motor, para medir o efeito de uma mudança.
+ * Cada abertura da lista (uma FEN) é jogada duas vezes por rodada, uma com cada configuração de brancas,
+ * para que as vantagens das aberturas se anulem. As partidas rodam em paralelo, uma por thread, cada uma
+ * com o seu próprio ChessModel e as suas tabelas de transposição, e cada lance é buscado com tempo fixo.
+ * A partida termina pelas regras (mate, afogamento, repetição, 50 lances, material insuficiente), por
+ * adjudicação das bases de finais quando a posição é coberta por elas, ou empatada no limite de meio-lances.
+ * Cada partida terminada vai para o arquivo PGN e atualiza o placar com Elo e SPRT (ver Sprt); quando o SPRT
+ * chega a uma decisão, as partidas que ainda não começaram são descartadas.
+ */
+public class Tournament {
+    public static final int DEFAULT_MAX_PLIES = 400;
+
+    private final Player first;
+    private final Player second;
+    private final List<String> openings;
+    private final int rounds;
+    private final int threads;
+    private EndgameBitbases bitbases;   // adjudicação, e busca dos jogadores que usam as bases; ou null
+    private Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+    private Path pgnFile;               // null: não grava as partidas
+    private int maxPlies = DEFAULT_MAX_PLIES;
+    private volatile boolean finished;  // decisão do SPRT: as partidas seguintes não são jogadas
+
+    /**
+     * Cria o torneio: "rounds" rodadas com todas as aberturas (FENs) em "threads" partidas simultâneas.
+     * Lança IllegalArgumentException se uma FEN for inválida.
+     */
+    public Tournament(Player first, Player second, List<String> openings, int rounds, int threads) {
+        if (openings.isEmpty() || rounds < 1 || threads < 1) {
+            throw new IllegalArgumentException("Torneio inválido: " + openings.size() + " aberturas, " + rounds
+                    + " rodadas, " + threads + " threads");
+        }
+        List<String> normalized = new ArrayList<>();
+        for (String fen : openings) {
+            ChessModel model = new ChessModel();
+            try {
+                model.loadFEN(fen);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("FEN de abertura inválida: " + fen, ex);
+            }
+            normalized.add(model.generateFEN());
+        }
+        this.first = first;
+        this.second = second;
+        this.openings = Collections.unmodifiableList(normalized);
+        this.rounds = rounds;
+        this.threads = threads;
+    }
+
+    /**
+     * Lê as aberturas de um arquivo texto, uma FEN por linha; linhas vazias e começadas por "#" são ignoradas.
+     */
+    public static List<String> loadOpenings(Path file) throws IOException {
+        List<String> openings = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                openings.add(line);
+            }
+        }
+        return openings;
+    }
+
+    // Define as bases de finais, usadas para adjudicar as partidas e na busca dos jogadores com "bitbases"
+    public void setBitbases(EndgameBitbases bitbases) {
+        this.bitbases = bitbases;
+    }
+
+    // Define os parâmetros do SPRT (padrão: elo0 0, elo1 10, alpha e beta 0.05)
+    public void setSprt(Sprt sprt) {
+        this.sprt = sprt;
+    }
+
+    // Define o arquivo PGN que recebe as partidas (null para não gravar)
+    public void setPgnFile(Path pgnFile) {
+        this.pgnFile = pgnFile;
+    }
+
+    // Define o número de meio-lances a partir do qual a partida é adjudicada como empate
+    public void setMaxPlies(int maxPlies) {
+        if (maxPlies < 1) {
+            throw new IllegalArgumentException("Limite de meio-lances inválido: " + maxPlies);
+        }
+        this.maxPlies = maxPlies;
+    }
+
+    public int getGameCount() {
+        return openings.size() * 2 * rounds;
+    }
+
+    /**
+     * Joga o torneio, imprimindo em "out" uma linha por partida terminada, com o placar, Elo, SPRT e
+     * partidas por hora, e gravando as partidas no arquivo PGN na ordem em que terminam.
+     * Retorna: o placar final (do ponto de vista do primeiro jogador).
+     */
+    public Sprt run(PrintStream out) throws IOException, InterruptedException {
+        finished = false;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "torneio");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Game> games = new ExecutorCompletionService<>(pool);
+        int total = getGameCount();
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            games.submit(() -> finished ? null : playGame(index));
+        }
+        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy.MM.dd"));
+        String event = "Torneio " + first.getName() + " x " + second.getName();
+        long start = System.nanoTime();
+        try (Writer pgn = pgnFile != null ? Files.newBufferedWriter(pgnFile, StandardCharsets.UTF_8) : null) {
+            for (int i = 0; i < total; i++) {
+                Game game = take(games);
+                if (game == null) continue;  // descartada depois da decisão do SPRT
+                sprt.add(game.getFirstScore());
+                if (pgn != null) {
+                    pgn.write(Pgn.format(event, date, game.getRound(), game.getWhite(), game.getBlack(),
+                            game.getFen(), game.getMoves(), game.getResult(), game.getReason()));
+                    pgn.flush();
+                }
+                double hours = (System.nanoTime() - start) / 3.6e12;
+                out.printf("Partida %d/%d: %s x %s %s (%s) | %s | %.0f partidas/h%n", sprt.getGames(), total,
+                        game.getWhite(), game.getBlack(), game.getResult(), game.getReason(), sprt.summary(),
+                        sprt.getGames() / hours);
+                if (!finished && sprt.getDecision() != Sprt.CONTINUE) {
+                    finished = true;
+                    out.println("SPRT concluído: " + (sprt.getDecision() == Sprt.ACCEPT_H1 ? "H1" : "H0")
+                            + " aceita após " + sprt.getGames() + " partidas");
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return sprt;
+    }
+
+    // Espera a próxima partida terminar e a devolve (null se foi descartada)
+    private static Game take(CompletionService<Game> games) throws InterruptedException {
+        try {
+            return games.take().get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Falha numa partida do torneio", ex.getCause());
+        }
+    }
+
+    /**
+     * Joga a partida de número "index" (a partir de 0): abertura index / 2 (circulando pela lista a cada
+     * rodada), com o primeiro jogador de brancas nas partidas pares.
+     */
+    public Game playGame(int index) {
+        String fen = openings.get((index / 2) % openings.size());
+        boolean firstWhite = index % 2 == 0;
+        Player white = firstWhite ? first : second;
+        Player black = firstWhite ? second : first;
+        TranspositionTable whiteTable = new TranspositionTable(white.getHashMegabytes());
+        TranspositionTable blackTable = new TranspositionTable(black.getHashMegabytes());
+
+        ChessModel model = ChessModel.fromFEN(fen);
+        // A busca é feita no próprio tabuleiro da partida (volta ao estado original), que guarda o histórico
+        // para as repetições; nenhuma outra thread usa esta partida
+        Board board = model.getBoard();
+        List<String> moves = new ArrayList<>();
+        String result = null;
+        String reason = null;
+        while (result == null) {
+            GameStatus status = model.getGameStatus();
+            if (status == GameStatus.CHECKMATE) {
+                result = board.isWhiteToMove() ? "0-1" : "1-0";
+                reason = "xeque-mate";
+            } else if (status.isDraw()) {
+                result = "1/2-1/2";
+                reason = describeDraw(status);
+            } else if (bitbases != null && EndgameBitbases.covers(board)) {
+                int wdl = bitbases.wdl(board);
+                result = wdl == EndgameBitbases.DRAW ? "1/2-1/2"
+                        : (wdl == EndgameBitbases.WIN) == board.isWhiteToMove() ? "1-0" : "0-1";
+                reason = "adjudicada pelas bases de finais";
+            } else if (moves.size() >= maxPlies) {
+                result = "1/2-1/2";
+                reason = "adjudicada no limite de " + maxPlies + " meio-lances";
+            } else {
+                boolean whiteToMove = board.isWhiteToMove();
+                Player player = whiteToMove ? white : black;
+                Search search = new Search(board, whiteToMove ? whiteTable : blackTable);
+                search.setMoveOrdering(player.isMoveOrdering());
+                if (player.isBitbases()) {
+                    search.setBitbases(bitbases);
+                }
+                int move = search.search(Search.MAX_PLY, player.getTimeMillis(), 0).getBestMove();
+                String san = Pgn.toSan(board, move);
+                if (!model.playMove(move)) {
+                    throw new IllegalStateException("Lance ilegal de " + player.getName() + ": " + Move.toUci(move)
+                            + " em " + model.generateFEN());
+                }
+                moves.add(san);
+            }
+        }
+        double whiteScore = result.equals("1-0") ? 1 : result.equals("0-1") ? 0 : 0.5;
+        return new Game(index + 1, white.getName(), black.getName(), fen, moves, result, reason,
+                firstWhite ? whiteScore : 1 - whiteScore);
+    }
+
+    private static String describeDraw(GameStatus status) {
+        switch (status) {
+            case STALEMATE: return "afogamento";
+            case THREEFOLD_REPETITION: return "repetição tripla";
+            case FIFTY_MOVE_RULE: return "regra dos 50 lances";
+            default: return "material insuficiente";
+        }
+    }
+
+    /**
+     * Configuração do motor de um dos lados: tempo por lance e tamanho da tabela de transposição, e as
+     * opções da busca que podem ser comparadas (ordenação de lances e uso das bases de finais).
+     */
+    public static final class Player {
+        private final String name;
+        private final long timeMillis;
+        private final int hashMegabytes;
+        private final boolean moveOrdering;
+        private final boolean bitbases;
+
+        public Player(String name, long timeMillis, int hashMegabytes, boolean moveOrdering, boolean bitbases) {
+            if (timeMillis < 1 || hashMegabytes < 1) {
+                throw new IllegalArgumentException("Jogador inválido: " + timeMillis + " ms, " + hashMegabytes
+                        + " MB");
+            }
+            this.name = name;
+            this.timeMillis = timeMillis;
+            this.hashMegabytes = hashMegabytes;
+            this.moveOrdering = moveOrdering;
+            this.bitbases = bitbases;
+        }
+
+        /**
+         * Lê um jogador no formato "nome[:opção=valor,...]", com as opções time (milissegundos por lance,
+         * padrão "timeMillis"), hash (MB), ordering (on/off) e bitbases (on/off).
+         * Ex.: "base", "semOrdem:ordering=off", "lento:time=50,hash=64".
+         */
+        public static Player parse(String spec, long timeMillis) {
+            int colon = spec.indexOf(':');
+            String name = colon < 0 ? spec : spec.substring(0, colon);
+            int hash = TranspositionTable.DEFAULT_MEGABYTES;
+            boolean ordering = true;
+            boolean useBitbases = true;
+            if (colon >= 0) {
+                for (String option : spec.substring(colon + 1).split(",")) {
+                    String[] pair = option.split("=", 2);
+                    if (pair.length != 2) {
+                        throw new IllegalArgumentException("Opção de jogador inválida: " + option);
+                    }
+                    switch (pair[0]) {
+                        case "time": timeMillis = Long.parseLong(pair[1]); break;
+                        case "hash": hash = Integer.parseInt(pair[1]); break;
+                        case "ordering": ordering = parseSwitch(pair[1]); break;
+                        case "bitbases": useBitbases = parseSwitch(pair[1]); break;
+                        default: throw new IllegalArgumentException("Opção de jogador desconhecida: " + pair[0]);
+                    }
+                }
+            }
+            return new Player(name, timeMillis, hash, ordering, useBitbases);
+        }
+
+        private static boolean parseSwitch(String value) {
+            if (value.equals("on")) return true;
+            if (value.equals("off")) return false;
+            throw new IllegalArgumentException("Valor inválido (use on ou off): " + value);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public int getHashMegabytes() {
+            return hashMegabytes;
+        }
+
+        public boolean isMoveOrdering() {
+            return moveOrdering;
+        }
+
+        public boolean isBitbases() {
+            return bitbases;
+        }
+    }
+
+    /**
+     * Uma partida terminada: jogadores, abertura, lances em SAN, resultado com o motivo e a pontuação do
+     * primeiro jogador.
+     */
+    public static final class Game {
+        private final int round;
+        private final String white;
+        private final String black;
+        private final String fen;
+        private final List<String> moves;
+        private final String result;
+        private final String reason;
+        private final double firstScore;
+
+        Game(int round, String white, String black, String fen, List<String> moves, String result, String reason,
+             double firstScore) {
+            this.round = round;
+            this.white = white;
+            this.black = black;
+            this.fen = fen;
+            this.moves = Collections.unmodifiableList(moves);
+            this.result = result;
+            this.reason = reason;
+            this.firstScore = firstScore;
+        }
+
+        // Número da partida no torneio (a partir de 1), usado como rodada no PGN
+        public int getRound() {
+            return round;
+        }
+
+        public String getWhite() {
+            return white;
+        }
+
+        public String getBlack() {
+            return black;
+        }
+
+        public String getFen() {
+            return fen;
+        }
+
+        public List<String> getMoves() {
+            return moves;
+        }
+
+        // "1-0", "0-1" ou "1/2-1/2"
+        public String getResult() {
+            return result;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        // 1 vitória, 0.5 empate, 0 derrota do primeiro jogador
+        public double getFirstScore() {
+            return firstScore;
+        }
+    }
+}
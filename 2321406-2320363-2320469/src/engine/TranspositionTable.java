@@ -0,0 +1,103 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição compartilhada entre threads sem travas.
+ * Cada entrada ocupa dois longs: os dados (lance, avaliação, profundidade e tipo de limite) e a chave
+ * da posição combinada com os dados por XOR. Uma leitura só é aceita se chave ^ dados conferir; assim,
+ * uma entrada escrita pela metade por outra thread (ou de outra posição) é simplesmente ignorada.
+ */
+public final class TranspositionTable {
+    // Tipo de limite da avaliação guardada (nunca 0, para que uma entrada válida nunca tenha dados 0)
+    public static final int EXACT = 1;   // avaliação exata
+    public static final int LOWER = 2;   // corte beta: a avaliação real é pelo menos esta
+    public static final int UPPER = 3;   // nenhum lance superou alfa: a avaliação real é no máximo esta
+
+    public static final int DEFAULT_MEGABYTES = 16;
+
+    // Dados: bits 0-18 lance, 19-34 avaliação (16 bits com sinal), 35-42 profundidade, 43-44 tipo de limite
+    private static final int SCORE_SHIFT = 19;
+    private static final int DEPTH_SHIFT = 35;
+    private static final int BOUND_SHIFT = 43;
+
+    private final long[] entries;  // pares [chave ^ dados, dados]
+    private final int mask;        // número de entradas - 1 (potência de 2)
+
+    public TranspositionTable() {
+        this(DEFAULT_MEGABYTES);
+    }
+
+    // Cria uma tabela com o maior número de entradas (potência de 2) que cabe em "megabytes"
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 4096) {
+            throw new IllegalArgumentException("Tamanho de tabela inválido: " + megabytes + " MB");
+        }
+        long count = Long.highestOneBit(megabytes * (1L << 20) / 16);
+        entries = new long[(int) Math.min(count, 1 << 29) * 2];
+        mask = entries.length / 2 - 1;
+    }
+
+    // Número de entradas da tabela
+    public int size() {
+        return mask + 1;
+    }
+
+    // Apaga todas as entradas (ex.: entre partidas ou medições)
+    public void clear() {
+        Arrays.fill(entries, 0L);
+    }
+
+    // Retorna os dados guardados para a posição, ou 0 se não houver entrada válida para ela
+    public long probe(long key) {
+        int index = ((int) key & mask) << 1;
+        long data = entries[index + 1];
+        return (entries[index] ^ data) == key ? data : 0L;
+    }
+
+    /**
+     * Guarda o resultado da busca de uma posição. A entrada de mesma chave só é substituída por uma busca
+     * pelo menos tão profunda (ou exata); entradas de outras posições são sempre substituídas.
+     * A avaliação deve vir já ajustada para a tabela (ver Search: mates são relativos à posição, não à raiz).
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = ((int) key & mask) << 1;
+        long old = entries[index + 1];
+        if ((entries[index] ^ old) == key && depth(old) > depth && bound != EXACT) {
+            return;
+        }
+        long data = (move & 0x7FFFFL)
+                  | ((score & 0xFFFFL) << SCORE_SHIFT)
+                  | ((long) Math.max(0, Math.min(depth, 255)) << DEPTH_SHIFT)
+                  | ((long) bound << BOUND_SHIFT);
+        entries[index] = key ^ data;
+        entries[index + 1] = data;
+    }
+
+    // Lance guardado nos dados (Move.NONE se não houver)
+    public static int move(long data) {
+        return (int) (data & 0x7FFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    // Fração por mil das primeiras entradas que estão ocupadas (estimativa de ocupação da tabela)
+    public int hashfull() {
+        int sample = Math.min(1000, size());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (entries[2 * i + 1] != 0L) used++;
+        }
+        return used * 1000 / sample;
+    }
+}
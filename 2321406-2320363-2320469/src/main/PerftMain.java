@@ -0,0 +1,57 @@
+package main;
+
+import engine.ParallelPerft;
+import engine.Perft;
+import model.Board;
+import model.ChessModel;
+
+import java.util.Arrays;
+
+// Ferramenta de linha de comando para perft, sem interface gráfica.
+// Uso: PerftMain <profundidade> [FEN]                      -> divide da posição (inicial se a FEN for omitida)
+//      PerftMain suite [profundidade] [threads]            -> suíte de posições padrão com totais esperados
+//      PerftMain parallel <profundidade> [threads] [FEN]   -> perft com fork/join e taxa de cada thread
+//      PerftMain scaling <profundidade> [threads] [FEN]    -> eficiência de 1 até o número de threads
+// Sem o número de threads, são usados todos os núcleos disponíveis.
+public class PerftMain {
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Uso: PerftMain <profundidade> [FEN] | PerftMain suite [profundidade] [threads]"
+                    + " | PerftMain parallel|scaling <profundidade> [threads] [FEN]");
+            System.exit(2);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        if (args[0].equals("suite")) {
+            int depth = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            boolean ok = Perft.runSuite(depth, threads, System.out);
+            System.exit(ok ? 0 : 1);
+        }
+
+        if (args[0].equals("parallel") || args[0].equals("scaling")) {
+            int depth = Integer.parseInt(args[1]);
+            int next = 2;
+            int threads = cores;
+            if (args.length > next && args[next].matches("\\d+")) {
+                threads = Integer.parseInt(args[next++]);
+            }
+            String fen = args.length > next ? String.join(" ", Arrays.copyOfRange(args, next, args.length))
+                    : ChessModel.START_FEN;
+            Board board = ChessModel.fromFEN(fen).getBoard();
+            if (args[0].equals("scaling")) {
+                ParallelPerft.measureScaling(board, depth, threads, System.out);
+            } else {
+                ParallelPerft perft = new ParallelPerft(threads);
+                perft.perft(board, depth).print(System.out);
+                perft.shutdown();
+            }
+            return;
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length))
+                : ChessModel.START_FEN;
+        new Perft(ChessModel.fromFEN(fen).getBoard()).divide(depth, System.out);
+    }
+}
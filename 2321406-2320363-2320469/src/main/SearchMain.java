@@ -0,0 +1,129 @@
+package main;
+
+import engine.EndgameBitbases;
+import engine.Evaluation;
+import engine.LazySmp;
+import engine.OpeningBook;
+import engine.Perft;
+import engine.PolyglotKey;
+import engine.Search;
+import engine.SearchResult;
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Ferramenta de linha de comando para a busca, sem interface gráfica.
+// Uso: SearchMain <milissegundos> [FEN]                    -> busca com limite de tempo (posição inicial se a FEN for omitida)
+//      SearchMain depth <profundidade> [FEN]               -> busca até a profundidade, sem limite de tempo
+//      SearchMain smp <milissegundos> [threads] [FEN]      -> busca Lazy SMP com limite de tempo
+//      SearchMain scaling <profundidade> [threads] [FEN]   -> tempo até a profundidade de 1 até o número de threads
+//      SearchMain eval [rodadas]                           -> avaliações por segundo nas posições da suíte de perft
+//      SearchMain ordering <profundidade> [FEN]            -> nós até a profundidade com e sem ordenação de lances
+//      SearchMain book <livro.bin> <random64.txt> [FEN]    -> lances do livro Polyglot na posição, com os pesos
+//      SearchMain bitbases <arquivo> [threads]             -> gera as bases de finais KPK e KRK e grava no arquivo
+// Sem o número de threads, são usados todos os núcleos disponíveis.
+// Imprime, para cada profundidade concluída, a avaliação, os nós, o tempo até ela, os nós por segundo e a variação.
+public class SearchMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: SearchMain <milissegundos> [FEN] | SearchMain depth <profundidade> [FEN]"
+                    + " | SearchMain smp <milissegundos> [threads] [FEN] | SearchMain scaling <profundidade> [threads] [FEN]"
+                    + " | SearchMain eval [rodadas] | SearchMain ordering <profundidade> [FEN]"
+                    + " | SearchMain book <livro.bin> <random64.txt> [FEN] | SearchMain bitbases <arquivo> [threads]");
+            System.exit(2);
+        }
+        if (args[0].equals("eval")) {
+            String[] fens = new String[Perft.SUITE.length];
+            for (int i = 0; i < fens.length; i++) {
+                fens[i] = Perft.SUITE[i][1];
+            }
+            Evaluation.benchmark(fens, args.length > 1 ? Integer.parseInt(args[1]) : 20000, System.out);
+            return;
+        }
+        if (args[0].equals("bitbases")) {
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            long start = System.nanoTime();
+            EndgameBitbases bitbases = EndgameBitbases.generate(threads);
+            System.out.printf("Bases KPK e KRK geradas com %d threads em %d ms%n", threads,
+                    (System.nanoTime() - start) / 1_000_000);
+            bitbases.write(Paths.get(args[1]));
+            return;
+        }
+        if (args[0].equals("book")) {
+            listBookMoves(args);
+            return;
+        }
+        String command = args[0].matches("\\d+") ? "time" : args[0];
+        int next = command.equals("time") ? 1 : 2;
+        long limit = Long.parseLong(args[next - 1]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        if ((command.equals("smp") || command.equals("scaling")) && args.length > next && args[next].matches("\\d+")) {
+            threads = Integer.parseInt(args[next++]);
+        }
+        String fen = args.length > next ? String.join(" ", Arrays.copyOfRange(args, next, args.length))
+                : ChessModel.START_FEN;
+
+        ChessModel model = ChessModel.fromFEN(fen);
+        Board board = model.getBoard();
+        SearchResult result;
+        if (command.equals("ordering")) {
+            compareOrdering(board, (int) limit);
+            return;
+        }
+        if (command.equals("scaling")) {
+            LazySmp.measureScaling(board, (int) limit, threads, 64, System.out);
+            return;
+        } else if (command.equals("smp")) {
+            LazySmp smp = new LazySmp(threads);
+            result = smp.search(board, Search.MAX_PLY, limit, 0, System.out);
+            smp.shutdown();
+            System.out.println("Threads: " + threads);
+        } else if (command.equals("depth")) {
+            result = new Search(board).search((int) limit, 0, 0, System.out);
+        } else {
+            result = new Search(board).search(Search.MAX_PLY, limit, 0, System.out);
+        }
+        result.print(System.out);
+    }
+
+    // Lista os lances do livro na posição e o tempo para abrir o livro e consultá-lo
+    private static void listBookMoves(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Uso: SearchMain book <livro.bin> <random64.txt> [FEN]");
+        }
+        String fen = args.length > 3 ? String.join(" ", Arrays.copyOfRange(args, 3, args.length))
+                : ChessModel.START_FEN;
+        ChessModel model = ChessModel.fromFEN(fen);
+        PolyglotKey keys = PolyglotKey.load(Paths.get(args[2]));
+        long start = System.nanoTime();
+        OpeningBook book = OpeningBook.open(Paths.get(args[1]), keys, 0);
+        long opened = System.nanoTime();
+        int[] weights = new int[MoveGenerator.MAX_MOVES];
+        int[] moves = book.getMoves(model.getBoard(), weights);
+        long probed = System.nanoTime();
+        System.out.printf("Entradas: %d, abertura: %.2f ms, consulta: %.3f ms%n",
+                book.size(), (opened - start) / 1e6, (probed - opened) / 1e6);
+        if (moves.length == 0) {
+            System.out.println("Posição fora do livro");
+        }
+        for (int i = 0; i < moves.length; i++) {
+            System.out.println(Move.toUci(moves[i]) + " " + weights[i]);
+        }
+    }
+
+    // Busca até a profundidade sem e com a ordenação de lances, mostrando os nós e o fator de ramificação de cada uma
+    private static void compareOrdering(Board board, int depth) {
+        for (boolean ordered : new boolean[] {false, true}) {
+            System.out.println(ordered ? "Com ordenação:" : "Sem ordenação:");
+            Search search = new Search(new Board(board));
+            search.setMoveOrdering(ordered);
+            search.search(depth, 0, 0, System.out).print(System.out);
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package main;
+
+import engine.EndgameBitbases;
+import engine.Sprt;
+import engine.Tournament;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Torneio entre duas configurações do motor, sem interface gráfica (ver Tournament).
+// Uso: TournamentMain <aberturas.fen> <partidas.pgn> <ms por lance> <jogador1> <jogador2> [rodadas] [threads]
+// Aberturas: uma FEN por linha. Jogador: nome[:opção=valor,...] com time, hash, ordering e bitbases
+// (ex.: "base" e "semOrdem:ordering=off"). Sem o número de threads, são usados todos os núcleos disponíveis.
+// As bases de finais são lidas de endgame.bitbases (ou geradas e gravadas nele) e adjudicam as partidas.
+// Imprime uma linha por partida com o placar do jogador1, Elo, SPRT (elo0 0, elo1 10, alpha e beta 0.05)
+// e partidas por hora.
+public class TournamentMain {
+    private static final String BITBASES_FILE = "endgame.bitbases";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 5) {
+            System.out.println("Uso: TournamentMain <aberturas.fen> <partidas.pgn> <ms por lance> <jogador1> <jogador2>"
+                    + " [rodadas] [threads]");
+            System.exit(2);
+        }
+        long timeMillis = Long.parseLong(args[2]);
+        int rounds = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        Tournament tournament = new Tournament(Tournament.Player.parse(args[3], timeMillis),
+                Tournament.Player.parse(args[4], timeMillis), Tournament.loadOpenings(Paths.get(args[0])),
+                rounds, threads);
+        tournament.setBitbases(EndgameBitbases.loadOrGenerate(Paths.get(BITBASES_FILE)));
+        tournament.setPgnFile(Paths.get(args[1]));
+        System.out.printf("%d partidas, %d ms por lance, %d threads%n", tournament.getGameCount(), timeMillis,
+                threads);
+        Sprt result = tournament.run(System.out);
+        System.out.println("Resultado de " + args[3] + ": " + result.summary());
+    }
+}
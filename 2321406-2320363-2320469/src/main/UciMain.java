@@ -0,0 +1,18 @@
+package main;
+
+import controller.UciController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+// Motor de xadrez pelo protocolo UCI, sem interface gráfica: lê os comandos da entrada padrão e responde
+// na saída padrão, para ser usado por interfaces de xadrez e gerenciadores de torneios.
+// Uso: UciMain
+public class UciMain {
+    public static void main(String[] args) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        new UciController(in, System.out).run();
+    }
+}
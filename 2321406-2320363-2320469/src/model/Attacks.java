@@ -0,0 +1,207 @@
+package model;
+
+// Tabelas de ataque pré-calculadas para peão, cavalo e rei, e ataques das peças deslizantes
+// (torre, bispo e rainha) por "magic bitboards": as casas ocupadas relevantes para a peça são
+// multiplicadas por um número mágico, e os bits altos do produto indexam uma tabela com o conjunto
+// de ataques já pronto. Todas as tabelas são montadas na inicialização da classe.
+final class Attacks {
+
+    // Direções dos raios, em deslocamento de índice de casa.
+    // As quatro primeiras aumentam o índice (o bloqueador mais próximo é o bit menos significativo),
+    // as quatro últimas diminuem o índice (o bloqueador mais próximo é o bit mais significativo).
+    private static final int EAST = 0, SOUTH = 1, SOUTH_EAST = 2, SOUTH_WEST = 3;
+    private static final int WEST = 4, NORTH = 5, NORTH_WEST = 6, NORTH_EAST = 7;
+    private static final int[][] RAY_STEPS = {
+        {0, 1}, {1, 0}, {1, 1}, {1, -1}, {0, -1}, {-1, 0}, {-1, -1}, {-1, 1}
+    };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64]; // [Board.WHITE ou Board.BLACK][casa]
+    private static final long[][] RAYS = new long[8][64];
+
+    // Números mágicos por casa, encontrados por busca aleatória para a numeração de casas de Bitboards
+    // (linha 0 = oitava fileira). Cada um leva as ocupações relevantes da casa a índices sem colisões.
+    private static final long[] ROOK_MAGICS = {
+        0x1180081040008020L, 0x014000D000200048L, 0x0280100020008008L, 0x0080100080080005L,
+        0x0480020400080080L, 0x0A00020081080410L, 0x2600040200084081L, 0x020004012180410EL,
+        0x0000800080400020L, 0x0001002040010090L, 0x801A004200108024L, 0x0822800802801000L,
+        0x0002800800810400L, 0x1000800400020080L, 0x0109000401002200L, 0x1981000100004082L,
+        0x8040018000402080L, 0xA00E020041082380L, 0x40A0048010008020L, 0x0210010008210010L,
+        0x8088818004001802L, 0x2A24008080020004L, 0x0000040001100802L, 0x1000020008411084L,
+        0x4000400180087080L, 0x2540004540201002L, 0x0808408200120021L, 0x0000100080080085L,
+        0x0008010100080410L, 0x0023040080800200L, 0x0C01004100440200L, 0x2800004200210084L,
+        0x3004204014800081L, 0x001001400140200AL, 0x8210200101001040L, 0x4424490025001000L,
+        0x0008000400800880L, 0x2C00800200800400L, 0x8090081004000102L, 0x00080C02820020C5L,
+        0x0000800040008020L, 0x8080820021020040L, 0x0020802200120040L, 0x0202002008420010L,
+        0x0004008040080800L, 0x0000020004008080L, 0x1200504102040048L, 0x4C01000040810002L,
+        0x0580002000400040L, 0x2015802000400C80L, 0x8080461082022200L, 0x0002201005000900L,
+        0xC900080100900500L, 0x0002002400807280L, 0x0004021008410400L, 0x0810010080540200L,
+        0x2000208000110041L, 0x300B024002B0A081L, 0x0000090020004293L, 0x0008200408100101L,
+        0x0122000420081002L, 0x0011000400080201L, 0x018008A110120804L, 0x0900040221124082L
+    };
+    private static final long[] BISHOP_MAGICS = {
+        0x2002102208004480L, 0x0808012124010C01L, 0x0008025042010045L, 0x2202208601038101L,
+        0x4044050405040100L, 0x0102080208020100L, 0x0006210920100020L, 0x0100808048024000L,
+        0x00800A2084040040L, 0x000AA00101410104L, 0x1108082E240CA100L, 0x0010082080202244L,
+        0x1002084840020000L, 0x000842180404001AL, 0x4043008210022000L, 0x100003040A014468L,
+        0x000500084858082CL, 0x0028040310041080L, 0x8008000400240014L, 0x2094002241020001L,
+        0x0182001012100000L, 0x4002030908010C00L, 0x1129180041082024L, 0x000284204410A820L,
+        0x483044814A200421L, 0x00082000081A2484L, 0x800E0442020C0400L, 0x0008080004220060L,
+        0x2801001001004002L, 0x4401010002100080L, 0x03050120C6441000L, 0x01010100014404A1L,
+        0x8101500810D02004L, 0x2002082003048100L, 0x0402010A41040801L, 0x0022020080180080L,
+        0x00440C0400001100L, 0x0000851302060088L, 0x010810C100308800L, 0x0001240020108210L,
+        0x00AC412050020808L, 0xA000820120041100L, 0x0811094402171000L, 0x0010054022089021L,
+        0x6011240810140201L, 0x0010041004101020L, 0x0020084102468500L, 0x00011C0082000090L,
+        0x1254881490040300L, 0x8084804402600C20L, 0x6002010090904000L, 0x0000021084044040L,
+        0x004000445044020AL, 0x0401100250010028L, 0x0020204411006020L, 0x0862447802104005L,
+        0x628282480090080AL, 0x1000008400880400L, 0x0010000D04210440L, 0x0004300480460800L,
+        0x0884430010021210L, 0x1040006072900240L, 0x0000210204080C80L, 0x0108014102020A00L
+    };
+
+    // Máscara das casas que podem bloquear a peça (sem as bordas), deslocamento do produto
+    // e início da parte de cada casa nas tabelas de ataques
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] ROOK_TABLE;
+    private static final long[] BISHOP_TABLE;
+
+    static {
+        int[][] knightSteps = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+        for (int square = 0; square < 64; square++) {
+            int row = Bitboards.rowOf(square);
+            int col = Bitboards.colOf(square);
+
+            for (int[] step : knightSteps) {
+                KNIGHT[square] |= maskOf(row + step[0], col + step[1]);
+            }
+            // Peão branco ataca em direção à linha 0, peão preto em direção à linha 7
+            PAWN[Board.WHITE][square] = maskOf(row - 1, col - 1) | maskOf(row - 1, col + 1);
+            PAWN[Board.BLACK][square] = maskOf(row + 1, col - 1) | maskOf(row + 1, col + 1);
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    if (dr != 0 || dc != 0) KING[square] |= maskOf(row + dr, col + dc);
+                }
+            }
+            for (int dir = 0; dir < 8; dir++) {
+                int r = row + RAY_STEPS[dir][0];
+                int c = col + RAY_STEPS[dir][1];
+                while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                    RAYS[dir][square] |= Bitboards.bit(Bitboards.square(r, c));
+                    r += RAY_STEPS[dir][0];
+                    c += RAY_STEPS[dir][1];
+                }
+            }
+        }
+
+        long edgeFiles = Bitboards.FILE_A | Bitboards.FILE_H;
+        long edgeRows = Bitboards.rowMask(0) | Bitboards.rowMask(7);
+        int rookSize = 0, bishopSize = 0;
+        for (int square = 0; square < 64; square++) {
+            ROOK_MASKS[square] = ((RAYS[EAST][square] | RAYS[WEST][square]) & ~edgeFiles)
+                               | ((RAYS[NORTH][square] | RAYS[SOUTH][square]) & ~edgeRows);
+            BISHOP_MASKS[square] = (RAYS[SOUTH_EAST][square] | RAYS[SOUTH_WEST][square]
+                                  | RAYS[NORTH_WEST][square] | RAYS[NORTH_EAST][square]) & ~(edgeFiles | edgeRows);
+            ROOK_SHIFTS[square] = 64 - Long.bitCount(ROOK_MASKS[square]);
+            BISHOP_SHIFTS[square] = 64 - Long.bitCount(BISHOP_MASKS[square]);
+            ROOK_OFFSETS[square] = rookSize;
+            BISHOP_OFFSETS[square] = bishopSize;
+            rookSize += 1 << Long.bitCount(ROOK_MASKS[square]);
+            bishopSize += 1 << Long.bitCount(BISHOP_MASKS[square]);
+        }
+        ROOK_TABLE = new long[rookSize];
+        BISHOP_TABLE = new long[bishopSize];
+        for (int square = 0; square < 64; square++) {
+            // Percorre todos os subconjuntos da máscara (truque de Carry-Rippler) calculando os ataques pelos raios
+            long subset = 0;
+            do {
+                ROOK_TABLE[rookIndex(square, subset)] = slideRook(square, subset);
+                subset = (subset - ROOK_MASKS[square]) & ROOK_MASKS[square];
+            } while (subset != 0);
+            do {
+                BISHOP_TABLE[bishopIndex(square, subset)] = slideBishop(square, subset);
+                subset = (subset - BISHOP_MASKS[square]) & BISHOP_MASKS[square];
+            } while (subset != 0);
+        }
+    }
+
+    private Attacks() {
+    }
+
+    // Bitboard da casa (linha, coluna), ou 0 se estiver fora do tabuleiro
+    private static long maskOf(int row, int col) {
+        if (row < 0 || row >= 8 || col < 0 || col >= 8) return 0L;
+        return Bitboards.bit(Bitboards.square(row, col));
+    }
+
+    // Casas atacadas por um cavalo na casa indicada
+    static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    // Casas atacadas por um peão da cor indicada na casa indicada
+    static long pawn(boolean white, int square) {
+        return PAWN[white ? Board.WHITE : Board.BLACK][square];
+    }
+
+    // Casas atacadas por um rei na casa indicada
+    static long king(int square) {
+        return KING[square];
+    }
+
+    // Casas atacadas por uma torre, parando na primeira peça de cada linha (inclusive)
+    static long rook(int square, long occupied) {
+        return ROOK_TABLE[rookIndex(square, occupied)];
+    }
+
+    // Casas atacadas por um bispo, parando na primeira peça de cada diagonal (inclusive)
+    static long bishop(int square, long occupied) {
+        return BISHOP_TABLE[bishopIndex(square, occupied)];
+    }
+
+    // Casas atacadas por uma rainha (torre + bispo)
+    static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    private static int rookIndex(int square, long occupied) {
+        return ROOK_OFFSETS[square] + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+    }
+
+    private static int bishopIndex(int square, long occupied) {
+        return BISHOP_OFFSETS[square] + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+    }
+
+    // Ataques calculados raio a raio, usados apenas para preencher as tabelas
+    private static long slideRook(int square, long occupied) {
+        return positiveRay(EAST, square, occupied) | positiveRay(SOUTH, square, occupied)
+             | negativeRay(WEST, square, occupied) | negativeRay(NORTH, square, occupied);
+    }
+
+    private static long slideBishop(int square, long occupied) {
+        return positiveRay(SOUTH_EAST, square, occupied) | positiveRay(SOUTH_WEST, square, occupied)
+             | negativeRay(NORTH_WEST, square, occupied) | negativeRay(NORTH_EAST, square, occupied);
+    }
+
+    private static long positiveRay(int dir, int square, long occupied) {
+        long ray = RAYS[dir][square];
+        long blockers = ray & occupied;
+        if (blockers != 0) {
+            ray ^= RAYS[dir][Long.numberOfTrailingZeros(blockers)];
+        }
+        return ray;
+    }
+
+    private static long negativeRay(int dir, int square, long occupied) {
+        long ray = RAYS[dir][square];
+        long blockers = ray & occupied;
+        if (blockers != 0) {
+            ray ^= RAYS[dir][63 - Long.numberOfLeadingZeros(blockers)];
+        }
+        return ray;
+    }
+}
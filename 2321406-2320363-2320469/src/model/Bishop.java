@@ -2,8 +2,11 @@ package model;
 
 class Bishop extends Piece {
 
-    // Constrói um bispo branco ou preto
-    public Bishop(boolean isWhite) {
+    public static final Bishop WHITE = new Bishop(true);   // o bispo branco
+    public static final Bishop BLACK = new Bishop(false);  // o bispo preto
+
+    // Constrói um bispo branco ou preto (só para as duas instâncias acima)
+    private Bishop(boolean isWhite) {
         super(isWhite);
     }
 
@@ -11,29 +14,20 @@ class Bishop extends Piece {
     // Retorna: true se o movimento do bispo for válido (diagonal, caminho livre, e sem capturar peça aliada)
     @Override
     public boolean isValidMove(Position from, Position to, Board board) {
-        int dx = Math.abs(from.row - to.row);
-        int dy = Math.abs(from.col - to.col);
-
-        // Movimento deve ser na diagonal
-        if (dx != dy) return false;
-
-        int rowStep = (to.row > from.row) ? 1 : -1;
-        int colStep = (to.col > from.col) ? 1 : -1;
-
-        int currentRow = from.row + rowStep;
-        int currentCol = from.col + colStep;
+        int fromSquare = Bitboards.square(from.row, from.col);
+        long target = Bitboards.bit(Bitboards.square(to.row, to.col));
 
-        // Verifica se há peças no caminho
-        while (currentRow != to.row) {
-            if (!board.isEmpty(currentRow, currentCol)) {
-                return false;
-            }
-            currentRow += rowStep;
-            currentCol += colStep;
+        // O destino deve estar na mesma diagonal, sem peças no caminho (consulta à tabela de ataques)
+        if ((Attacks.bishop(fromSquare, board.getOccupied()) & target) == 0) {
+            return false;
         }
 
-        // Permite o movimento se o destino estiver vazio ou ocupado por peça adversária
-        Piece destinationPiece = board.getPiece(to.row, to.col);
-        return destinationPiece == null || destinationPiece.isWhite() != this.isWhite;
+        // Verifica se o destino está vazio ou contém peça adversária
+        return (board.getOccupancy(isWhite) & target) == 0;
+    }
+
+    @Override
+    public int getType() {
+        return Board.BISHOP;
     }
 }
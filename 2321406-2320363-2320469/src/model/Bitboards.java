@@ -0,0 +1,85 @@
+package model;
+
+// Utilitários de bitboard: cada casa do tabuleiro corresponde a um bit de um long.
+// A casa (linha, coluna) usa o bit de índice linha * 8 + coluna, ou seja, a8 = 0 e h1 = 63.
+final class Bitboards {
+
+    static final long FILE_A = 0x0101010101010101L;  // coluna a
+    static final long FILE_H = FILE_A << 7;          // coluna h
+
+    // BETWEEN[a][b]: casas estritamente entre a e b quando estão na mesma linha, coluna ou diagonal (0 caso contrário)
+    private static final long[][] BETWEEN = new long[64][64];
+    // LINE[a][b]: linha, coluna ou diagonal inteira que passa por a e b, incluindo as duas casas (0 se não alinhadas)
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+        for (int from = 0; from < 64; from++) {
+            for (int[] d : directions) {
+                long path = 0L;
+                long line = bit(from) | ray(from, d[0], d[1]) | ray(from, -d[0], -d[1]);
+                int row = rowOf(from) + d[0];
+                int col = colOf(from) + d[1];
+                while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                    int to = square(row, col);
+                    BETWEEN[from][to] = path;
+                    LINE[from][to] = line;
+                    path |= bit(to);
+                    row += d[0];
+                    col += d[1];
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    // Casas a partir de "from" (exclusive) seguindo a direção até a borda
+    private static long ray(int from, int dRow, int dCol) {
+        long ray = 0L;
+        int row = rowOf(from) + dRow;
+        int col = colOf(from) + dCol;
+        while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+            ray |= bit(square(row, col));
+            row += dRow;
+            col += dCol;
+        }
+        return ray;
+    }
+
+    // Converte linha e coluna no índice da casa (0 a 63)
+    static int square(int row, int col) {
+        return row * 8 + col;
+    }
+
+    // Linha de uma casa (0 = oitava fileira)
+    static int rowOf(int square) {
+        return square >>> 3;
+    }
+
+    // Coluna de uma casa (0 = coluna a)
+    static int colOf(int square) {
+        return square & 7;
+    }
+
+    // Retorna o bitboard com apenas a casa indicada
+    static long bit(int square) {
+        return 1L << square;
+    }
+
+    // Retorna o bitboard de uma linha inteira (0 = oitava fileira)
+    static long rowMask(int row) {
+        return 0xFFL << (row * 8);
+    }
+
+    // Retorna as casas estritamente entre a e b (0 se não estiverem alinhadas)
+    static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    // Retorna a linha inteira que passa por a e b (0 se não estiverem alinhadas)
+    static long line(int a, int b) {
+        return LINE[a][b];
+    }
+}
@@ -1,59 +1,207 @@
 package model;
 
-// Representa o tabuleiro de xadrez, composto por uma matriz 8x8 de peças.
-class Board {
-    private Piece[][] board;
+import java.util.Arrays;
+
+// Representa o tabuleiro de xadrez em bitboards: um long por tipo e cor de peça, mais as máscaras de ocupação.
+// Um vetor de 64 casas guarda a peça de cada casa para que getPiece continue respondendo em tempo constante.
+public class Board {
+    // Tipos de peça, usados como índice dos bitboards
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    // Cores, usadas como índice das máscaras de ocupação
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    // Direitos de roque, combinados em bits (ver getCastlingRights)
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+    public static final int ALL_CASTLING = 15;
+
+    // Direitos que continuam válidos quando um lance sai de ou chega a cada casa:
+    // mover o rei perde os dois roques da cor, mover ou capturar uma torre no canto perde o daquele lado
+    private static final int[] CASTLING_MASKS = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASKS, ALL_CASTLING);
+        CASTLING_MASKS[Bitboards.square(7, 4)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASKS[Bitboards.square(7, 7)] &= ~WHITE_KINGSIDE;
+        CASTLING_MASKS[Bitboards.square(7, 0)] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASKS[Bitboards.square(0, 4)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASKS[Bitboards.square(0, 7)] &= ~BLACK_KINGSIDE;
+        CASTLING_MASKS[Bitboards.square(0, 0)] &= ~BLACK_QUEENSIDE;
+    }
+
+    // Assinatura de material: 5 bits de contagem por índice de peça (cor * 6 + tipo), todos num único long
+    private static final int MATERIAL_BITS = 5;
+    // Campos de peões, torres e rainhas das duas cores: com qualquer um deles ainda há material para mate
+    private static final long MATING_MATERIAL = materialFieldMask(PAWN) | materialFieldMask(ROOK) | materialFieldMask(QUEEN);
+    private static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;  // casas brancas (a8 e h1 são casas brancas)
+
+    private final long[] pieces = new long[12];  // um bitboard por peça (cor * 6 + tipo)
+    private final long[] colors = new long[2];   // casas ocupadas por cada cor
+    private long occupied;                       // casas ocupadas por qualquer peça
+    private final Piece[] squares = new Piece[64];
+    private final int[] kingSquares = {-1, -1};  // casa do rei de cada cor (-1 se não houver), mantida em put/remove
+    private int enPassantSquare = -1;            // casa alvo de en passant (-1 se não houver)
+    private boolean whiteToMove = true;          // vez das brancas
+    private int halfmoveClock = 0;               // meio-lances desde a última captura ou lance de peão
+    private int fullMoveNumber = 1;              // número completo do lance
+    private long key;                            // chave de Zobrist das peças e da vez, mantida em put/remove
+    private int castlingRights = ALL_CASTLING;   // direitos de roque ainda não perdidos (ver getCastlingRights)
+    private long material;                       // contagem de peças por cor e tipo, mantida em put/remove (ver getMaterialKey)
+    private long pawnKey;                        // chave de Zobrist só dos peões, mantida em put/remove
+    private int pieceSquare;                     // material + peça-casa de meio-jogo e final, empacotados (brancas - pretas)
+
+    // Pilha de desfazer: um registro por lance feito com makeMove, em vetores pré-alocados
+    private static final int INITIAL_UNDO_CAPACITY = 64;
+    private int undoSize = 0;
+    private int[] undoMove = new int[INITIAL_UNDO_CAPACITY];
+    private Piece[] undoMoved = new Piece[INITIAL_UNDO_CAPACITY];     // peça que se moveu (o peão, na promoção)
+    private Piece[] undoCaptured = new Piece[INITIAL_UNDO_CAPACITY];  // peça capturada, ou null
+    private int[] undoCastling = new int[INITIAL_UNDO_CAPACITY];      // direitos de roque antes do lance
+    private int[] undoEnPassant = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoHalfmove = new int[INITIAL_UNDO_CAPACITY];
+    private long[] undoKey = new long[INITIAL_UNDO_CAPACITY];         // chave da posição antes do lance (histórico de repetição)
 
     // Construtor. Se o parâmetro "empty" for falso, inicializa o tabuleiro com a posição padrão.
     public Board(boolean empty) {
-        board = new Piece[8][8];
         if (!empty) {
             setupInitialPosition();
         }
     }
 
+    // Construtor de cópia: cria um tabuleiro independente com a mesma posição (peças, vez, roque, en passant
+    // e contadores). As peças não têm estado, então basta copiar os vetores. Da pilha de desfazer são copiados
+    // só os registros desde o último lance irreversível (halfmoveClock), que bastam para repetitionCount:
+    // uma busca sobre a cópia enxerga as repetições com as posições anteriores da partida.
+    public Board(Board other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(other.colors, 0, colors, 0, colors.length);
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        System.arraycopy(other.kingSquares, 0, kingSquares, 0, kingSquares.length);
+        occupied = other.occupied;
+        key = other.key;
+        material = other.material;
+        pawnKey = other.pawnKey;
+        pieceSquare = other.pieceSquare;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        whiteToMove = other.whiteToMove;
+        halfmoveClock = other.halfmoveClock;
+        fullMoveNumber = other.fullMoveNumber;
+
+        int kept = Math.min(other.halfmoveClock, other.undoSize);
+        while (undoMove.length < kept) {
+            growUndoStack();
+        }
+        int first = other.undoSize - kept;
+        System.arraycopy(other.undoMove, first, undoMove, 0, kept);
+        System.arraycopy(other.undoMoved, first, undoMoved, 0, kept);
+        System.arraycopy(other.undoCaptured, first, undoCaptured, 0, kept);
+        System.arraycopy(other.undoCastling, first, undoCastling, 0, kept);
+        System.arraycopy(other.undoEnPassant, first, undoEnPassant, 0, kept);
+        System.arraycopy(other.undoHalfmove, first, undoHalfmove, 0, kept);
+        System.arraycopy(other.undoKey, first, undoKey, 0, kept);
+        undoSize = kept;
+    }
+
+    // Retorna uma cópia imutável do estado completo da posição (peças, vez, roque, en passant e contadores),
+    // que outras threads podem ler enquanto este tabuleiro continua sendo alterado.
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(pieces.clone(), whiteToMove, getCastlingRights(), enPassantSquare,
+                                 halfmoveClock, fullMoveNumber, getKey());
+    }
+
+    // Reconstrói um tabuleiro independente, pronto para fazer e desfazer lances, a partir de uma cópia imutável.
+    // Os bitboards são copiados direto; o vetor de casas e as somas da avaliação são preenchidos peça a peça.
+    public static Board fromSnapshot(BoardSnapshot snapshot) {
+        Board board = new Board(true);
+        for (int index = 0; index < 12; index++) {
+            long bits = snapshot.getPieces(index);
+            board.pieces[index] = bits;
+            board.colors[index / 6] |= bits;
+            board.material += Long.bitCount(bits) * (1L << (index * MATERIAL_BITS));
+            Piece piece = Piece.of(index % 6, index < 6);
+            while (bits != 0) {
+                int square = Long.numberOfTrailingZeros(bits);
+                board.squares[square] = piece;
+                board.addEvaluationTerms(index, square);
+                bits &= bits - 1;
+            }
+        }
+        board.occupied = board.colors[WHITE] | board.colors[BLACK];
+        for (int color = WHITE; color <= BLACK; color++) {
+            long king = board.pieces[color * 6 + KING];
+            board.kingSquares[color] = king != 0 ? Long.numberOfTrailingZeros(king) : -1;
+        }
+        board.whiteToMove = snapshot.isWhiteToMove();
+        board.castlingRights = snapshot.getCastlingRights();
+        board.enPassantSquare = snapshot.getEnPassantSquare();
+        board.halfmoveClock = snapshot.getHalfmoveClock();
+        board.fullMoveNumber = snapshot.getFullMoveNumber();
+        // Com a parte incremental zerada, getKey devolve só a parte de roque e en passant;
+        // o que falta para chegar à chave da cópia é exatamente a parte das peças e da vez.
+        board.key = 0L;
+        board.key = snapshot.getKey() ^ board.getKey();
+        return board;
+    }
+
     // Preenche o tabuleiro com a configuração inicial padrão do xadrez.
     private void setupInitialPosition() {
         // Peões
         for (int i = 0; i < 8; i++) {
-            board[1][i] = new Pawn(false); // pretos
-            board[6][i] = new Pawn(true);  // brancos
+            setPiece(1, i, Pawn.BLACK); // pretos
+            setPiece(6, i, Pawn.WHITE);  // brancos
         }
 
         // Torres
-        board[0][0] = new Rook(false);
-        board[0][7] = new Rook(false);
-        board[7][0] = new Rook(true);
-        board[7][7] = new Rook(true);
+        setPiece(0, 0, Rook.BLACK);
+        setPiece(0, 7, Rook.BLACK);
+        setPiece(7, 0, Rook.WHITE);
+        setPiece(7, 7, Rook.WHITE);
 
         // Cavalos
-        board[0][1] = new Knight(false);
-        board[0][6] = new Knight(false);
-        board[7][1] = new Knight(true);
-        board[7][6] = new Knight(true);
+        setPiece(0, 1, Knight.BLACK);
+        setPiece(0, 6, Knight.BLACK);
+        setPiece(7, 1, Knight.WHITE);
+        setPiece(7, 6, Knight.WHITE);
 
         // Bispos
-        board[0][2] = new Bishop(false);
-        board[0][5] = new Bishop(false);
-        board[7][2] = new Bishop(true);
-        board[7][5] = new Bishop(true);
+        setPiece(0, 2, Bishop.BLACK);
+        setPiece(0, 5, Bishop.BLACK);
+        setPiece(7, 2, Bishop.WHITE);
+        setPiece(7, 5, Bishop.WHITE);
 
         // Rainhas
-        board[0][3] = new Queen(false);
-        board[7][3] = new Queen(true);
+        setPiece(0, 3, Queen.BLACK);
+        setPiece(7, 3, Queen.WHITE);
 
         // Reis
-        board[0][4] = new King(false);
-        board[7][4] = new King(true);
+        setPiece(0, 4, King.BLACK);
+        setPiece(7, 4, King.WHITE);
     }
 
     // Remove todas as peças do tabuleiro, deixando todas as casas vazias.
     public void clear() {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                board[row][col] = null;
-            }
-        }
+        Arrays.fill(squares, null);
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(colors, 0L);
+        occupied = 0L;
+        material = 0L;
+        pawnKey = 0L;
+        pieceSquare = 0;
+        kingSquares[WHITE] = -1;
+        kingSquares[BLACK] = -1;
+        undoSize = 0;
+        castlingRights = ALL_CASTLING;
+        key = whiteToMove ? 0L : Zobrist.BLACK_TO_MOVE;
     }
 
     // Retorna a peça presente na posição indicada (linha e coluna), ou null se fora dos limites.
@@ -61,23 +209,41 @@ class Board {
         if (row < 0 || row >= 8 || col < 0 || col >= 8) {
             return null;
         }
-        return board[row][col];
+        return squares[Bitboards.square(row, col)];
+    }
+
+    // Retorna a peça presente na casa indicada (0 a 63), ou null se estiver vazia.
+    public Piece pieceAt(int square) {
+        return squares[square];
+    }
+
+    // Retorna o tipo da peça na casa indicada (PAWN a KING), ou -1 se estiver vazia.
+    public int getPieceType(int square) {
+        Piece piece = squares[square];
+        return piece == null ? -1 : piece.getType();
     }
 
     // Move uma peça da posição "from" para a posição "to".
     // A posição de origem fica vazia após o movimento.
-    // Além de marca que a peça se moveu
+    // Mover o rei ou uma torre da casa inicial (ou capturar nela) perde o direito de roque correspondente.
     public void movePiece(Position from, Position to) {
-        Piece piece = board[from.row][from.col];
-        piece.setHasMoved(true); // marca o movimento
-        board[to.row][to.col] = piece;
-        board[from.row][from.col] = null;
+        int fromSquare = Bitboards.square(from.row, from.col);
+        int toSquare = Bitboards.square(to.row, to.col);
+        Piece piece = squares[fromSquare];
+        castlingRights &= CASTLING_MASKS[fromSquare] & CASTLING_MASKS[toSquare];
+        remove(toSquare);
+        remove(fromSquare);
+        put(toSquare, piece);
     }
 
     // Coloca uma peça na posição indicada (linha e coluna).
     // Substitui qualquer peça anterior naquela casa.
     public void setPiece(int row, int col, Piece piece) {
-        board[row][col] = piece;
+        int square = Bitboards.square(row, col);
+        remove(square);
+        if (piece != null) {
+            put(square, piece);
+        }
     }
 
     // Retorna true se a casa na posição indicada estiver vazia (e for válida).
@@ -85,6 +251,393 @@ class Board {
         if (row < 0 || row >= 8 || col < 0 || col >= 8) {
             return false;
         }
-        return board[row][col] == null;
+        return (occupied & Bitboards.bit(Bitboards.square(row, col))) == 0;
+    }
+
+    // Retorna o bitboard das peças de um tipo e cor (ex.: todos os cavalos brancos).
+    public long getPieces(boolean white, int type) {
+        return pieces[(white ? WHITE : BLACK) * 6 + type];
+    }
+
+    // Retorna o bitboard das casas ocupadas pela cor indicada.
+    public long getOccupancy(boolean white) {
+        return colors[white ? WHITE : BLACK];
+    }
+
+    // Retorna o bitboard de todas as casas ocupadas.
+    public long getOccupied() {
+        return occupied;
+    }
+
+    // Retorna a casa do rei da cor indicada (0 a 63), ou -1 se não houver rei no tabuleiro.
+    public int getKingSquare(boolean white) {
+        return kingSquares[white ? WHITE : BLACK];
+    }
+
+    // Retorna o bitboard das peças de ambas as cores que atacam a casa, considerando a ocupação informada.
+    // A ocupação é um parâmetro para permitir consultas com peças removidas (ex.: raios através do rei).
+    public long attackersTo(int square, long occupancy) {
+        long bishops = pieces[WHITE * 6 + BISHOP] | pieces[BLACK * 6 + BISHOP]
+                     | pieces[WHITE * 6 + QUEEN] | pieces[BLACK * 6 + QUEEN];
+        long rooks = pieces[WHITE * 6 + ROOK] | pieces[BLACK * 6 + ROOK]
+                   | pieces[WHITE * 6 + QUEEN] | pieces[BLACK * 6 + QUEEN];
+        return (Attacks.pawn(false, square) & pieces[WHITE * 6 + PAWN])
+             | (Attacks.pawn(true, square) & pieces[BLACK * 6 + PAWN])
+             | (Attacks.knight(square) & (pieces[WHITE * 6 + KNIGHT] | pieces[BLACK * 6 + KNIGHT]))
+             | (Attacks.king(square) & (pieces[WHITE * 6 + KING] | pieces[BLACK * 6 + KING]))
+             | (Attacks.bishop(square, occupancy) & bishops)
+             | (Attacks.rook(square, occupancy) & rooks);
+    }
+
+    // Retorna true se a casa é atacada por alguma peça da cor indicada.
+    // Parte da própria casa: tabelas de peão, cavalo e rei e raios das peças deslizantes.
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        int base = (byWhite ? WHITE : BLACK) * 6;
+        if ((Attacks.pawn(!byWhite, square) & pieces[base + PAWN]) != 0) return true;
+        if ((Attacks.knight(square) & pieces[base + KNIGHT]) != 0) return true;
+        if ((Attacks.king(square) & pieces[base + KING]) != 0) return true;
+        long bishops = pieces[base + BISHOP] | pieces[base + QUEEN];
+        if (bishops != 0 && (Attacks.bishop(square, occupied) & bishops) != 0) return true;
+        long rooks = pieces[base + ROOK] | pieces[base + QUEEN];
+        return rooks != 0 && (Attacks.rook(square, occupied) & rooks) != 0;
+    }
+
+    // Retorna a casa alvo de en passant (0 a 63), ou -1 se não houver.
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    // Define a casa alvo de en passant (-1 para nenhuma).
+    public void setEnPassantSquare(int square) {
+        this.enPassantSquare = square;
+    }
+
+    // Retorna true se for a vez das brancas.
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    // Define de quem é a vez.
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove) {
+            key ^= Zobrist.BLACK_TO_MOVE;
+        }
+        this.whiteToMove = whiteToMove;
+    }
+
+    // Retorna o número de meio-lances desde a última captura ou lance de peão.
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    // Retorna o número completo do lance (incrementado após cada lance das pretas).
+    public int getFullMoveNumber() {
+        return fullMoveNumber;
+    }
+
+    public void setFullMoveNumber(int fullMoveNumber) {
+        this.fullMoveNumber = fullMoveNumber;
+    }
+
+    // Retorna os direitos de roque (combinação de WHITE_KINGSIDE, ..., BLACK_QUEENSIDE).
+    // Um direito vale enquanto não foi perdido por um lance e o rei e a torre estão nas casas iniciais,
+    // o que permite montar posições com setPiece sem precisar informar os direitos.
+    public int getCastlingRights() {
+        int rights = castlingRights;
+        if (rights == 0) return 0;
+        if (!isAt(Bitboards.square(7, 4), King.WHITE)) rights &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        if (!isAt(Bitboards.square(7, 7), Rook.WHITE)) rights &= ~WHITE_KINGSIDE;
+        if (!isAt(Bitboards.square(7, 0), Rook.WHITE)) rights &= ~WHITE_QUEENSIDE;
+        if (!isAt(Bitboards.square(0, 4), King.BLACK)) rights &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        if (!isAt(Bitboards.square(0, 7), Rook.BLACK)) rights &= ~BLACK_KINGSIDE;
+        if (!isAt(Bitboards.square(0, 0), Rook.BLACK)) rights &= ~BLACK_QUEENSIDE;
+        return rights;
+    }
+
+    // Define os direitos de roque (ex.: a partir da FEN)
+    public void setCastlingRights(int rights) {
+        this.castlingRights = rights & ALL_CASTLING;
+    }
+
+    // Retorna o bit do direito de roque da cor e do lado indicados
+    public static int castlingRight(boolean white, boolean kingside) {
+        if (white) return kingside ? WHITE_KINGSIDE : WHITE_QUEENSIDE;
+        return kingside ? BLACK_KINGSIDE : BLACK_QUEENSIDE;
+    }
+
+    private boolean isAt(int square, Piece piece) {
+        return squares[square] == piece;
+    }
+
+    // Retorna quantas peças de um tipo e cor estão no tabuleiro, em tempo constante
+    public int getPieceCount(boolean white, int type) {
+        int index = (white ? WHITE : BLACK) * 6 + type;
+        return (int) (material >>> (index * MATERIAL_BITS)) & ((1 << MATERIAL_BITS) - 1);
+    }
+
+    // Retorna a assinatura de material: a contagem de cada tipo e cor de peça num único long.
+    // Posições com as mesmas peças (em quaisquer casas) têm a mesma assinatura, que pode ser comparada
+    // com somas de materialKey(...) para reconhecer finais (ex.: rei e peão contra rei).
+    public long getMaterialKey() {
+        return material;
+    }
+
+    // Retorna a assinatura de material de uma única peça; a de um conjunto de peças é a soma das assinaturas
+    public static long materialKey(boolean white, int type) {
+        return 1L << (((white ? WHITE : BLACK) * 6 + type) * MATERIAL_BITS);
+    }
+
+    // Campos de contagem de um tipo de peça nas duas cores
+    private static long materialFieldMask(int type) {
+        long field = (1L << MATERIAL_BITS) - 1;
+        return (field << (type * MATERIAL_BITS)) | (field << ((6 + type) * MATERIAL_BITS));
+    }
+
+    // Retorna true se nenhum dos lados tem material para dar mate: só reis, um único cavalo, ou bispos
+    // (de qualquer cor) todos em casas da mesma cor. Usa apenas as contagens e o bitboard dos bispos.
+    public boolean isInsufficientMaterial() {
+        if ((material & MATING_MATERIAL) != 0) {
+            return false;
+        }
+        int knights = getPieceCount(true, KNIGHT) + getPieceCount(false, KNIGHT);
+        long bishops = pieces[WHITE * 6 + BISHOP] | pieces[BLACK * 6 + BISHOP];
+        if (knights == 0) {
+            return (bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0;
+        }
+        return knights == 1 && bishops == 0;
+    }
+
+    // Retorna a soma de material e tabelas de peça-casa do meio-jogo, do ponto de vista das brancas
+    public int getMidgameScore() {
+        return PieceSquareTables.midgame(pieceSquare);
+    }
+
+    // Retorna a soma de material e tabelas de peça-casa do final, do ponto de vista das brancas
+    public int getEndgameScore() {
+        return PieceSquareTables.endgame(pieceSquare);
+    }
+
+    // Retorna a fase da partida pelas peças presentes, de 0 (só reis e peões) a maxPhase() (todas as peças;
+    // pode passar com promoções). Vem das contagens de material, sem percorrer o tabuleiro.
+    public int getPhase() {
+        int phase = 0;
+        for (int type = KNIGHT; type <= QUEEN; type++) {
+            phase += PieceSquareTables.PHASE[type] * (getPieceCount(true, type) + getPieceCount(false, type));
+        }
+        return phase;
+    }
+
+    // Fase com todas as peças da posição inicial
+    public static int maxPhase() {
+        return PieceSquareTables.MAX_PHASE;
+    }
+
+    // Retorna a chave de Zobrist apenas dos peões (índice de caches de estrutura de peões)
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    // Retorna as casas atacadas pela peça na casa indicada, considerando a ocupação informada
+    // (para peões, só as capturas). Retorna 0 se a casa estiver vazia.
+    public long attacksFrom(int square, long occupancy) {
+        Piece piece = squares[square];
+        if (piece == null) return 0L;
+        switch (piece.getType()) {
+            case PAWN:   return Attacks.pawn(piece.isWhite(), square);
+            case KNIGHT: return Attacks.knight(square);
+            case BISHOP: return Attacks.bishop(square, occupancy);
+            case ROOK:   return Attacks.rook(square, occupancy);
+            case QUEEN:  return Attacks.queen(square, occupancy);
+            default:     return Attacks.king(square);
+        }
+    }
+
+    // Retorna a chave de Zobrist da posição: peças, vez, direitos de roque e coluna de en passant.
+    // As peças e a vez são mantidas a cada alteração; roque e en passant são somados aqui em tempo constante.
+    // A coluna de en passant só entra na chave quando algum peão da vez pode de fato capturar,
+    // para que posições iguais em efeito tenham a mesma chave (repetição, tabelas de transposição).
+    public long getKey() {
+        long result = key ^ Zobrist.castling(getCastlingRights());
+        if (enPassantSquare >= 0
+                && (Attacks.pawn(!whiteToMove, enPassantSquare) & getPieces(whiteToMove, PAWN)) != 0) {
+            result ^= Zobrist.enPassant(Bitboards.colOf(enPassantSquare));
+        }
+        return result;
+    }
+
+    // Retorna quantas vezes a posição atual já apareceu antes nesta partida (0 se for a primeira).
+    // As chaves anteriores ficam na pilha de desfazer; só é preciso voltar até o último lance irreversível
+    // (captura ou lance de peão, que zeram halfmoveClock), e apenas nas posições com a mesma vez (de 2 em 2).
+    // Não aloca nada, então pode ser usado também dentro de uma busca.
+    public int repetitionCount() {
+        long current = getKey();
+        int limit = Math.min(halfmoveClock, undoSize);
+        int count = 0;
+        // A mesma posição com a mesma vez só pode voltar depois de pelo menos 4 meio-lances
+        for (int ply = 4; ply <= limit; ply += 2) {
+            if (undoKey[undoSize - ply] == current) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Retorna true se a posição atual ocorreu pela terceira vez (repetição tripla)
+    public boolean isThreefoldRepetition() {
+        return repetitionCount() >= 2;
+    }
+
+    // Retorna true se já se passaram 50 lances de cada jogador sem captura nem lance de peão
+    public boolean isFiftyMoveRule() {
+        return halfmoveClock >= 100;
+    }
+
+    // Faz um lance codificado (ver Move), tratando captura, en passant, roque e promoção,
+    // e empilha o necessário para desfazê-lo com unmakeMove.
+    // O lance deve ser pseudo-legal para a cor da vez; a legalidade não é verificada aqui.
+    public void makeMove(int move) {
+        if (undoSize == undoMove.length) {
+            growUndoStack();
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        Piece piece = squares[from];
+
+        int captureSquare = (flags & Move.EN_PASSANT) != 0 ? enPassantCaptureSquare(to, piece.isWhite()) : to;
+        Piece captured = squares[captureSquare];
+
+        undoMove[undoSize] = move;
+        undoMoved[undoSize] = piece;
+        undoCaptured[undoSize] = captured;
+        undoCastling[undoSize] = castlingRights;
+        undoEnPassant[undoSize] = enPassantSquare;
+        undoHalfmove[undoSize] = halfmoveClock;
+        undoKey[undoSize] = getKey();
+        undoSize++;
+
+        if (captured != null) {
+            remove(captureSquare);
+        }
+        remove(from);
+        put(to, Move.isPromotion(move) ? Piece.of(Move.promotion(move), piece.isWhite()) : piece);
+        castlingRights &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+
+        if ((flags & Move.CASTLING) != 0) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            int rookTo = to > from ? from + 1 : from - 1;
+            Piece rook = squares[rookFrom];
+            remove(rookFrom);
+            put(rookTo, rook);
+        }
+
+        enPassantSquare = (flags & Move.DOUBLE_PUSH) != 0 ? (from + to) / 2 : -1;
+        halfmoveClock = (piece.getType() == PAWN || captured != null) ? 0 : halfmoveClock + 1;
+        if (!whiteToMove) {
+            fullMoveNumber++;
+        }
+        whiteToMove = !whiteToMove;
+        key ^= Zobrist.BLACK_TO_MOVE;
+    }
+
+    // Desfaz o último lance feito com makeMove, restaurando peças, roque, en passant e contadores.
+    public void unmakeMove() {
+        undoSize--;
+        int move = undoMove[undoSize];
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        Piece piece = undoMoved[undoSize];
+        Piece captured = undoCaptured[undoSize];
+
+        whiteToMove = !whiteToMove;
+        key ^= Zobrist.BLACK_TO_MOVE;
+        if (!whiteToMove) {
+            fullMoveNumber--;
+        }
+
+        remove(to);
+        put(from, piece);
+        castlingRights = undoCastling[undoSize];
+
+        if ((flags & Move.CASTLING) != 0) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            int rookTo = to > from ? from + 1 : from - 1;
+            Piece rook = squares[rookTo];
+            remove(rookTo);
+            put(rookFrom, rook);
+        }
+
+        if (captured != null) {
+            put((flags & Move.EN_PASSANT) != 0 ? enPassantCaptureSquare(to, piece.isWhite()) : to, captured);
+        }
+
+        enPassantSquare = undoEnPassant[undoSize];
+        halfmoveClock = undoHalfmove[undoSize];
+        undoCaptured[undoSize] = null;
+    }
+
+    // Casa do peão capturado en passant: atrás da casa de destino, do ponto de vista de quem captura
+    private static int enPassantCaptureSquare(int to, boolean white) {
+        return white ? to + 8 : to - 8;
+    }
+
+    // Dobra a capacidade da pilha de desfazer (partidas longas na interface)
+    private void growUndoStack() {
+        int capacity = undoMove.length * 2;
+        undoMove = Arrays.copyOf(undoMove, capacity);
+        undoMoved = Arrays.copyOf(undoMoved, capacity);
+        undoCaptured = Arrays.copyOf(undoCaptured, capacity);
+        undoCastling = Arrays.copyOf(undoCastling, capacity);
+        undoEnPassant = Arrays.copyOf(undoEnPassant, capacity);
+        undoHalfmove = Arrays.copyOf(undoHalfmove, capacity);
+        undoKey = Arrays.copyOf(undoKey, capacity);
+    }
+
+    // Coloca a peça numa casa vazia, atualizando os bitboards.
+    private void put(int square, Piece piece) {
+        long bit = Bitboards.bit(square);
+        squares[square] = piece;
+        pieces[piece.getIndex()] |= bit;
+        key ^= Zobrist.piece(piece.getIndex(), square);
+        material += 1L << (piece.getIndex() * MATERIAL_BITS);
+        addEvaluationTerms(piece.getIndex(), square);
+        colors[piece.isWhite() ? WHITE : BLACK] |= bit;
+        occupied |= bit;
+        if (piece.getType() == KING) {
+            kingSquares[piece.isWhite() ? WHITE : BLACK] = square;
+        }
+    }
+
+    // Retira a peça (se houver) de uma casa, atualizando os bitboards.
+    private void remove(int square) {
+        Piece piece = squares[square];
+        if (piece == null) return;
+        long bit = Bitboards.bit(square);
+        squares[square] = null;
+        pieces[piece.getIndex()] &= ~bit;
+        key ^= Zobrist.piece(piece.getIndex(), square);
+        material -= 1L << (piece.getIndex() * MATERIAL_BITS);
+        pieceSquare -= PieceSquareTables.value(piece.getIndex(), square);
+        if (piece.getType() == PAWN) {
+            pawnKey ^= Zobrist.piece(piece.getIndex(), square);
+        }
+        colors[piece.isWhite() ? WHITE : BLACK] &= ~bit;
+        occupied &= ~bit;
+        if (piece.getType() == KING && kingSquares[piece.isWhite() ? WHITE : BLACK] == square) {
+            kingSquares[piece.isWhite() ? WHITE : BLACK] = -1;
+        }
+    }
+
+    // Soma a peça de índice "index" na casa às parcelas da avaliação mantidas pelo tabuleiro
+    private void addEvaluationTerms(int index, int square) {
+        pieceSquare += PieceSquareTables.value(index, square);
+        if (index == WHITE * 6 + PAWN || index == BLACK * 6 + PAWN) {
+            pawnKey ^= Zobrist.piece(index, square);
+        }
     }
 }
@@ -0,0 +1,77 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Cópia imutável e compacta do estado completo de uma posição: os 12 bitboards de peças, a vez,
+ * os direitos de roque, a casa de en passant, os contadores de lances e a chave de Zobrist.
+ * É criada por Board.snapshot() (ou ChessModel.snapshot()) e pode ser lida por qualquer thread
+ * sem sincronização; Board.fromSnapshot reconstrói um tabuleiro independente a partir dela.
+ */
+public final class BoardSnapshot {
+    private final long[] pieces;        // um bitboard por peça (cor * 6 + tipo), nunca exposto
+    private final int state;            // bit 0: vez das brancas, bits 1-4: roque, bits 5-11: en passant + 1
+    private final int halfmoveClock;
+    private final int fullMoveNumber;
+    private final long key;
+
+    BoardSnapshot(long[] pieces, boolean whiteToMove, int castlingRights, int enPassantSquare,
+                  int halfmoveClock, int fullMoveNumber, long key) {
+        this.pieces = pieces;
+        this.state = (whiteToMove ? 1 : 0) | (castlingRights << 1) | ((enPassantSquare + 1) << 5);
+        this.halfmoveClock = halfmoveClock;
+        this.fullMoveNumber = fullMoveNumber;
+        this.key = key;
+    }
+
+    // Retorna o bitboard das peças de um tipo e cor
+    public long getPieces(boolean white, int type) {
+        return pieces[(white ? Board.WHITE : Board.BLACK) * 6 + type];
+    }
+
+    // Bitboard pelo índice da peça (cor * 6 + tipo), usado na reconstrução do tabuleiro
+    long getPieces(int index) {
+        return pieces[index];
+    }
+
+    public boolean isWhiteToMove() {
+        return (state & 1) != 0;
+    }
+
+    // Retorna os direitos de roque (combinação de Board.WHITE_KINGSIDE, ..., Board.BLACK_QUEENSIDE)
+    public int getCastlingRights() {
+        return (state >>> 1) & Board.ALL_CASTLING;
+    }
+
+    // Retorna a casa alvo de en passant (0 a 63), ou -1 se não houver
+    public int getEnPassantSquare() {
+        return (state >>> 5) - 1;
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int getFullMoveNumber() {
+        return fullMoveNumber;
+    }
+
+    // Retorna a chave de Zobrist da posição no momento da cópia
+    public long getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof BoardSnapshot)) return false;
+        BoardSnapshot snapshot = (BoardSnapshot) other;
+        return key == snapshot.key && state == snapshot.state && halfmoveClock == snapshot.halfmoveClock
+            && fullMoveNumber == snapshot.fullMoveNumber && Arrays.equals(pieces, snapshot.pieces);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+}
@@ -1,6 +1,7 @@
 package model;
 
 import observer.Observable;
+import observer.Observer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,40 +10,43 @@ import java.util.List;
  * Controla o estado do tabuleiro, o turno atual e as regras básicas de movimentação e cheque.
  */
 public class ChessModel implements Observable  {
-    private static ChessModel instance;
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
     private Board board;
     private boolean showSaveMenuRequested = false;
     private boolean showPromotionMenuRequested = false;
-    private boolean whiteTurn = true;
     private Position selectedPiecePos = null;
     private Position pendingPromotionPos = null;  // se != null, há promoção pendente
-    private Position enPassantTarget = null; // Posição do peão que pode ser capturado por en passant (válido apenas no turno seguinte)
-    private int halfmoveClock = 0;     // contador dos 50 lances
-    private int fullMoveNumber = 1;    // número completo do lance
-
-    
-
-    // Construtor privado (padrão Singleton). Inicializa o tabuleiro com a configuração padrão.
-    private ChessModel() {
+    private int pendingPromotionMove = Move.NONE; // lance de promoção aguardando a escolha da peça
+
+    // Lances legais da posição atual, gerados uma vez por posição e reaproveitados por todas as consultas
+    // (seleção, destinos da interface, cheque-mate e afogamento). A posição é identificada pelo tabuleiro
+    // e pela sua chave de Zobrist, que muda a cada lance ou alteração de peças.
+    private final int[] legalMoves = new int[MoveGenerator.MAX_MOVES];
+    private int legalMoveCount;
+    private GameStatus status;
+    private Board cachedBoard;
+    private long cachedKey;
+    private final List<Observer> observers = new ArrayList<>(); // observadores desta partida
+
+    // Construtor. Cada modelo é uma partida independente, com o tabuleiro na configuração padrão.
+    public ChessModel() {
         board = new Board(false);
     }
 
-    // Retorna a instância única do modelo. Cria uma nova se ainda não existir.
-    public static ChessModel getInstance() {
-        if (instance == null) {
-            instance = new ChessModel();
-        }
-        return instance;
-    }
-
-    // Reseta a instância atual do modelo (usado principalmente em testes).
-    public static void resetInstance() {
-        instance = null;
+    // Retorna a lista de observadores desta partida (usada pelos métodos padrão de Observable).
+    @Override
+    public List<Observer> getObservers() {
+        return observers;
     }
 
     // Define um tabuleiro customizado. Usado para setups específicos ou testes.
     public void setBoard(Board customBoard) {
+        // Turno e alvo de en passant pertencem à partida e são mantidos no novo tabuleiro
+        customBoard.setWhiteToMove(board.isWhiteToMove());
+        customBoard.setEnPassantSquare(board.getEnPassantSquare());
         this.board = customBoard;
+        clearPendingPromotion();
         notifyObservers();
     }
 
@@ -51,11 +55,40 @@ public class ChessModel implements Observable  {
         return board;
     }
 
+    // Retorna uma cópia imutável do estado da partida, para threads de análise ou gravação em segundo plano
+    // trabalharem sem disputar o tabuleiro com a interface.
+    public BoardSnapshot snapshot() {
+        return board.snapshot();
+    }
+
+    // Cria um modelo novo e independente na posição da cópia informada
+    public static ChessModel fromSnapshot(BoardSnapshot snapshot) {
+        ChessModel model = new ChessModel();
+        model.board = Board.fromSnapshot(snapshot);
+        return model;
+    }
+
+    // Cria um modelo novo na posição da FEN (ver loadFEN)
+    //throws: IllegalArgumentException se o formato FEN for inválido
+    public static ChessModel fromFEN(String fen) {
+        ChessModel model = new ChessModel();
+        model.loadFEN(fen);
+        return model;
+    }
+
+    // Retorna a chave de Zobrist de 64 bits da posição atual (peças, vez, roque e en passant).
+    // Posições iguais têm a mesma chave; serve de índice para caches e verificação de repetição sem gerar FEN.
+    public long positionKey() {
+        return board.getKey();
+    }
+
     // Seleciona uma peça com base nas coordenadas (linha e coluna).
-    // Só permite selecionar se for uma peça da vez (branca ou preta conforme o turno).
+    // Só permite selecionar se for uma peça da vez (branca ou preta conforme o turno) e se não houver
+    // promoção pendente.
     public boolean selectPiece(int row, int col) {
+        if (pendingPromotionPos != null) return false;
         Piece piece = board.getPiece(row, col);
-        if (piece != null && piece.isWhite() == whiteTurn) {
+        if (piece != null && piece.isWhite() == board.isWhiteToMove()) {
             selectedPiecePos = new Position(row, col);
             return true;
         }
@@ -64,151 +97,115 @@ public class ChessModel implements Observable  {
 
     // Tenta mover a peça selecionada para a casa de destino informada (linha e coluna).
     // Só realiza o movimento se for válido e se o rei não ficar em cheque após isso.
+    // En passant, roque e contadores são tratados pelo próprio lance (Board.makeMove).
+    // Enquanto houver promoção pendente, nenhum outro lance é feito.
     public boolean selectTargetSquare(int row, int col) {
-        if (selectedPiecePos == null) return false;
+        if (selectedPiecePos == null || pendingPromotionPos != null) return false;
 
         Position target = new Position(row, col);
-        Piece piece = board.getPiece(selectedPiecePos.row, selectedPiecePos.col);
-
-        if (piece.isValidMove(selectedPiecePos, target, board)) {
-            if (!canMoveToEscapeCheck(selectedPiecePos, target)) {
-                return false;
-            }
-
-            // Trata movimento especial: en passant (remoção do peão capturado)
-            if (piece instanceof Pawn) {
-                if (target.equals(enPassantTarget) && board.isEmpty(target.row, target.col)) {
-                    int capturedRow = whiteTurn ? target.row + 1 : target.row - 1;
-                    board.setPiece(capturedRow, target.col, null); // Remove o peão capturado
-                }
-            }
-
+        int move = findLegalMove(Bitboards.square(selectedPiecePos.row, selectedPiecePos.col),
+                                 Bitboards.square(target.row, target.col));
+        if (move == Move.NONE) {
+            return false;
+        }
 
-            // Trata movimento especial: roque (movimenta a torre também)
-            if (piece instanceof King && Math.abs(target.col - selectedPiecePos.col) == 2) {
-                int rookCol   = (target.col > selectedPiecePos.col) ? 7 : 0;
-                Position rook = new Position(selectedPiecePos.row, rookCol);
+        // Verifica promoção pendente: o lance só é feito quando o jogador escolher a peça
+        if (Move.isPromotion(move)) {
+            pendingPromotionMove = move;
+            pendingPromotionPos = target;
+            selectedPiecePos = null;
+            notifyObservers();
+            return true;
+        }
 
-                // Valida sem alterar o jogo
-                if (!attemptCastling(selectedPiecePos, rook)) return false;
+        // Move a peça principal
+        board.makeMove(move);
+        notifyObservers();
+        selectedPiecePos = null;
 
-                // Faz o movimento – primeiro rei, depois torre
-                int rookTargetCol = (rookCol == 7) ? 5 : 3;
-                board.movePiece(selectedPiecePos, target);
-                board.movePiece(rook, new Position(selectedPiecePos.row, rookTargetCol));
+        return true;
+    }
 
+    // Faz um lance codificado (ver Move), como os devolvidos por uma busca, incluindo a peça de promoção.
+    // Retorna false, sem alterar nada, se o lance não for legal na posição atual ou houver promoção pendente.
+    public boolean playMove(int move) {
+        if (pendingPromotionPos != null) return false;
+        refreshLegalMoves();
+        for (int i = 0; i < legalMoveCount; i++) {
+            if (legalMoves[i] == move) {
+                board.makeMove(move);
                 selectedPiecePos = null;
-                pendingPromotionPos = null;
-                enPassantTarget = null;
-                whiteTurn = !whiteTurn;
+                notifyObservers();
                 return true;
             }
-            
-
-            // Atualiza a posição de en passant, se for um peão que se moveu duas casas
-            if (piece instanceof Pawn) {
-                if (Math.abs(target.row - selectedPiecePos.row) == 2) {
-                    enPassantTarget = new Position((target.row + selectedPiecePos.row) / 2, target.col);
-                } else {
-                    enPassantTarget = null; // Limpa se não for jogada válida para en passant
-                }
-            } else {
-                enPassantTarget = null; // Limpa se não for um peão
-            }
-            
-            // Se for avanço de peão ou captura, zera clock dos 50 lances
-            if (piece instanceof Pawn || (board.getPiece(target.row, target.col) != null)) {
-                halfmoveClock = 0;
-            } else {
-                halfmoveClock++;
-            }
-
-            // Se foi a vez das pretas, incrementa fullMoveNumber
-            if (!whiteTurn) {
-                fullMoveNumber++;
-            }
-
-            // Verifica promoção pendente
-            if (piece instanceof Pawn) {
-                if ((piece.isWhite() && target.row == 0) || (!piece.isWhite() && target.row == 7)) {
-                    board.movePiece(selectedPiecePos, target);  // Move peão para a última linha
-                    notifyObservers();
-                    pendingPromotionPos = target;
-                    selectedPiecePos = null;
-                    return true;
-                }
-            }
-            
-            // Move a peça principal
-            board.movePiece(selectedPiecePos, target);
-            notifyObservers();
-            selectedPiecePos = null;
-            whiteTurn = !whiteTurn;
-            
-            return true;
         }
         return false;
     }
 
-
-
-    // Verifica se o rei da cor indicada está em cheque.
-    // A função percorre o tabuleiro procurando por ameaças ao rei.
-    public boolean isInCheck(boolean isWhite) {
-        Position kingPos = findKingPosition(isWhite);
-        if (kingPos == null) return false;
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = board.getPiece(row, col);
-                if (piece != null && piece.isWhite() != isWhite) {
-                    Position from = new Position(row, col);
-                    if (piece.isValidMove(from, kingPos, board)) {
-                        return true;
-                    }
-                }
+    // Procura, entre os lances gerados, um lance legal da origem para o destino indicados.
+    // Retorna Move.NONE se não houver.
+    private int findLegalMove(int from, int to) {
+        refreshLegalMoves();
+        for (int i = 0; i < legalMoveCount; i++) {
+            int move = legalMoves[i];
+            if (Move.from(move) == from && Move.to(move) == to) {
+                return move;
             }
         }
-        return false;
+        return Move.NONE;
     }
 
-    // Procura e retorna a posição do rei da cor especificada.
-    // Retorna null se o rei não for encontrado (teoricamente nunca deve acontecer).
-    private Position findKingPosition(boolean isWhite) {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = board.getPiece(row, col);
-                if (piece instanceof King && piece.isWhite() == isWhite) {
-                    return new Position(row, col);
-                }
-            }
+    // Gera os lances legais e a situação da partida se a posição mudou desde a última consulta
+    private void refreshLegalMoves() {
+        long key = board.getKey();
+        if (cachedBoard == board && cachedKey == key) {
+            return;
         }
-        return null;
+        legalMoveCount = MoveGenerator.generateLegal(board, legalMoves);
+        boolean inCheck = isInCheck(board.isWhiteToMove());
+        if (legalMoveCount == 0) {
+            status = inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        } else {
+            status = inCheck ? GameStatus.CHECK : GameStatus.ONGOING;
+        }
+        cachedBoard = board;
+        cachedKey = key;
     }
 
-    // Verifica se mover uma peça de uma posição para outra remove o rei do cheque.
-    // Faz o movimento de forma temporária, verifica o estado, e depois desfaz tudo.
-    public boolean canMoveToEscapeCheck(Position from, Position to) {
-        Piece piece = board.getPiece(from.row, from.col);
-        boolean isWhite = piece.isWhite();
-        Piece captured = board.getPiece(to.row, to.col);
-        boolean movedBefore = piece.hasMoved();
-        boolean capturedMoved = captured != null && captured.hasMoved();
-
-        board.movePiece(from, to);
-        boolean stillInCheck = isInCheck(isWhite);
-        board.movePiece(to, from);
-        board.setPiece(to.row, to.col, captured);
+    /**
+     * Retorna a situação da partida para o jogador da vez (em andamento, cheque, xeque-mate, afogamento
+     * ou empate por repetição tripla, pela regra dos 50 lances ou por material insuficiente).
+     * Os lances legais são gerados no máximo uma vez por posição; os empates dependem do histórico
+     * e das contagens de peças do tabuleiro e são verificados a cada consulta, sem gerar FEN.
+     */
+    public GameStatus getGameStatus() {
+        refreshLegalMoves();
+        if (status.isGameOver()) {
+            return status;
+        }
+        if (board.isThreefoldRepetition()) {
+            return GameStatus.THREEFOLD_REPETITION;
+        }
+        if (board.isFiftyMoveRule()) {
+            return GameStatus.FIFTY_MOVE_RULE;
+        }
+        if (board.isInsufficientMaterial()) {
+            return GameStatus.INSUFFICIENT_MATERIAL;
+        }
+        return status;
+    }
 
-        piece.setHasMoved(movedBefore);
-        if (captured != null) captured.setHasMoved(capturedMoved);
-        
-        return !stillInCheck;
+    // Verifica se o rei da cor indicada está em cheque.
+    // A casa do rei é mantida pelo tabuleiro; a consulta parte dela procurando atacantes adversários.
+    // Retorna false se não houver rei da cor indicada no tabuleiro.
+    public boolean isInCheck(boolean isWhite) {
+        int kingSquare = board.getKingSquare(isWhite);
+        return kingSquare >= 0 && board.isSquareAttacked(kingSquare, !isWhite);
     }
 
     // Retorna verdadeiro se for a vez das peças brancas jogarem.
     public boolean isWhiteTurn() {
-        return whiteTurn;
+        return board.isWhiteToMove();
     }
 
     /**
@@ -220,6 +217,13 @@ public class ChessModel implements Observable  {
      */
     public String getPieceCode(int row, int col) {
         Piece piece = board.getPiece(row, col);
+
+        // Durante a promoção pendente o peão é exibido já na casa de destino
+        if (pendingPromotionPos != null) {
+            int square = Bitboards.square(row, col);
+            if (square == Move.from(pendingPromotionMove)) return null;
+            if (square == Move.to(pendingPromotionMove)) piece = board.pieceAt(Move.from(pendingPromotionMove));
+        }
         if (piece == null) return null;
 
         String cor = piece.isWhite() ? "w" : "b";
@@ -239,11 +243,7 @@ public class ChessModel implements Observable  {
      * então a partida terminou em xeque-mate.
      */
     public boolean isCheckMate() {
-        boolean isWhite = whiteTurn;
-        if (!isInCheck(isWhite)) {
-            return false;
-        }
-        return !hasAnyLegalMove(isWhite);
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
 
     /**
@@ -252,74 +252,48 @@ public class ChessModel implements Observable  {
      * nenhum movimento legal possível — o que caracteriza um empate.
      */
     public boolean isStalelMate() {
-        boolean isWhite = whiteTurn;
-        if (isInCheck(isWhite)) {
-            return false;
-        }
-        return !hasAnyLegalMove(isWhite);
-    }
-
-    /**
-     * Verifica se o jogador da vez possui ao menos um movimento legal disponível.
-     * Percorre todas as peças do jogador no tabuleiro, testando todos os movimentos possíveis.
-     * Se existir ao menos um movimento válido que não coloque o próprio rei em cheque,
-     * então o jogador ainda pode jogar.
-     */
-    private boolean hasAnyLegalMove(boolean isWhite) {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = board.getPiece(row, col);
-                if (piece != null && piece.isWhite() == isWhite) {
-                    Position from = new Position(row, col);
-                    for (int toRow = 0; toRow < 8; toRow++) {
-                        for (int toCol = 0; toCol < 8; toCol++) {
-                            Position to = new Position(toRow, toCol);
-                            if (piece.isValidMove(from, to, board)) {
-                                if (canMoveToEscapeCheck(from, to)) {
-                                    return true;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return getGameStatus() == GameStatus.STALEMATE;
     }
 
     /**
      * Realiza a promoção de um peão que alcançou a última linha do tabuleiro.
-     * A nova peça é escolhida com base no tipo passado como argumento.
-     * Após a promoção, a posição de promoção pendente é limpa e o turno muda para o outro jogador.
+     * A nova peça é escolhida com base no tipo passado como argumento, e o lance de promoção
+     * pendente é feito com essa peça. Após a promoção, a posição de promoção pendente é limpa
+     * e o turno muda para o outro jogador.
      * Caso o tipo de peça fornecido seja inválido, uma exceção é lançada.
      */
     public boolean promotePawn(String pieceType) {
         if (pendingPromotionPos == null) return false;
 
-        boolean isWhite = board.getPiece(pendingPromotionPos.row, pendingPromotionPos.col).isWhite();
-        Piece newPiece;
+        int promotion;
 
         String type = pieceType.toLowerCase();
 
         if (type.equals("queen")) {
-            newPiece = new Queen(isWhite);
+            promotion = Board.QUEEN;
         } else if (type.equals("rook")) {
-            newPiece = new Rook(isWhite);
+            promotion = Board.ROOK;
         } else if (type.equals("bishop")) {
-            newPiece = new Bishop(isWhite);
+            promotion = Board.BISHOP;
         } else if (type.equals("knight")) {
-            newPiece = new Knight(isWhite);
+            promotion = Board.KNIGHT;
         } else {
             throw new IllegalArgumentException("Peça inválida para promoção: " + pieceType);
         }
 
-        board.setPiece(pendingPromotionPos.row, pendingPromotionPos.col, newPiece);
+        int move = pendingPromotionMove;
+        board.makeMove(Move.encode(Move.from(move), Move.to(move), Move.flags(move), promotion));
+        clearPendingPromotion();
         notifyObservers();
-        pendingPromotionPos = null;
-        whiteTurn = !whiteTurn;
         return true;
     }
 
+    // Descarta a promoção pendente (o lance ainda não foi feito no tabuleiro)
+    private void clearPendingPromotion() {
+        pendingPromotionPos = null;
+        pendingPromotionMove = Move.NONE;
+    }
+
     /**
      * Verifica se há uma promoção de peão pendente.
      * Isso indica que o jogador deve escolher uma peça para substituir o peão promovido.
@@ -336,23 +310,38 @@ public class ChessModel implements Observable  {
      */
     public List<int[]> getValidMovesForPiece(int row, int col) {
         List<int[]> validMoves = new ArrayList<>();
+        long targets = getValidTargetMask(row, col);
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            validMoves.add(new int[]{Bitboards.rowOf(to), Bitboards.colOf(to)});
+        }
+        return validMoves;
+    }
 
+    /**
+     * Retorna os destinos válidos da peça na posição indicada como uma máscara de 64 bits,
+     * em que o bit (linha * 8 + coluna) está ligado para cada casa de destino legal.
+     * Não aloca nada: a interface percorre os bits ligados para destacar as casas e testa
+     * um único bit para saber se um clique é um destino válido.
+     * Retorna 0 se a posição estiver fora do tabuleiro ou não contiver uma peça da vez.
+     */
+    public long getValidTargetMask(int row, int col) {
         Piece piece = board.getPiece(row, col);
-        if (piece == null || piece.isWhite() != whiteTurn) {
-            return validMoves;
+        if (piece == null || piece.isWhite() != board.isWhiteToMove()) {
+            return 0L;
         }
 
-        Position from = new Position(row, col);
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Position to = new Position(r, c);
-                if (piece.isValidMove(from, to, board) && canMoveToEscapeCheck(from, to)) {
-                    validMoves.add(new int[]{r, c});
-                }
+        int from = Bitboards.square(row, col);
+        long targets = 0L; // as quatro promoções têm o mesmo destino e ligam o mesmo bit
+        refreshLegalMoves();
+        for (int i = 0; i < legalMoveCount; i++) {
+            int move = legalMoves[i];
+            if (Move.from(move) == from) {
+                targets |= Bitboards.bit(Move.to(move));
             }
         }
-
-        return validMoves;
+        return targets;
     }
     
     /**  Retorna true se o roque é legal; NÃO mexe no tabuleiro  */
@@ -361,9 +350,13 @@ public class ChessModel implements Observable  {
         Piece rook = board.getPiece(rookPos.row, rookPos.col);
 
         if (!(king instanceof King) || !(rook instanceof Rook)) return false;
-        if (king.isWhite() != whiteTurn)                     return false;
-        if (king.hasMoved() || rook.hasMoved())              return false;
+        if (king.isWhite() != board.isWhiteToMove())         return false;
         if (kingPos.row != rookPos.row)                      return false;
+        if (kingPos.col != 4 || (rookPos.col != 0 && rookPos.col != 7)) return false;
+
+        // direito de roque do lado da torre (rei e torre ainda não se moveram)
+        int right = Board.castlingRight(king.isWhite(), rookPos.col == 7);
+        if ((board.getCastlingRights() & right) == 0)       return false;
 
         int dir = (rookPos.col > kingPos.col) ? 1 : -1;
 
@@ -374,10 +367,10 @@ public class ChessModel implements Observable  {
         // rei não pode estar em cheque
         if (isInCheck(king.isWhite())) return false;
 
-        // nem pode atravessar casas atacadas
+        // nem pode atravessar casas atacadas (consulta direta de ataque, sem mexer no tabuleiro)
+        int kingSquare = Bitboards.square(kingPos.row, kingPos.col);
         for (int i = 1; i <= 2; i++) {
-            Position step = new Position(kingPos.row, kingPos.col + i * dir);
-            if (!canMoveToEscapeCheck(kingPos, step)) return false;
+            if (board.isSquareAttacked(kingSquare + i * dir, !king.isWhite())) return false;
         }
         return true;   // ←  só diz se pode
     }
@@ -386,33 +379,27 @@ public class ChessModel implements Observable  {
     
     // Retorna a posição atual válida para en passant, ou null se não houver
     public Position getEnPassantTarget() {
-        return enPassantTarget;
+        int square = board.getEnPassantSquare();
+        if (square < 0) return null;
+        return new Position(Bitboards.rowOf(square), Bitboards.colOf(square));
     }
     
     /**
      * Define manualmente o alvo de en passant (usado principalmente para testes).
      */
     public void setEnPassantTarget(Position pos) {
-        this.enPassantTarget = pos;
+        board.setEnPassantSquare(pos == null ? -1 : Bitboards.square(pos.row, pos.col));
     }
 
     /**
      * Força a definição do turno (branco ou preto). Usado apenas para testes.
      */
     public void setWhiteTurn(boolean whiteTurn) {
-        this.whiteTurn = whiteTurn;
+        board.setWhiteToMove(whiteTurn);
     }
 
     private boolean canCastle(char color, boolean kingside) {
-        int row = (color == 'w') ? 7 : 0;
-        Piece king = board.getPiece(row, 4);
-        Piece rook = kingside ? board.getPiece(row, 7) : board.getPiece(row, 0);
-
-        if (!(king instanceof King) || !(rook instanceof Rook)) return false;
-        if (king.isWhite() != (color == 'w') || rook.isWhite() != (color == 'w')) return false;
-        if (king.hasMoved() || rook.hasMoved()) return false;
-
-        return true;
+        return (board.getCastlingRights() & Board.castlingRight(color == 'w', kingside)) != 0;
     }
 
     
@@ -443,7 +430,7 @@ public class ChessModel implements Observable  {
         }
 
         // Parte 2: turno
-        fen.append(' ').append(whiteTurn ? 'w' : 'b');
+        fen.append(' ').append(board.isWhiteToMove() ? 'w' : 'b');
 
         // Parte 3: direitos de roque
         StringBuilder castling = new StringBuilder();
@@ -456,6 +443,7 @@ public class ChessModel implements Observable  {
 
         // Parte 4: en passant
         fen.append(' ');
+        Position enPassantTarget = getEnPassantTarget();
         if (enPassantTarget != null) {
             char file = (char) ('a' + enPassantTarget.col);
             char rank = (char) ('8' - enPassantTarget.row);
@@ -465,10 +453,10 @@ public class ChessModel implements Observable  {
         }
 
         // Parte 5: meio-lances
-        fen.append(' ').append(halfmoveClock);
+        fen.append(' ').append(board.getHalfmoveClock());
 
         // Parte 6: número de lance
-        fen.append(' ').append(fullMoveNumber);
+        fen.append(' ').append(board.getFullMoveNumber());
 
         return fen.toString();
     }
@@ -505,6 +493,8 @@ public class ChessModel implements Observable  {
         String enPassantPart = parts[3];
 
         this.board.clear();
+        clearPendingPromotion();
+        selectedPiecePos = null;
 
         int row = 0, col = 0;
         for (char ch : boardPart.toCharArray()) {
@@ -516,12 +506,12 @@ public class ChessModel implements Observable  {
             } else {
                 boolean isWhite = Character.isUpperCase(ch);
                 Piece piece = switch (Character.toLowerCase(ch)) {
-                    case 'k' -> new King(isWhite);
-                    case 'q' -> new Queen(isWhite);
-                    case 'r' -> new Rook(isWhite);
-                    case 'b' -> new Bishop(isWhite);
-                    case 'n' -> new Knight(isWhite);
-                    case 'p' -> new Pawn(isWhite);
+                    case 'k' -> Piece.of(Board.KING, isWhite);
+                    case 'q' -> Piece.of(Board.QUEEN, isWhite);
+                    case 'r' -> Piece.of(Board.ROOK, isWhite);
+                    case 'b' -> Piece.of(Board.BISHOP, isWhite);
+                    case 'n' -> Piece.of(Board.KNIGHT, isWhite);
+                    case 'p' -> Piece.of(Board.PAWN, isWhite);
                     default -> throw new IllegalArgumentException("Peça desconhecida: " + ch);
                 };
                 board.setPiece(row, col, piece);
@@ -530,57 +520,28 @@ public class ChessModel implements Observable  {
         }
 
         notifyObservers();
-        this.whiteTurn = turnPart.equals("w");
-
-        // castling rights → set hasMoved false se direito existe
-        if (castlingPart.contains("K")) {
-            Piece r = board.getPiece(7,7);
-            Piece k = board.getPiece(7,4);
-            if (r instanceof Rook) r.setHasMoved(false);
-            if (k instanceof King) k.setHasMoved(false);
-        } else if (board.getPiece(7,7) instanceof Rook) {
-            board.getPiece(7,7).setHasMoved(true);
-        }
-
-        if (castlingPart.contains("Q")) {
-            Piece r = board.getPiece(7,0);
-            Piece k = board.getPiece(7,4);
-            if (r instanceof Rook) r.setHasMoved(false);
-            if (k instanceof King) k.setHasMoved(false);
-        } else if (board.getPiece(7,0) instanceof Rook) {
-            board.getPiece(7,0).setHasMoved(true);
-        }
+        board.setWhiteToMove(turnPart.equals("w"));
 
-        if (castlingPart.contains("k")) {
-            Piece r = board.getPiece(0,7);
-            Piece k = board.getPiece(0,4);
-            if (r instanceof Rook) r.setHasMoved(false);
-            if (k instanceof King) k.setHasMoved(false);
-        } else if (board.getPiece(0,7) instanceof Rook) {
-            board.getPiece(0,7).setHasMoved(true);
-        }
-
-        if (castlingPart.contains("q")) {
-            Piece r = board.getPiece(0,0);
-            Piece k = board.getPiece(0,4);
-            if (r instanceof Rook) r.setHasMoved(false);
-            if (k instanceof King) k.setHasMoved(false);
-        } else if (board.getPiece(0,0) instanceof Rook) {
-            board.getPiece(0,0).setHasMoved(true);
-        }
+        // direitos de roque
+        int rights = 0;
+        if (castlingPart.contains("K")) rights |= Board.WHITE_KINGSIDE;
+        if (castlingPart.contains("Q")) rights |= Board.WHITE_QUEENSIDE;
+        if (castlingPart.contains("k")) rights |= Board.BLACK_KINGSIDE;
+        if (castlingPart.contains("q")) rights |= Board.BLACK_QUEENSIDE;
+        board.setCastlingRights(rights);
 
         // en passant
         if (!enPassantPart.equals("-")) {
             int colEp = enPassantPart.charAt(0) - 'a';
             int rowEp = '8' - enPassantPart.charAt(1);
-            this.enPassantTarget = new Position(rowEp, colEp);
+            setEnPassantTarget(new Position(rowEp, colEp));
         } else {
-            this.enPassantTarget = null;
+            setEnPassantTarget(null);
         }
 
         // opcional: meio-lances e fullMoveNumber
-        this.halfmoveClock = (parts.length > 4) ? Integer.parseInt(parts[4]) : 0;
-        this.fullMoveNumber = (parts.length > 5) ? Integer.parseInt(parts[5]) : 1;
+        board.setHalfmoveClock((parts.length > 4) ? Integer.parseInt(parts[4]) : 0);
+        board.setFullMoveNumber((parts.length > 5) ? Integer.parseInt(parts[5]) : 1);
     }
 
     //Solicita a exibição do menu de salvamento do jogo.
@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * Situação da partida para o jogador da vez, calculada a partir dos lances legais da posição.
+ */
+public enum GameStatus {
+    ONGOING,    // partida em andamento, sem cheque
+    CHECK,      // rei da vez em cheque, mas com lances para sair dele
+    CHECKMATE,  // rei da vez em cheque e sem lances legais
+    STALEMATE,  // sem lances legais e sem cheque (afogamento, empate)
+    THREEFOLD_REPETITION, // mesma posição pela terceira vez (empate)
+    FIFTY_MOVE_RULE,      // 50 lances de cada lado sem captura nem lance de peão (empate)
+    INSUFFICIENT_MATERIAL; // nenhum dos lados tem peças suficientes para dar mate (empate)
+
+    // Retorna true se a partida terminou
+    public boolean isGameOver() {
+        return this != ONGOING && this != CHECK;
+    }
+
+    // Retorna true se a partida terminou empatada
+    public boolean isDraw() {
+        return isGameOver() && this != CHECKMATE;
+    }
+}
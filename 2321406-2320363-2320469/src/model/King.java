@@ -2,8 +2,11 @@ package model;
 
 class King extends Piece {
 
-    // Constrói um rei branco ou preto
-    public King(boolean isWhite) {
+    public static final King WHITE = new King(true);   // o rei branco
+    public static final King BLACK = new King(false);  // o rei preto
+
+    // Constrói um rei branco ou preto (só para as duas instâncias acima)
+    private King(boolean isWhite) {
         super(isWhite);
     }
 
@@ -21,12 +24,12 @@ class King extends Piece {
         }
 
         // Roque: movimento especial do rei (2 casas na horizontal)
-        if (!this.hasMoved && from.row == to.row && (to.col == 6 || to.col == 2)) {
+        int homeRow = isWhite ? 7 : 0;
+        if (from.row == homeRow && from.col == 4 && to.row == homeRow && (to.col == 6 || to.col == 2)) {
             int rookCol = (to.col == 6) ? 7 : 0;
-            Piece rookPiece = board.getPiece(from.row, rookCol);
 
-            // Verifica se há uma torre compatível na extremidade e que ainda não se moveu
-            if (rookPiece instanceof Rook && rookPiece.isWhite() == this.isWhite && !rookPiece.hasMoved()) {
+            // Verifica se o direito de roque desse lado ainda existe (rei e torre sem terem se movido)
+            if ((board.getCastlingRights() & Board.castlingRight(isWhite, to.col == 6)) != 0) {
                 int direction = (to.col == 6) ? 1 : -1;
                 int currentCol = from.col + direction;
 
@@ -43,4 +46,8 @@ class King extends Piece {
         return false;
     }
 
+    @Override
+    public int getType() {
+        return Board.KING;
+    }
 }
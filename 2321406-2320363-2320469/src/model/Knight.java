@@ -2,8 +2,11 @@ package model;
 
 class Knight extends Piece {
 
-    // Constrói um cavalo branco ou preto
-    public Knight(boolean isWhite) {
+    public static final Knight WHITE = new Knight(true);   // o cavalo branco
+    public static final Knight BLACK = new Knight(false);  // o cavalo preto
+
+    // Constrói um cavalo branco ou preto (só para as duas instâncias acima)
+    private Knight(boolean isWhite) {
         super(isWhite);
     }
 
@@ -23,4 +26,9 @@ class Knight extends Piece {
 
         return false;
     }
+
+    @Override
+    public int getType() {
+        return Board.KNIGHT;
+    }
 }
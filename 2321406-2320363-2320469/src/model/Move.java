@@ -0,0 +1,70 @@
+package model;
+
+// Codificação de um lance num único int, para que a geração de lances não aloque objetos.
+// Bits 0-5: casa de origem, bits 6-11: casa de destino, bits 12-15: flags,
+// bits 16-18: tipo da peça de promoção (0 se não houver promoção).
+public final class Move {
+
+    // Flags do lance
+    public static final int CAPTURE = 1;      // captura uma peça no destino
+    public static final int DOUBLE_PUSH = 2;  // avanço duplo de peão
+    public static final int EN_PASSANT = 4;   // captura en passant
+    public static final int CASTLING = 8;     // roque (o destino é a casa final do rei)
+
+    // Valor que não representa nenhum lance
+    public static final int NONE = 0;
+
+    private Move() {
+    }
+
+    // Monta um lance sem promoção
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    // Monta um lance de promoção para o tipo de peça indicado (Board.KNIGHT a Board.QUEEN)
+    public static int encode(int from, int to, int flags, int promotion) {
+        return from | (to << 6) | (flags << 12) | (promotion << 16);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    // Tipo da peça de promoção, ou 0 se o lance não for promoção
+    public static int promotion(int move) {
+        return (move >>> 16) & 0x7;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & ((CAPTURE | EN_PASSANT) << 12)) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return promotion(move) != 0;
+    }
+
+    // Notação de coordenadas do lance (ex.: "e2e4", "e7e8q"), usada por ferramentas e protocolos de texto
+    public static String toUci(int move) {
+        StringBuilder text = new StringBuilder(5);
+        appendSquare(text, from(move));
+        appendSquare(text, to(move));
+        if (isPromotion(move)) {
+            text.append("pnbrqk".charAt(promotion(move)));
+        }
+        return text.toString();
+    }
+
+    private static void appendSquare(StringBuilder text, int square) {
+        text.append((char) ('a' + Bitboards.colOf(square)));
+        text.append((char) ('8' - Bitboards.rowOf(square)));
+    }
+}
@@ -0,0 +1,290 @@
+package model;
+
+// Gerador de lances legais sobre os bitboards do tabuleiro.
+// Os lances são escritos como ints (ver Move) num vetor fornecido pelo chamador, sem alocação,
+// e só são gerados os destinos que cada tipo de peça realmente alcança.
+// A legalidade é resolvida uma vez por posição: as peças cravadas e a máscara de cheque
+// restringem os destinos, de modo que nenhum lance precisa ser feito e desfeito para ser testado.
+// A busca pode pedir só as capturas ou só os lances quietos, gerando cada grupo apenas quando precisa dele.
+public final class MoveGenerator {
+
+    // Limite seguro de lances numa posição (o máximo conhecido é 218)
+    public static final int MAX_MOVES = 256;
+    // Lances de uma única peça: no máximo 27 (rainha); um peão tem no máximo 12 promoções
+    public static final int MAX_PIECE_MOVES = 32;
+
+    // Grupos de lances: todos, só capturas e promoções (incluindo en passant), ou só os demais (incluindo roque)
+    public static final int ALL = 0;
+    public static final int CAPTURES = 1;
+    public static final int QUIETS = 2;
+
+    // Fileiras de promoção (primeira e última)
+    private static final long PROMOTION_ROWS = Bitboards.rowMask(0) | Bitboards.rowMask(7);
+
+    private static final int[] PROMOTIONS = {Board.QUEEN, Board.ROOK, Board.BISHOP, Board.KNIGHT};
+
+    private MoveGenerator() {
+    }
+
+    // Gera os lances legais do jogador da vez no vetor "moves".
+    // Retorna: a quantidade de lances escritos (0 indica xeque-mate ou afogamento).
+    public static int generateLegal(Board board, int[] moves) {
+        return generate(board, moves, ALL, ~0L);
+    }
+
+    // Gera só as capturas e promoções legais do jogador da vez. Retorna: a quantidade de lances escritos.
+    public static int generateCaptures(Board board, int[] moves) {
+        return generate(board, moves, CAPTURES, ~0L);
+    }
+
+    // Gera só os lances legais que não capturam nem promovem (incluindo o roque).
+    // Retorna: a quantidade de lances escritos.
+    public static int generateQuiets(Board board, int[] moves) {
+        return generate(board, moves, QUIETS, ~0L);
+    }
+
+    // Retorna true se o lance for legal na posição. Só os lances da peça na casa de origem são gerados,
+    // então serve para conferir, sem gerar a lista inteira, um lance vindo de outra posição
+    // (tabela de transposição, lances matadores da busca). Aloca um vetor a cada chamada; a busca usa
+    // isLegal(board, move, buffer).
+    public static boolean isLegal(Board board, int move) {
+        return isLegal(board, move, new int[MAX_PIECE_MOVES]);
+    }
+
+    // Como isLegal(board, move), gerando os lances da peça em "buffer" (pelo menos MAX_PIECE_MOVES posições),
+    // sem alocar nada
+    public static boolean isLegal(Board board, int move, int[] buffer) {
+        if (move == Move.NONE) return false;
+        int from = Move.from(move);
+        Piece piece = board.pieceAt(from);
+        if (piece == null || piece.isWhite() != board.isWhiteToMove()) return false;
+        int group = Move.isCapture(move) || Move.isPromotion(move) ? CAPTURES : QUIETS;
+        int count = generate(board, buffer, group, Bitboards.bit(from));
+        for (int i = 0; i < count; i++) {
+            if (buffer[i] == move) return true;
+        }
+        return false;
+    }
+
+    // Gera os lances do grupo indicado (ALL, CAPTURES ou QUIETS) das peças nas casas de "fromMask"
+    private static int generate(Board board, int[] moves, int group, long fromMask) {
+        boolean white = board.isWhiteToMove();
+        long own = board.getOccupancy(white);
+        long enemy = board.getOccupancy(!white);
+        long occupied = own | enemy;
+        int king = board.getKingSquare(white);
+        int count = 0;
+        // Destinos permitidos pelo grupo: capturas só nas peças adversárias, lances quietos só nas casas vazias
+        long groupTargets = group == CAPTURES ? enemy : group == QUIETS ? ~enemy : ~0L;
+
+        // Sem rei no tabuleiro (posições de teste) não há cheque nem cravada a considerar
+        long checkers = 0L;
+        long checkMask = ~0L;   // destinos que capturam o atacante ou bloqueiam o cheque
+        long pinned = 0L;
+        if (king >= 0) {
+            checkers = board.attackersTo(king, occupied) & enemy;
+
+            // Lances do rei: o destino não pode ser atacado nem através da casa que o rei deixa
+            long kingTargets = (fromMask & Bitboards.bit(king)) != 0 ? Attacks.king(king) & ~own & groupTargets : 0L;
+            long withoutKing = occupied ^ Bitboards.bit(king);
+            while (kingTargets != 0) {
+                int to = Long.numberOfTrailingZeros(kingTargets);
+                kingTargets &= kingTargets - 1;
+                if ((board.attackersTo(to, withoutKing) & enemy) == 0) {
+                    moves[count++] = Move.encode(king, to, (enemy & Bitboards.bit(to)) != 0 ? Move.CAPTURE : 0);
+                }
+            }
+
+            // Xeque duplo: só o rei pode se mover
+            if (Long.bitCount(checkers) > 1) {
+                return count;
+            }
+            if (checkers != 0) {
+                checkMask = checkers | Bitboards.between(king, Long.numberOfTrailingZeros(checkers));
+            }
+            pinned = pinnedPieces(board, white, king, own, occupied);
+        }
+
+        long targets = ~own & checkMask;
+        count = generatePawnMoves(board, white, king, pinned, enemy, occupied, targets, group, fromMask, moves, count);
+        targets &= groupTargets;
+
+        // Cavalos cravados nunca podem se mover
+        long knights = board.getPieces(white, Board.KNIGHT) & ~pinned & fromMask;
+        while (knights != 0) {
+            int from = Long.numberOfTrailingZeros(knights);
+            knights &= knights - 1;
+            count = addMoves(moves, count, from, Attacks.knight(from) & targets, enemy);
+        }
+
+        long diagonals = (board.getPieces(white, Board.BISHOP) | board.getPieces(white, Board.QUEEN)) & fromMask;
+        while (diagonals != 0) {
+            int from = Long.numberOfTrailingZeros(diagonals);
+            diagonals &= diagonals - 1;
+            long reach = Attacks.bishop(from, occupied) & targets;
+            if ((pinned & Bitboards.bit(from)) != 0) reach &= Bitboards.line(king, from);
+            count = addMoves(moves, count, from, reach, enemy);
+        }
+
+        long orthogonals = (board.getPieces(white, Board.ROOK) | board.getPieces(white, Board.QUEEN)) & fromMask;
+        while (orthogonals != 0) {
+            int from = Long.numberOfTrailingZeros(orthogonals);
+            orthogonals &= orthogonals - 1;
+            long reach = Attacks.rook(from, occupied) & targets;
+            if ((pinned & Bitboards.bit(from)) != 0) reach &= Bitboards.line(king, from);
+            count = addMoves(moves, count, from, reach, enemy);
+        }
+
+        if (checkers == 0 && group != CAPTURES && king >= 0 && (fromMask & Bitboards.bit(king)) != 0) {
+            count = generateCastling(board, white, occupied, moves, count);
+        }
+        return count;
+    }
+
+    // Peças da cor indicada cravadas contra o próprio rei: a única peça entre o rei e uma
+    // torre, bispo ou rainha adversária alinhada com ele.
+    private static long pinnedPieces(Board board, boolean white, int king, long own, long occupied) {
+        long enemyDiagonals = board.getPieces(!white, Board.BISHOP) | board.getPieces(!white, Board.QUEEN);
+        long enemyOrthogonals = board.getPieces(!white, Board.ROOK) | board.getPieces(!white, Board.QUEEN);
+        long snipers = (Attacks.bishop(king, 0L) & enemyDiagonals) | (Attacks.rook(king, 0L) & enemyOrthogonals);
+
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Bitboards.between(king, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & own;
+            }
+        }
+        return pinned;
+    }
+
+    // Avanços simples e duplos, capturas, en passant e promoções.
+    // Peões livres são tratados todos de uma vez; peões cravados, um a um, restritos à linha da cravada.
+    // No grupo CAPTURES os avanços só entram se promoverem; no grupo QUIETS, só se não promoverem.
+    private static int generatePawnMoves(Board board, boolean white, int king, long pinned, long enemy,
+                                         long occupied, long targets, int group, long fromMask,
+                                         int[] moves, int count) {
+        long pawns = board.getPieces(white, Board.PAWN) & fromMask;
+        long pushTargets = group == CAPTURES ? PROMOTION_ROWS : group == QUIETS ? ~PROMOTION_ROWS : ~0L;
+        long captureTargets = group == QUIETS ? 0L : enemy;
+        count = generatePawnSet(white, pawns & ~pinned, captureTargets, occupied, targets, pushTargets, moves, count);
+
+        long pinnedPawns = pawns & pinned;
+        while (pinnedPawns != 0) {
+            int from = Long.numberOfTrailingZeros(pinnedPawns);
+            pinnedPawns &= pinnedPawns - 1;
+            count = generatePawnSet(white, Bitboards.bit(from), captureTargets, occupied,
+                                    targets & Bitboards.line(king, from), pushTargets, moves, count);
+        }
+
+        int epSquare = board.getEnPassantSquare();
+        if (group != QUIETS && epSquare >= 0 && (occupied & Bitboards.bit(epSquare)) == 0) {
+            count = generateEnPassant(board, white, king, pawns, epSquare, moves, count);
+        }
+        return count;
+    }
+
+    // Lances de peão (exceto en passant) para um conjunto de peões, calculados com deslocamentos de bits.
+    // "enemy" são as casas que podem ser capturadas e "pushTargets", as que podem ser alcançadas por avanços.
+    private static int generatePawnSet(boolean white, long pawns, long enemy, long occupied, long targets,
+                                       long pushTargets, int[] moves, int count) {
+        if (pawns == 0) return count;
+        long empty = ~occupied;
+
+        long single, doubles, leftCaptures, rightCaptures;
+        int forward; // deslocamento de índice de um avanço simples
+        if (white) {
+            single = (pawns >>> 8) & empty;
+            doubles = ((single & Bitboards.rowMask(5)) >>> 8) & empty;
+            leftCaptures = (pawns & ~Bitboards.FILE_A) >>> 9;
+            rightCaptures = (pawns & ~Bitboards.FILE_H) >>> 7;
+            forward = -8;
+        } else {
+            single = (pawns << 8) & empty;
+            doubles = ((single & Bitboards.rowMask(2)) << 8) & empty;
+            leftCaptures = (pawns & ~Bitboards.FILE_A) << 7;
+            rightCaptures = (pawns & ~Bitboards.FILE_H) << 9;
+            forward = 8;
+        }
+
+        count = addPawnMoves(moves, count, single & targets & pushTargets, forward, 0);
+        count = addPawnMoves(moves, count, doubles & targets & pushTargets, 2 * forward, Move.DOUBLE_PUSH);
+        count = addPawnMoves(moves, count, leftCaptures & enemy & targets, forward - 1, Move.CAPTURE);
+        count = addPawnMoves(moves, count, rightCaptures & enemy & targets, forward + 1, Move.CAPTURE);
+        return count;
+    }
+
+    // En passant: o lance é verificado refazendo a ocupação sem os dois peões, pois a captura
+    // remove duas peças da mesma fileira do rei e pode descobrir um cheque que a cravada não vê.
+    private static int generateEnPassant(Board board, boolean white, int king, long pawns, int epSquare,
+                                         int[] moves, int count) {
+        long attackers = Attacks.pawn(!white, epSquare) & pawns;
+        int captureSquare = white ? epSquare + 8 : epSquare - 8;
+        long enemy = board.getOccupancy(!white);
+        while (attackers != 0) {
+            int from = Long.numberOfTrailingZeros(attackers);
+            attackers &= attackers - 1;
+            if (king >= 0) {
+                long after = (board.getOccupied() ^ Bitboards.bit(from) ^ Bitboards.bit(captureSquare))
+                           | Bitboards.bit(epSquare);
+                if ((board.attackersTo(king, after) & enemy & ~Bitboards.bit(captureSquare)) != 0) {
+                    continue;
+                }
+            }
+            moves[count++] = Move.encode(from, epSquare, Move.EN_PASSANT);
+        }
+        return count;
+    }
+
+    // Adiciona os lances de peão para cada destino, recuperando a origem pelo deslocamento.
+    // Destinos na última fileira viram quatro lances de promoção.
+    private static int addPawnMoves(int[] moves, int count, long targets, int offset, int flags) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            int from = to - offset;
+            if (to < 8 || to >= 56) {
+                for (int promotion : PROMOTIONS) {
+                    moves[count++] = Move.encode(from, to, flags, promotion);
+                }
+            } else {
+                moves[count++] = Move.encode(from, to, flags);
+            }
+        }
+        return count;
+    }
+
+    // Adiciona um lance para cada destino, marcando as capturas
+    private static int addMoves(int[] moves, int count, int from, long targets, long enemy) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            int flags = (enemy & Bitboards.bit(to)) != 0 ? Move.CAPTURE : 0;
+            moves[count++] = Move.encode(from, to, flags);
+        }
+        return count;
+    }
+
+    // Roque: direito ainda válido (rei e torre nas casas de origem, sem terem se movido), casas entre eles
+    // vazias e nenhuma das casas por onde o rei passa atacada. Só é chamado quando o rei não está em cheque.
+    private static int generateCastling(Board board, boolean white, long occupied, int[] moves, int count) {
+        int rights = board.getCastlingRights();
+        int row = white ? 7 : 0;
+        int kingSquare = Bitboards.square(row, 4);
+        if ((rights & Board.castlingRight(white, true)) != 0
+                && (Bitboards.between(kingSquare, Bitboards.square(row, 7)) & occupied) == 0
+                && !board.isSquareAttacked(kingSquare + 1, !white)
+                && !board.isSquareAttacked(kingSquare + 2, !white)) {
+            moves[count++] = Move.encode(kingSquare, kingSquare + 2, Move.CASTLING);
+        }
+        if ((rights & Board.castlingRight(white, false)) != 0
+                && (Bitboards.between(kingSquare, Bitboards.square(row, 0)) & occupied) == 0
+                && !board.isSquareAttacked(kingSquare - 1, !white)
+                && !board.isSquareAttacked(kingSquare - 2, !white)) {
+            moves[count++] = Move.encode(kingSquare, kingSquare - 2, Move.CASTLING);
+        }
+        return count;
+    }
+}
@@ -2,8 +2,11 @@ package model;
 
 class Pawn extends Piece {
 
-    // Constrói um peão branco ou preto
-    public Pawn(boolean isWhite) {
+    public static final Pawn WHITE = new Pawn(true);   // o peão branco
+    public static final Pawn BLACK = new Pawn(false);  // o peão preto
+
+    // Constrói um peão branco ou preto (só para as duas instâncias acima)
+    private Pawn(boolean isWhite) {
         super(isWhite);
     }
 
@@ -31,11 +34,15 @@ class Pawn extends Piece {
             if (target != null && target.isWhite() != isWhite) return true;
 
             // En passant: captura de peão adversário recém-avançado
-            Position enPassant = ChessModel.getInstance().getEnPassantTarget();
-            if (enPassant != null && to.equals(enPassant)) return true;
+            int enPassant = board.getEnPassantSquare();
+            if (enPassant >= 0 && Bitboards.square(to.row, to.col) == enPassant) return true;
         }
 
         return false;
     }
 
+    @Override
+    public int getType() {
+        return Board.PAWN;
+    }
 }
@@ -1,16 +1,29 @@
 package model;
 
+// Peça de xadrez sem estado além da cor: existe uma única instância de cada tipo e cor
+// (ex.: King.WHITE), compartilhada por todos os tabuleiros. O que depende da partida, como
+// os direitos de roque, fica no tabuleiro (Board.getCastlingRights).
 abstract class Piece {
-    protected boolean isWhite;
-
-    // Indica se a peça já foi movida alguma vez no jogo (importante para roque e en passant)
-    protected boolean hasMoved = false;
+    protected final boolean isWhite;
     
     // Construtor base para todas as peças, define se é branca ou preta
-    public Piece(boolean isWhite) {
+    protected Piece(boolean isWhite) {
         this.isWhite = isWhite;
     }
 
+    // Retorna a instância da peça do tipo (Board.PAWN, ..., Board.KING) e cor indicados
+    public static Piece of(int type, boolean white) {
+        switch (type) {
+            case Board.PAWN: return white ? Pawn.WHITE : Pawn.BLACK;
+            case Board.KNIGHT: return white ? Knight.WHITE : Knight.BLACK;
+            case Board.BISHOP: return white ? Bishop.WHITE : Bishop.BLACK;
+            case Board.ROOK: return white ? Rook.WHITE : Rook.BLACK;
+            case Board.QUEEN: return white ? Queen.WHITE : Queen.BLACK;
+            case Board.KING: return white ? King.WHITE : King.BLACK;
+            default: throw new IllegalArgumentException("Tipo de peça inválido: " + type);
+        }
+    }
+
     // Retorna true se a peça for branca
     public boolean isWhite() {
         return isWhite;
@@ -19,15 +32,12 @@ abstract class Piece {
     // Recebe: posição inicial, posição final e o tabuleiro
     // Retorna: true se o movimento for válido segundo as regras da peça
     public abstract boolean isValidMove(Position from, Position to, Board board);
-    
-    // Retorna true se a peça já se moveu (usado no roque)
-    public boolean hasMoved() {
-        return hasMoved;
-    }
 
-    // Define o estado de "já se moveu" para a peça
-    public void setHasMoved(boolean moved) {
-        this.hasMoved = moved;
-    }
+    // Retorna o tipo da peça (Board.PAWN, Board.KNIGHT, ..., Board.KING)
+    public abstract int getType();
 
+    // Retorna o índice do bitboard da peça no tabuleiro (cor * 6 + tipo)
+    public int getIndex() {
+        return (isWhite ? Board.WHITE : Board.BLACK) * 6 + getType();
+    }
 }
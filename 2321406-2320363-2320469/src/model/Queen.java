@@ -2,8 +2,11 @@ package model;
 
 class Queen extends Piece {
 
-    // Constrói uma rainha branca ou preta
-    public Queen(boolean isWhite) {
+    public static final Queen WHITE = new Queen(true);   // a rainha branca
+    public static final Queen BLACK = new Queen(false);  // a rainha preta
+
+    // Constrói uma rainha branca ou preta (só para as duas instâncias acima)
+    private Queen(boolean isWhite) {
         super(isWhite);
     }
 
@@ -11,32 +14,20 @@ class Queen extends Piece {
     // Retorna: true se o movimento for válido (reto ou diagonal, com caminho livre e destino desocupado ou com peça adversária)
     @Override
     public boolean isValidMove(Position from, Position to, Board board) {
-        int rowDiff = Math.abs(from.row - to.row);
-        int colDiff = Math.abs(from.col - to.col);
-
-        int rowStep = Integer.compare(to.row, from.row);
-        int colStep = Integer.compare(to.col, from.col);
-
-        // Verifica se o movimento é reto (horizontal/vertical) ou diagonal
-        if (rowDiff == colDiff || rowDiff == 0 || colDiff == 0) {
-
-            // Verifica se há peças no caminho até o destino
-            int currentRow = from.row + rowStep;
-            int currentCol = from.col + colStep;
+        int fromSquare = Bitboards.square(from.row, from.col);
+        long target = Bitboards.bit(Bitboards.square(to.row, to.col));
 
-            while (currentRow != to.row || currentCol != to.col) {
-                if (!board.isEmpty(currentRow, currentCol)) {
-                    return false;
-                }
-                currentRow += rowStep;
-                currentCol += colStep;
-            }
-
-            // Verifica se o destino está vazio ou contém peça adversária
-            Piece destinationPiece = board.getPiece(to.row, to.col);
-            return destinationPiece == null || destinationPiece.isWhite() != this.isWhite;
+        // O destino deve estar em linha reta ou diagonal, sem peças no caminho (consulta à tabela de ataques)
+        if ((Attacks.queen(fromSquare, board.getOccupied()) & target) == 0) {
+            return false;
         }
 
-        return false;
+        // Verifica se o destino está vazio ou contém peça adversária
+        return (board.getOccupancy(isWhite) & target) == 0;
+    }
+
+    @Override
+    public int getType() {
+        return Board.QUEEN;
     }
 }
@@ -2,8 +2,11 @@ package model;
 
 class Rook extends Piece {
 
-    // Constrói uma torre branca ou preta
-    public Rook(boolean isWhite) {
+    public static final Rook WHITE = new Rook(true);   // a torre branca
+    public static final Rook BLACK = new Rook(false);  // a torre preta
+
+    // Constrói uma torre branca ou preta (só para as duas instâncias acima)
+    private Rook(boolean isWhite) {
         super(isWhite);
     }
 
@@ -11,28 +14,20 @@ class Rook extends Piece {
     // Retorna: true se o movimento for válido (reto, sem obstáculos e sem capturar peça aliada)
     @Override
     public boolean isValidMove(Position from, Position to, Board board) {
-        // Movimento deve ser estritamente horizontal ou vertical
-        if (from.row != to.row && from.col != to.col) {
-            return false;
-        }
-
-        int rowStep = Integer.compare(to.row, from.row);
-        int colStep = Integer.compare(to.col, from.col);
-
-        // Verifica se há peças no caminho até o destino
-        int currentRow = from.row + rowStep;
-        int currentCol = from.col + colStep;
+        int fromSquare = Bitboards.square(from.row, from.col);
+        long target = Bitboards.bit(Bitboards.square(to.row, to.col));
 
-        while (currentRow != to.row || currentCol != to.col) {
-            if (!board.isEmpty(currentRow, currentCol)) {
-                return false;
-            }
-            currentRow += rowStep;
-            currentCol += colStep;
+        // O destino deve estar na mesma linha ou coluna, sem peças no caminho (consulta à tabela de ataques)
+        if ((Attacks.rook(fromSquare, board.getOccupied()) & target) == 0) {
+            return false;
         }
 
         // Verifica se o destino está vazio ou contém peça adversária
-        Piece destinationPiece = board.getPiece(to.row, to.col);
-        return destinationPiece == null || destinationPiece.isWhite() != this.isWhite;
+        return (board.getOccupancy(isWhite) & target) == 0;
+    }
+
+    @Override
+    public int getType() {
+        return Board.ROOK;
     }
 }
@@ -0,0 +1,98 @@
+package model;
+
+// Avaliação estática de trocas (SEE): o saldo de material de um lance considerando a sequência de capturas
+// na casa de destino, em que cada lado recaptura sempre com a peça menos valiosa e pode parar quando
+// continuar só perderia material. É calculada apenas com os bitboards de ataque, sem fazer nem desfazer
+// lances: a cada captura a peça sai da ocupação e os atacantes são recalculados, o que revela os raios
+// de torres, bispos e rainhas que estavam atrás dela. Cravadas são ignoradas.
+// Serve para ordenar e podar capturas na busca e para avisar na interface que uma captura perde material.
+public final class StaticExchange {
+
+    // Tamanho mínimo do vetor de saldos de evaluate: uma casa tem no máximo 30 atacantes (16 peças de cada lado)
+    public static final int MAX_EXCHANGES = 32;
+
+    // Valores das peças para as trocas (índice = tipo do Board); o rei nunca é capturado de fato
+    private static final int[] VALUES = {100, 320, 330, 500, 900, 20000};
+
+    private StaticExchange() {
+    }
+
+    // Retorna o saldo de material do lance para quem o faz, em centésimos de peão, ao fim da melhor
+    // sequência de recapturas na casa de destino (0 para um lance quieto para uma casa segura).
+    // Aloca o vetor de saldos a cada chamada; a busca usa evaluate(board, move, gain).
+    public static int evaluate(Board board, int move) {
+        return evaluate(board, move, new int[MAX_EXCHANGES]);
+    }
+
+    // Como evaluate(board, move), com os saldos da sequência em "gain" (pelo menos MAX_EXCHANGES posições),
+    // sem alocar nada
+    public static int evaluate(Board board, int move, int[] gain) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int attacker = board.getPieceType(from);
+        if (attacker < 0) {
+            throw new IllegalArgumentException("Nenhuma peça na origem do lance " + Move.toUci(move));
+        }
+        boolean white = (board.getOccupancy(true) & Bitboards.bit(from)) != 0;
+
+        long occupancy = board.getOccupied() ^ Bitboards.bit(from);
+        // gain[d]: saldo de quem faz a d-ésima captura, se a sequência parar nela
+        if ((Move.flags(move) & Move.EN_PASSANT) != 0) {
+            gain[0] = VALUES[Board.PAWN];
+            occupancy ^= Bitboards.bit(white ? to + 8 : to - 8);
+        } else {
+            int victim = board.getPieceType(to);
+            gain[0] = victim >= 0 ? VALUES[victim] : 0;
+        }
+        // Na promoção, a peça que fica na casa (e pode ser recapturada) é a nova
+        int onSquare = attacker;
+        if (Move.isPromotion(move)) {
+            onSquare = Move.promotion(move);
+            gain[0] += VALUES[onSquare] - VALUES[Board.PAWN];
+        }
+
+        int depth = 0;
+        boolean side = !white;
+        long attackers = board.attackersTo(to, occupancy) & occupancy;
+        while (true) {
+            long own = attackers & board.getOccupancy(side);
+            if (own == 0) break;
+            int type = Board.PAWN;
+            long piece = 0L;
+            for (; type <= Board.KING; type++) {
+                piece = own & board.getPieces(side, type);
+                if (piece != 0) break;
+            }
+            // O rei só recaptura se o adversário não tiver mais quem ataque a casa
+            if (type == Board.KING && (attackers & board.getOccupancy(!side)) != 0) break;
+
+            depth++;
+            gain[depth] = VALUES[onSquare] - gain[depth - 1];
+            // Nenhum resultado da sequência daqui em diante pode mudar o sinal: não precisa continuar
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) break;
+
+            occupancy ^= piece & -piece;
+            attackers = board.attackersTo(to, occupancy) & occupancy;
+            onSquare = type;
+            side = !side;
+        }
+        // Volta pela sequência: cada lado escolhe entre recapturar e parar
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    // Retorna true se o lance perde material pela sequência de trocas na casa de destino; "gain" é o vetor
+    // de saldos de evaluate. Capturar uma peça que vale pelo menos a atacante nunca perde: a sequência nem
+    // precisa ser calculada.
+    public static boolean isLosing(Board board, int move, int[] gain) {
+        int victim = board.getPieceType(Move.to(move));
+        int attacker = board.getPieceType(Move.from(move));
+        if (victim >= 0 && attacker >= 0 && VALUES[victim] >= VALUES[attacker]) {
+            return false;
+        }
+        return evaluate(board, move, gain) < 0;
+    }
+}
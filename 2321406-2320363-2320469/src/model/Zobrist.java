@@ -0,0 +1,52 @@
+package model;
+
+import java.util.Random;
+
+// Números aleatórios de Zobrist: a chave de uma posição é o XOR dos números de cada peça em sua casa,
+// da vez das pretas, dos direitos de roque e da coluna de en passant.
+// A semente é fixa para que a mesma posição tenha a mesma chave em qualquer execução.
+final class Zobrist {
+
+    private static final long[][] PIECES = new long[12][64]; // [cor * 6 + tipo][casa]
+    private static final long[] CASTLING = new long[16];     // [combinação dos direitos de roque]
+    private static final long[] EN_PASSANT = new long[8];    // [coluna]
+    static final long BLACK_TO_MOVE;
+
+    static {
+        Random random = new Random(0x5EED_C4E55L);
+        for (long[] table : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                table[square] = random.nextLong();
+            }
+        }
+        // Cada direito tem o seu número; uma combinação é o XOR dos números dos seus direitos
+        long[] rights = new long[4];
+        for (int i = 0; i < 4; i++) {
+            rights[i] = random.nextLong();
+        }
+        for (int mask = 1; mask < 16; mask++) {
+            for (int i = 0; i < 4; i++) {
+                if ((mask & (1 << i)) != 0) CASTLING[mask] ^= rights[i];
+            }
+        }
+        for (int col = 0; col < 8; col++) {
+            EN_PASSANT[col] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    static long piece(int index, int square) {
+        return PIECES[index][square];
+    }
+
+    static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    static long enPassant(int col) {
+        return EN_PASSANT[col];
+    }
+}
@@ -1,16 +1,15 @@
 package observer;
 
 import java.util.List;
-import java.util.ArrayList;
 
 public interface Observable {
-	/* Implementação default para evitar código repetido */
-    List<Observer> OBSERVERS = new ArrayList<>();
+	/* Cada observável guarda a sua própria lista; a implementação default evita código repetido */
+    List<Observer> getObservers();
 
-    default void addObserver(Observer o)   { OBSERVERS.add(o); }
-    default void remObserver(Observer o)   { OBSERVERS.remove(o); }
+    default void addObserver(Observer o)   { getObservers().add(o); }
+    default void remObserver(Observer o)   { getObservers().remove(o); }
     default void notifyObservers()         { 
-        for (Observer ob : List.copyOf(OBSERVERS))
+        for (Observer ob : List.copyOf(getObservers()))
             ob.notify(this);
     }
 }
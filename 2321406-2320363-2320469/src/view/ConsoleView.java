@@ -1,6 +1,7 @@
 package view;
 
 import controller.GameController;
+import engine.SearchResult;
 import model.ChessModel;
 
 import javax.swing.*;
@@ -14,6 +15,7 @@ public class ConsoleView extends JFrame {
     private GameView gameView;
     private GameController controller;
     private JLabel turnLabel;
+    private JLabel computerLabel; // profundidade, avaliação e nós por segundo do último lance do computador
 
     /**
      * Construtor da janela principal. Recebe o modelo já pronto (novo ou carregado).
@@ -55,13 +57,55 @@ public class ConsoleView extends JFrame {
         gameMenu.add(newGame);
         gameMenu.add(loadMatch);
         menuBar.add(gameMenu);
+        menuBar.add(createComputerMenu());
 
         turnLabel = new JLabel(); // agora inicializada
         menuBar.add(turnLabel);
 
+        computerLabel = new JLabel();
+        menuBar.add(Box.createHorizontalStrut(20));
+        menuBar.add(computerLabel);
+
         return menuBar;
     }
 
+    /**
+     * Cria o menu que escolhe a cor jogada pelo computador (ou nenhuma, para dois jogadores).
+     */
+    private JMenu createComputerMenu() {
+        JMenu computerMenu = new JMenu("Computador");
+        ButtonGroup group = new ButtonGroup();
+
+        JRadioButtonMenuItem none = new JRadioButtonMenuItem("Dois jogadores", true);
+        none.addActionListener(e -> controller.disableComputerPlayer());
+        JRadioButtonMenuItem white = new JRadioButtonMenuItem("Computador com as brancas");
+        white.addActionListener(e -> controller.setComputerPlayer(true));
+        JRadioButtonMenuItem black = new JRadioButtonMenuItem("Computador com as pretas");
+        black.addActionListener(e -> controller.setComputerPlayer(false));
+
+        for (JRadioButtonMenuItem item : new JRadioButtonMenuItem[]{none, white, black}) {
+            group.add(item);
+            computerMenu.add(item);
+        }
+        return computerMenu;
+    }
+
+    /**
+     * Mostra no menu o resultado teórico de um final coberto pelas bases de finais.
+     */
+    public void showEndgameInfo(String text) {
+        computerLabel.setText(text);
+    }
+
+    /**
+     * Mostra no menu a profundidade alcançada, a avaliação, o tempo e os nós por segundo da última busca.
+     */
+    public void showComputerInfo(SearchResult result) {
+        computerLabel.setText(String.format("Profundidade %d, %s, %d ms, %,d nós/s", result.getDepth(),
+                SearchResult.formatScore(result.getScore()), result.getElapsedNanos() / 1_000_000,
+                result.getNodesPerSecond()));
+    }
+
     /**
      * Atualiza a label de turno no menu.
      */
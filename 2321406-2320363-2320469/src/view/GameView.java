@@ -9,8 +9,6 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Classe responsável pela visualização do tabuleiro de xadrez.
@@ -26,7 +24,7 @@ public class GameView extends JPanel {
     private String[] codes = {"bp", "br", "bn", "bb", "bq", "bk", "wp", "wr", "wn", "wb", "wq", "wk"};
     private Color white = new Color(243, 233, 208);  
     private Color black = new Color(60, 25, 99); 
-    private List<int[]> validMoves = new ArrayList<>(); // lista de arrays de posicoes validas
+    private long validTargets = 0L; // destinos validos da peca selecionada, um bit por casa (linha * 8 + coluna)
     private int selectedRow = -1;  // Linha da peça selecionada
     private int selectedCol = -1;  // Coluna da peça selecionada
     private boolean promotionMenuVisible = false;
@@ -50,6 +48,11 @@ public class GameView extends JPanel {
                     return;
                 }
             	
+                // Na vez do computador os cliques no tabuleiro são ignorados
+                if (controller != null && controller.isComputerTurn()) {
+                    return;
+                }
+
                 int col = e.getX() / TILE_SIZE;
                 int row = e.getY() / TILE_SIZE;
 
@@ -62,28 +65,29 @@ public class GameView extends JPanel {
                 if (model.selectPiece(row, col)) {
                     selectedRow = row;
                     selectedCol = col;
-                    validMoves = model.getValidMovesForPiece(row, col);
+                    validTargets = model.getValidTargetMask(row, col);
                 } else {
-                    try {
-                        if (model.selectTargetSquare(row, col)) {
-                            if (model.hasPendingPromotion()) {
-                                showPromotionMenu(e.getX(), e.getY());
-                            } else {
-                                selectedRow = -1;
-                                selectedCol = -1;
-                                if (controller != null) {
-                                    controller.checkEndOfGame(); // Verifica se o jogo terminou
-                                }
-                            }
+                    if (row >= BOARD_SIZE || col >= BOARD_SIZE) {
+                        // Coordenadas inválidas, ignora o clique
+                        return;
+                    }
+                    // Só consulta o modelo se a casa clicada for um destino válido (teste de um bit)
+                    boolean isTarget = (validTargets & (1L << (row * BOARD_SIZE + col))) != 0;
+                    if (isTarget && model.selectTargetSquare(row, col)) {
+                        if (model.hasPendingPromotion()) {
+                            showPromotionMenu(e.getX(), e.getY());
                         } else {
                             selectedRow = -1;
                             selectedCol = -1;
+                            if (controller != null) {
+                                controller.checkEndOfGame(); // Verifica se o jogo terminou
+                            }
                         }
-                    } catch (IllegalArgumentException ex) {
-                        // Coordenadas inválidas, ignora o clique
-                        return;
+                    } else {
+                        selectedRow = -1;
+                        selectedCol = -1;
                     }
-                    validMoves.clear();
+                    validTargets = 0L;
                 }
                 repaint(); // Atualiza o painel
             }
@@ -155,8 +159,11 @@ public class GameView extends JPanel {
 
         // Destaca os movimentos válidos da peça selecionada
         g2.setColor(new Color(128, 0, 0, 180));
-        for (int[] move : validMoves) {
-            g2.fillRect(move[1] * TILE_SIZE, move[0] * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+        long targets = validTargets;
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            g2.fillRect((square % BOARD_SIZE) * TILE_SIZE, (square / BOARD_SIZE) * TILE_SIZE, TILE_SIZE, TILE_SIZE);
         }
     }
 
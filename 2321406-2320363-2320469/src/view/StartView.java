@@ -2,11 +2,18 @@ package view;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.Supplier;
 import model.ChessModel;
 import controller.GameController;
 
 public class StartView extends JFrame {
+    // Tela inicial com um modelo novo e independente para cada partida
     public StartView() {
+        this(ChessModel::new);
+    }
+
+    // Recebe: fábrica dos modelos usados pelas partidas abertas a partir desta tela
+    public StartView(Supplier<ChessModel> modelFactory) {
     	// Padronizando formato da janela
         super("Início - Jogo de Xadrez");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -24,13 +31,12 @@ public class StartView extends JFrame {
         // Nova partida (talvez mudar pra tirar esse action listener)
         newGameBtn.addActionListener(e -> {
             dispose();
-            ChessModel.resetInstance();
-            new ConsoleView(ChessModel.getInstance());
+            new ConsoleView(modelFactory.get());
         });
 
         // Carregar FEN de arquivo .txt
         loadFENFileBtn.addActionListener(e -> {
-            GameController tempController = new GameController(ChessModel.getInstance());
+            GameController tempController = new GameController(modelFactory.get());
             ChessModel loadedModel = tempController.loadMatchByFile(this);
 
             if (loadedModel != null) {
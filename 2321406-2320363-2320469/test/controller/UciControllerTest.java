@@ -0,0 +1,163 @@
+package controller;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe de teste do protocolo UCI: o controlador roda na sua própria thread, como ligado a uma interface,
+ * recebendo os comandos por um pipe e respondendo por outro.
+ */
+public class UciControllerTest {
+    private UciController controller;
+    private Thread thread;
+    private PrintWriter commands;
+    private BufferedReader responses;
+
+    @Before
+    public void setUp() throws IOException {
+        PipedWriter commandPipe = new PipedWriter();
+        BufferedReader in = new BufferedReader(new PipedReader(commandPipe));
+        PipedInputStream responsePipe = new PipedInputStream(1 << 16);
+        PrintStream out = new PrintStream(new PipedOutputStream(responsePipe), true, "UTF-8");
+        commands = new PrintWriter(commandPipe, true);
+        responses = new BufferedReader(new InputStreamReader(responsePipe, StandardCharsets.UTF_8));
+        controller = new UciController(in, out);
+        thread = new Thread(() -> {
+            try {
+                controller.run();
+            } catch (IOException ex) {
+                // o pipe foi fechado pelo teste
+            }
+        });
+        thread.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        commands.println("quit");
+        thread.join(2000);
+    }
+
+    // Lê as respostas até a primeira que começa com o prefixo, e a retorna
+    private String expect(String prefix) throws IOException {
+        String line;
+        while ((line = responses.readLine()) != null) {
+            if (line.startsWith(prefix)) return line;
+        }
+        fail("Fim da saída sem a resposta " + prefix);
+        return null;
+    }
+
+    // Testa a apresentação do motor - Resultado esperado: nome, opções, uciok e readyok
+    @Test(timeout = 5000)
+    public void handshake() throws IOException {
+        commands.println("uci");
+        assertEquals("id name " + UciController.ENGINE_NAME, expect("id name"));
+        assertTrue(expect("option name Hash").contains("type spin"));
+        expect("uciok");
+        commands.println("isready");
+        assertEquals("readyok", expect("readyok"));
+    }
+
+    // Testa position com lances e go depth - Resultado esperado: um info por profundidade e um lance legal
+    @Test(timeout = 10000)
+    public void searchesPositionWithMoves() throws IOException {
+        commands.println("position startpos moves e2e4 e7e5 g1f3");
+        commands.println("go depth 3");
+        assertTrue(expect("info depth 1").contains(" pv "));
+        expect("info depth 3");
+        String best = expect("bestmove").substring("bestmove ".length());
+        assertFalse(controller.getModel().isWhiteTurn());
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(controller.getModel().getBoard(), moves);
+        boolean legal = false;
+        for (int i = 0; i < count; i++) {
+            legal |= Move.toUci(moves[i]).equals(best);
+        }
+        assertTrue("Lance legal das pretas: " + best, legal);
+    }
+
+    // Testa um mate em um a partir de uma FEN - Resultado esperado: "score mate 1" e o lance do mate
+    @Test(timeout = 5000)
+    public void findsMateFromFen() throws IOException {
+        commands.println("position fen 4k3/8/4K3/8/8/8/8/7R w - - 0 1");
+        commands.println("go depth 3");
+        assertTrue(expect("info depth").contains("score mate 1"));
+        assertEquals("bestmove h1h8", expect("bestmove"));
+    }
+
+    // Testa stop numa busca infinita - Resultado esperado: nenhum lance antes do stop e o lance logo depois dele
+    @Test(timeout = 10000)
+    public void stopEndsInfiniteSearch() throws IOException, InterruptedException {
+        commands.println("position startpos");
+        commands.println("go infinite");
+        expect("info depth 2");
+        Thread.sleep(200);
+        long start = System.nanoTime();
+        commands.println("stop");
+        String best = expect("bestmove");
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("Resposta ao stop em " + millis + " ms", millis < 250);
+        assertNotEquals("bestmove 0000", best);
+    }
+
+    // Testa go infinite numa posição que a busca resolve sozinha - Resultado esperado: o lance só sai com o stop
+    @Test(timeout = 5000)
+    public void infiniteSearchWaitsForStop() throws IOException, InterruptedException {
+        commands.println("position fen 4k3/8/4K3/8/8/8/8/7R w - - 0 1");
+        commands.println("go infinite");
+        expect("info depth");
+        Thread.sleep(100);
+        assertFalse("Nenhum bestmove antes do stop", responses.ready());
+        commands.println("stop");
+        assertEquals("bestmove h1h8", expect("bestmove"));
+    }
+
+    // Testa go com nós e com relógio - Resultado esperado: as duas buscas terminam sozinhas com um lance
+    @Test(timeout = 10000)
+    public void searchesWithNodeAndClockLimits() throws IOException {
+        commands.println("position startpos moves d2d4");
+        commands.println("go nodes 20000");
+        assertNotEquals("bestmove 0000", expect("bestmove"));
+        commands.println("go wtime 1000 btime 1000 winc 0 binc 0");
+        assertNotEquals("bestmove 0000", expect("bestmove"));
+    }
+
+    // Testa comandos inválidos - Resultado esperado: aviso em info string e a posição anterior mantida
+    @Test(timeout = 5000)
+    public void rejectsIllegalMoveAndKeepsPosition() throws IOException {
+        commands.println("position startpos moves e2e4");
+        commands.println("position startpos moves e2e5");
+        assertTrue(expect("info string").contains("e2e5"));
+        commands.println("position fen abc");
+        expect("info string FEN");
+        commands.println("xyzzy");
+        commands.println("isready");
+        expect("readyok");
+        assertFalse("Continua a posição depois de e2e4", controller.getModel().isWhiteTurn());
+    }
+
+    // Testa a divisão do relógio - Resultado esperado: fração do tempo com incremento, sem zerar o relógio
+    @Test(timeout = 1000)
+    public void allocatesClockTime() {
+        assertEquals(60000 / 30 + 750, UciController.allocateTime(60000, 1000, 30));
+        assertEquals(1000 - 30, UciController.allocateTime(1000, 0, 1));
+        assertEquals(1, UciController.allocateTime(10, 0, 30));
+    }
+}
@@ -0,0 +1,159 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Classe de teste das bases de finais: posições conhecidas, coerência de cada resultado com os lances legais
+ * (pelo gerador de lances do tabuleiro, independente da geração retrógrada), arquivo e uso na busca.
+ */
+public class EndgameBitbasesTest {
+    private static EndgameBitbases bitbases;
+
+    @BeforeClass
+    public static void generate() {
+        bitbases = EndgameBitbases.generate(2);
+    }
+
+    // Testa posições conhecidas - Resultado esperado: mate em um, vitória com o rei à frente do peão, empates clássicos
+    @Test(timeout = 5000)
+    public void knownPositions() {
+        Board mateInOne = ChessModel.fromFEN("4k3/8/4K3/8/8/8/8/7R w - - 0 1").getBoard();
+        assertEquals(EndgameBitbases.WIN, bitbases.wdl(mateInOne));
+        assertEquals(1, bitbases.mateDistance(mateInOne));
+        assertEquals(EndgameBitbases.LOSS,
+                bitbases.wdl(ChessModel.fromFEN("4k3/8/4K3/8/8/8/8/4R3 b - - 0 1").getBoard()));
+        assertEquals("Torre pendurada é capturada", EndgameBitbases.DRAW,
+                bitbases.wdl(ChessModel.fromFEN("8/8/8/8/8/8/6kR/4K3 b - - 0 1").getBoard()));
+
+        assertEquals(EndgameBitbases.WIN,
+                bitbases.wdl(ChessModel.fromFEN("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1").getBoard()));
+        assertEquals("Peão da torre com o rei no canto", EndgameBitbases.DRAW,
+                bitbases.wdl(ChessModel.fromFEN("k7/8/K7/P7/8/8/8/8 w - - 0 1").getBoard()));
+        assertEquals("Pretas com a oposição", EndgameBitbases.DRAW,
+                bitbases.wdl(ChessModel.fromFEN("8/8/4k3/8/4K3/4P3/8/8 w - - 0 1").getBoard()));
+        assertEquals("Mesma posição com as cores trocadas", EndgameBitbases.DRAW,
+                bitbases.wdl(ChessModel.fromFEN("8/8/4p3/4k3/8/4K3/8/8 b - - 0 1").getBoard()));
+        assertEquals(EndgameBitbases.UNKNOWN,
+                bitbases.wdl(ChessModel.fromFEN("4k3/8/8/8/8/8/8/3QK3 w - - 0 1").getBoard()));
+    }
+
+    // Testa a coerência com os lances legais em posições sorteadas - Resultado esperado: cada posição vale
+    // o melhor dos resultados dos lances (KPK sem promoção à vista e KRK com distância exata)
+    @Test(timeout = 20000)
+    public void resultsAgreeWithLegalMoves() {
+        Random random = new Random(2024);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int checked = 0;
+        while (checked < 3000) {
+            boolean rook = random.nextBoolean();
+            Board board = randomPosition(random, rook);
+            if (board == null) continue;
+            int count = MoveGenerator.generateLegal(board, moves);
+            if (count == 0) continue;
+            int wdl = bitbases.wdl(board);
+            int best = EndgameBitbases.LOSS;
+            int bestDistance = Integer.MAX_VALUE;
+            int worstDistance = -1;
+            for (int i = 0; i < count; i++) {
+                board.makeMove(moves[i]);
+                // Peça capturada: só restam os reis
+                int child = EndgameBitbases.covers(board) ? -bitbases.wdl(board) : EndgameBitbases.DRAW;
+                int distance = bitbases.mateDistance(board);
+                board.unmakeMove();
+                best = Math.max(best, child);
+                if (child == EndgameBitbases.WIN) bestDistance = Math.min(bestDistance, distance + 1);
+                if (child == EndgameBitbases.LOSS) worstDistance = Math.max(worstDistance, distance + 1);
+            }
+            assertEquals(board.toString(), best, wdl);
+            if (rook && wdl == EndgameBitbases.WIN) {
+                assertEquals("Distância do lado que ganha", bestDistance, bitbases.mateDistance(board));
+            } else if (rook && wdl == EndgameBitbases.LOSS) {
+                assertEquals("Distância do lado que perde", worstDistance, bitbases.mateDistance(board));
+            }
+            checked++;
+        }
+    }
+
+    // Sorteia uma posição KRK ou KPK legal (peão fora da sétima fileira, para não haver promoção),
+    // com qualquer cor como lado forte; null se a posição sorteada não for legal
+    private static Board randomPosition(Random random, boolean rook) {
+        int whiteKing = random.nextInt(64);
+        int blackKing = random.nextInt(64);
+        int piece = rook ? random.nextInt(64) : 16 + random.nextInt(40); // peão branco nas fileiras 2 a 6
+        boolean strongWhite = random.nextBoolean();
+        if (!strongWhite && !rook) piece ^= 56;
+        if (whiteKing == blackKing || piece == whiteKing || piece == blackKing
+                || Math.abs((whiteKing >>> 3) - (blackKing >>> 3)) <= 1 && Math.abs((whiteKing & 7) - (blackKing & 7)) <= 1) {
+            return null;
+        }
+        char[] squares = new char[64];
+        java.util.Arrays.fill(squares, '.');
+        squares[whiteKing] = 'K';
+        squares[blackKing] = 'k';
+        squares[piece] = rook ? (strongWhite ? 'R' : 'r') : (strongWhite ? 'P' : 'p');
+        StringBuilder fen = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                char c = squares[row * 8 + col];
+                if (c == '.') {
+                    empty++;
+                } else {
+                    if (empty > 0) fen.append(empty);
+                    empty = 0;
+                    fen.append(c);
+                }
+            }
+            if (empty > 0) fen.append(empty);
+            if (row < 7) fen.append('/');
+        }
+        boolean whiteToMove = random.nextBoolean();
+        Board board = ChessModel.fromFEN(fen + (whiteToMove ? " w" : " b") + " - - 0 1").getBoard();
+        // O lado que não está na vez não pode estar em cheque
+        int king = board.getKingSquare(!whiteToMove);
+        return board.isSquareAttacked(king, whiteToMove) ? null : board;
+    }
+
+    // Testa gravar e ler o arquivo - Resultado esperado: mesmos resultados depois da leitura
+    @Test(timeout = 5000)
+    public void writesAndReadsFile() throws IOException {
+        Path file = Files.createTempFile("bases", ".bin");
+        file.toFile().deleteOnExit();
+        bitbases.write(file);
+        EndgameBitbases read = EndgameBitbases.read(file);
+        Board board = ChessModel.fromFEN("8/8/8/4k3/8/8/8/KR6 w - - 0 1").getBoard();
+        assertEquals(bitbases.mateDistance(board), read.mateDistance(board));
+        assertEquals(bitbases.wdl(ChessModel.fromFEN("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1").getBoard()),
+                     read.wdl(ChessModel.fromFEN("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1").getBoard()));
+        assertTrue("Arquivo compacto (menos de 500 KB)", Files.size(file) < 500_000);
+    }
+
+    // Testa a busca com as bases - Resultado esperado: mate exato a partir da raiz, e só lances que mantêm a vitória
+    @Test(timeout = 5000)
+    public void searchUsesBitbases() {
+        Board board = ChessModel.fromFEN("8/8/8/4k3/8/8/8/KR6 w - - 0 1").getBoard();
+        Search search = new Search(board);
+        search.setBitbases(bitbases);
+        SearchResult result = search.search(2, 0, 0);
+        assertEquals("mate " + (bitbases.mateDistance(board) + 1) / 2, SearchResult.formatScore(result.getScore()));
+
+        Board pawn = ChessModel.fromFEN("8/8/8/4k3/8/3K4/4P3/8 w - - 0 1").getBoard();
+        Search pawnSearch = new Search(pawn);
+        pawnSearch.setBitbases(bitbases);
+        int move = pawnSearch.search(3, 0, 0).getBestMove();
+        pawn.makeMove(move);
+        assertEquals("Lance " + Move.toUci(move) + " mantém a vitória", EndgameBitbases.LOSS, bitbases.wdl(pawn));
+    }
+}
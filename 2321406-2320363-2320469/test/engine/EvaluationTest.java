@@ -0,0 +1,72 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.Board;
+import model.ChessModel;
+
+/**
+ * Classe de teste da avaliação: simetria entre as cores, termos de peões, avaliação preguiçosa e benchmark.
+ */
+public class EvaluationTest {
+
+    // Espelha a FEN na vertical trocando as cores das peças e a vez (roque e en passant omitidos)
+    private static String mirror(String fen) {
+        String[] fields = fen.split(" ");
+        String[] ranks = fields[0].split("/");
+        StringBuilder placement = new StringBuilder();
+        for (int i = ranks.length - 1; i >= 0; i--) {
+            for (char c : ranks[i].toCharArray()) {
+                placement.append(Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c));
+            }
+            if (i > 0) placement.append('/');
+        }
+        return placement + (fields[1].equals("w") ? " b" : " w") + " - - 0 1";
+    }
+
+    // Testa a simetria - Resultado esperado: posição espelhada com as cores trocadas tem a mesma avaliação
+    @Test(timeout = 2000)
+    public void mirroredPositionsEvaluateEqually() {
+        Evaluation evaluation = new Evaluation();
+        for (String[] entry : Perft.SUITE) {
+            String fen = entry[1];
+            assertEquals(entry[0], evaluation.evaluate(ChessModel.fromFEN(fen).getBoard()),
+                    evaluation.evaluate(ChessModel.fromFEN(mirror(fen)).getBoard()));
+        }
+        assertEquals("Posição inicial é equilibrada", 0,
+                evaluation.evaluate(ChessModel.fromFEN(ChessModel.START_FEN).getBoard()));
+    }
+
+    // Testa os termos de peões - Resultado esperado: peão passado vale mais que o mesmo peão bloqueado por outro
+    @Test(timeout = 2000)
+    public void passedPawnIsWorthMoreAndCacheHits() {
+        Evaluation evaluation = new Evaluation();
+        int passed = evaluation.evaluate(ChessModel.fromFEN("4k3/8/8/3P4/8/8/8/4K3 w - - 0 1").getBoard());
+        int blocked = evaluation.evaluate(ChessModel.fromFEN("4k3/2p5/8/3P4/8/8/8/4K3 w - - 0 1").getBoard());
+        assertTrue("Passado: " + passed + ", com peão adversário à frente: " + blocked, passed > blocked + 100);
+
+        evaluation.evaluate(ChessModel.fromFEN("4k3/8/8/3P4/8/8/8/4K3 b - - 0 1").getBoard());
+        assertTrue("Mesma estrutura de peões vem do cache", evaluation.getPawnHitRate() > 0);
+    }
+
+    // Testa a avaliação preguiçosa - Resultado esperado: fora da janela, o valor fica do mesmo lado do limite
+    @Test(timeout = 2000)
+    public void lazyEvaluationRespectsWindow() {
+        Evaluation evaluation = new Evaluation();
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        Board board = ChessModel.fromFEN(fen).getBoard();
+        int full = evaluation.evaluate(board);
+        assertTrue(evaluation.evaluate(board, full + 1000, full + 1001) <= full + 1000);
+        assertTrue(evaluation.evaluate(board, full - 1001, full - 1000) >= full - 1000);
+        assertEquals(full, evaluation.evaluate(board, full - 1, full + 1));
+    }
+
+    // Testa o benchmark - Resultado esperado: uma avaliação por lance legal de cada posição em cada rodada
+    @Test(timeout = 5000)
+    public void benchmarkEvaluatesEveryMove() {
+        String[] fens = {Perft.SUITE[0][1], Perft.SUITE[1][1]};
+        long evaluations = Evaluation.benchmark(fens, 2, new java.io.PrintStream(new java.io.ByteArrayOutputStream()));
+        assertEquals(2 * (20 + 48), evaluations);
+    }
+}
@@ -0,0 +1,132 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Classe de teste do livro de aberturas Polyglot: chaves, busca binária no arquivo mapeado,
+ * conversão de lances (incluindo roque) e escolha ponderada determinística.
+ */
+public class OpeningBookTest {
+
+    // Tabela qualquer para os testes; livros reais precisam da tabela Random64 da especificação
+    private static PolyglotKey testKeys() {
+        long[] random = new long[PolyglotKey.RANDOM_COUNT];
+        Random generator = new Random(42);
+        for (int i = 0; i < random.length; i++) {
+            random[i] = generator.nextLong();
+        }
+        return new PolyglotKey(random);
+    }
+
+    private static int legalMove(Board board, String uci) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.toUci(moves[i]).equals(uci)) return moves[i];
+        }
+        throw new AssertionError("Lance " + uci + " não é legal");
+    }
+
+    // Grava um livro com as entradas {chave, lance Polyglot, peso}, ordenadas pela chave sem sinal
+    private static Path writeBook(long[][] entries) throws IOException {
+        long[][] sorted = entries.clone();
+        Arrays.sort(sorted, (a, b) -> Long.compareUnsigned(a[0], b[0]));
+        ByteBuffer buffer = ByteBuffer.allocate(16 * sorted.length);
+        for (long[] entry : sorted) {
+            buffer.putLong(entry[0]).putShort((short) entry[1]).putShort((short) entry[2]).putInt(0);
+        }
+        Path file = Files.createTempFile("livro", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    private static Path sampleBook(PolyglotKey keys) throws IOException {
+        Board start = ChessModel.fromFEN(ChessModel.START_FEN).getBoard();
+        Board castling = ChessModel.fromFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1").getBoard();
+        Random filler = new Random(1);
+        long[][] entries = new long[50][];
+        entries[0] = new long[] {keys.compute(start), OpeningBook.toPolyglot(legalMove(start, "e2e4")), 3};
+        entries[1] = new long[] {keys.compute(start), OpeningBook.toPolyglot(legalMove(start, "d2d4")), 1};
+        entries[2] = new long[] {keys.compute(castling), OpeningBook.toPolyglot(legalMove(castling, "e1g1")), 5};
+        entries[3] = new long[] {keys.compute(start), 0x0FFF, 9}; // h8h8: não é legal, deve ser ignorado
+        for (int i = 4; i < entries.length; i++) {
+            entries[i] = new long[] {filler.nextLong(), 0, 1};
+        }
+        return writeBook(entries);
+    }
+
+    // Testa a consulta - Resultado esperado: os dois lances da posição inicial com os pesos, sem o lance ilegal
+    @Test(timeout = 5000)
+    public void findsMovesAndWeightsByBinarySearch() throws IOException {
+        PolyglotKey keys = testKeys();
+        OpeningBook book = OpeningBook.open(sampleBook(keys), keys, 0);
+        assertEquals(50, book.size());
+
+        int[] weights = new int[MoveGenerator.MAX_MOVES];
+        int[] moves = book.getMoves(ChessModel.fromFEN(ChessModel.START_FEN).getBoard(), weights);
+        assertEquals(2, moves.length);
+        String found = Move.toUci(moves[0]) + weights[0] + " " + Move.toUci(moves[1]) + weights[1];
+        assertTrue(found, found.equals("e2e43 d2d41") || found.equals("d2d41 e2e43"));
+
+        int[] castling = book.getMoves(ChessModel.fromFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1").getBoard(), null);
+        assertEquals("Roque gravado como e1h1 vira e1g1", 1, castling.length);
+        assertEquals("e1g1", Move.toUci(castling[0]));
+
+        assertEquals("Posição fora do livro", Move.NONE,
+                book.pickMove(ChessModel.fromFEN("4k3/8/8/8/8/8/8/4K3 w - - 0 1").getBoard()));
+    }
+
+    // Testa a escolha ponderada - Resultado esperado: mesma semente, mesma sequência; o lance mais pesado é mais comum
+    @Test(timeout = 5000)
+    public void weightedChoiceIsDeterministicWithSeed() throws IOException {
+        PolyglotKey keys = testKeys();
+        Path file = sampleBook(keys);
+        OpeningBook first = OpeningBook.open(file, keys, 7);
+        OpeningBook second = OpeningBook.open(file, keys, 7);
+        Board start = ChessModel.fromFEN(ChessModel.START_FEN).getBoard();
+        int e4 = 0;
+        for (int i = 0; i < 400; i++) {
+            int move = first.pickMove(start);
+            assertEquals("Mesma semente", move, second.pickMove(start));
+            if (Move.toUci(move).equals("e2e4")) e4++;
+        }
+        assertTrue("e2e4 tem peso 3 de 4: " + e4 + " de 400", e4 > 240 && e4 < 360);
+    }
+
+    // Testa a chave Polyglot - Resultado esperado: en passant só conta quando algum peão pode capturar
+    @Test(timeout = 2000)
+    public void enPassantFileOnlyCountsWhenCapturable() throws IOException {
+        PolyglotKey keys = testKeys();
+        String afterE4 = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq ";
+        assertEquals(keys.compute(ChessModel.fromFEN(afterE4 + "e3 0 1").getBoard()),
+                     keys.compute(ChessModel.fromFEN(afterE4 + "- 0 1").getBoard()));
+        assertNotEquals(keys.compute(ChessModel.fromFEN("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1").getBoard()),
+                        keys.compute(ChessModel.fromFEN("4k3/8/8/3pP3/8/8/8/4K3 w - - 0 1").getBoard()));
+
+        // A tabela também pode ser lida de um arquivo texto em hexadecimal
+        StringBuilder text = new StringBuilder("// tabela de teste\n");
+        Random generator = new Random(42);
+        for (int i = 0; i < PolyglotKey.RANDOM_COUNT; i++) {
+            text.append(String.format("0x%016XULL,%n", generator.nextLong()));
+        }
+        Path file = Files.createTempFile("random64", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, text.toString().getBytes("UTF-8"));
+        Board start = ChessModel.fromFEN(ChessModel.START_FEN).getBoard();
+        assertEquals(keys.compute(start), PolyglotKey.load(file).compute(start));
+    }
+}
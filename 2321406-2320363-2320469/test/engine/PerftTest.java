@@ -0,0 +1,51 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.ChessModel;
+
+/**
+ * Classe de teste do perft: confere as contagens de nós das posições padrão em profundidades rasas.
+ */
+public class PerftTest {
+
+    // Testa as três primeiras profundidades de todas as posições da suíte - Resultado esperado: totais conhecidos
+    @Test(timeout = 5000)
+    public void suiteMatchesKnownCountsAtDepthThree() {
+        for (String[] entry : Perft.SUITE) {
+            String[] expected = entry[2].split(" ");
+            Perft perft = new Perft(ChessModel.fromFEN(entry[1]).getBoard());
+            for (int depth = 1; depth <= 3; depth++) {
+                assertEquals(entry[0] + " profundidade " + depth, Long.parseLong(expected[depth - 1]), perft.perft(depth));
+            }
+        }
+    }
+
+    // Testa se o perft devolve o tabuleiro ao estado original - Resultado esperado: mesma FEN antes e depois
+    @Test(timeout = 5000)
+    public void perftLeavesPositionUnchanged() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        ChessModel model = ChessModel.fromFEN(fen);
+        new Perft(model.getBoard()).perft(3);
+        assertEquals(fen, model.generateFEN());
+    }
+
+    // Testa o perft paralelo com duas threads na suíte - Resultado esperado: mesmos totais do perft em série
+    @Test(timeout = 10000)
+    public void parallelPerftMatchesSerialCounts() {
+        ParallelPerft parallel = new ParallelPerft(2);
+        try {
+            for (String[] entry : Perft.SUITE) {
+                Perft perft = new Perft(ChessModel.fromFEN(entry[1]).getBoard());
+                assertEquals(entry[0], perft.perft(3), parallel.perft(perft.getBoard(), 3).getNodes());
+            }
+            String fen = Perft.SUITE[0][1];
+            ChessModel model = ChessModel.fromFEN(fen);
+            assertEquals(Long.parseLong(Perft.SUITE[0][2].split(" ")[4]), parallel.perft(model.getBoard(), 5).getNodes());
+            assertEquals(fen, model.generateFEN());
+        } finally {
+            parallel.shutdown();
+        }
+    }
+}
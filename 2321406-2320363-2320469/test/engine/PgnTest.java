@@ -0,0 +1,82 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.Board;
+import model.ChessModel;
+import model.Move;
+import model.MoveGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Classe de teste da notação algébrica dos lances e do texto PGN das partidas.
+ */
+public class PgnTest {
+
+    // SAN do lance legal com a notação de coordenadas indicada
+    private static String san(String fen, String uci) {
+        Board board = ChessModel.fromFEN(fen).getBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.toUci(moves[i]).equals(uci)) {
+                long key = board.getKey();
+                String san = Pgn.toSan(board, moves[i]);
+                assertEquals("O tabuleiro volta ao estado original", key, board.getKey());
+                return san;
+            }
+        }
+        fail("Lance ilegal: " + uci);
+        return null;
+    }
+
+    // Testa lances simples, roques, en passant, promoção, cheque e mate - Resultado esperado: notação padrão
+    @Test(timeout = 1000)
+    public void formatsMoves() {
+        assertEquals("e4", san(ChessModel.START_FEN, "e2e4"));
+        assertEquals("Nf3", san(ChessModel.START_FEN, "g1f3"));
+        assertEquals("O-O", san("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", "e1g1"));
+        assertEquals("O-O-O", san("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1", "e8c8"));
+        assertEquals("exd6", san("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5d6"));
+        assertEquals("e8=Q+", san("8/4P3/8/8/k7/8/8/4K3 w - - 0 1", "e7e8q"));
+        assertEquals("e8=N", san("8/4P3/8/8/k7/8/8/4K3 w - - 0 1", "e7e8n"));
+        assertEquals("Rh8#", san("4k3/8/4K3/8/8/8/8/7R w - - 0 1", "h1h8"));
+        assertEquals("Rxa8+", san("r3k3/8/8/8/8/8/8/R3K3 w - - 0 1", "a1a8"));
+    }
+
+    // Testa duas peças iguais que alcançam a mesma casa - Resultado esperado: coluna, fileira ou casa de origem
+    @Test(timeout = 1000)
+    public void disambiguatesMoves() {
+        assertEquals("Nbd2", san("4k3/8/8/8/8/8/8/1N2KN2 w - - 0 1", "b1d2"));
+        assertEquals("R1a2", san("4k3/8/8/8/8/R7/8/R3K3 w - - 0 1", "a1a2"));
+        assertEquals("Qa1b2", san("4k3/8/8/8/8/Q7/8/Q1Q1K3 w - - 0 1", "a1b2"));
+        assertEquals("Só um cavalo alcança a casa", "Ne3", san("4k3/8/8/8/8/8/8/1N2KN2 w - - 0 1", "f1e3"));
+        assertEquals("Cavalo cravado não conta", "Ne2", san("4k3/8/8/b7/8/2N5/8/4K1N1 w - - 0 1", "g1e2"));
+    }
+
+    // Testa o texto da partida - Resultado esperado: cabeçalhos, FEN fora da posição inicial, numeração a partir
+    // do lance das pretas e linhas de até 80 caracteres
+    @Test(timeout = 1000)
+    public void formatsGame() {
+        String startText = Pgn.format("Teste", "2024.01.01", 1, "A", "B", ChessModel.START_FEN,
+                Arrays.asList("e4", "e5", "Nf3"), "*", null);
+        assertTrue(startText.startsWith("[Event \"Teste\"]\n[Site \"?\"]\n[Date \"2024.01.01\"]\n[Round \"1\"]\n"));
+        assertFalse(startText.contains("[FEN"));
+        assertTrue(startText.contains("\n1. e4 e5 2. Nf3 *\n"));
+
+        String fen = "4k3/8/4K3/8/8/8/8/7R b - - 0 40";
+        String[] moves = new String[60];
+        Arrays.fill(moves, "Kd8");
+        String text = Pgn.format("Teste", "2024.01.01", 2, "A \"x\"", "B", fen, Arrays.asList(moves), "1/2-1/2",
+                "limite");
+        assertTrue(text.contains("[SetUp \"1\"]\n[FEN \"" + fen + "\"]"));
+        assertTrue(text.contains("[White \"A \\\"x\\\"\"]"));
+        assertTrue(text.contains("\n40... Kd8 41. Kd8 Kd8 42. Kd8"));
+        assertTrue(text.trim().endsWith("{limite} 1/2-1/2"));
+        for (String line : text.split("\n")) {
+            assertTrue("Linha longa: " + line, line.length() <= 80);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.Board;
+import model.ChessModel;
+import model.GameStatus;
+import model.Move;
+import model.MoveGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Classe de teste da busca alfa-beta: mates, capturas, limites, ordenação de lances e estatísticas por profundidade.
+ */
+public class SearchTest {
+
+    private static Search searchFor(String fen) {
+        return new Search(ChessModel.fromFEN(fen).getBoard());
+    }
+
+    // Testa a busca sobre a cópia do tabuleiro de uma partida com repetições, como a do computador, com as
+    // pretas uma dama abaixo: só o lance que repete a posição pela terceira vez não perde - Resultado esperado:
+    // Rh8-g8 com avaliação de empate, o que só é possível se a cópia levar as posições anteriores
+    @Test(timeout = 5000)
+    public void copiedBoardSeesRepetitionsFromGameHistory() {
+        ChessModel model = ChessModel.fromFEN("6k1/8/8/8/8/8/8/2Q3K1 w - - 0 1");
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        // A posição inicial (pretas em g8, vez das brancas) aparece de novo depois de cada volta
+        for (String uci : "g1h1 g8h8 h1g1 h8g8 g1h1 g8h8 h1g1".split(" ")) {
+            int count = MoveGenerator.generateLegal(model.getBoard(), moves);
+            int move = Move.NONE;
+            for (int i = 0; i < count; i++) {
+                if (Move.toUci(moves[i]).equals(uci)) move = moves[i];
+            }
+            assertTrue("Lance legal " + uci, model.playMove(move));
+        }
+        Search search = Search.fromModel(model);
+        SearchResult result = search.search(4, 0, 0);
+        assertEquals("h8g8", Move.toUci(result.getBestMove()));
+        assertEquals("Empate por repetição", 0, result.getScore());
+        assertEquals("A cópia não altera a partida", 1, model.getBoard().repetitionCount());
+    }
+
+    // Testa um mate em um lance (mate do corredor) - Resultado esperado: Td1-d8 com avaliação de mate
+    @Test(timeout = 5000)
+    public void findsBackRankMateInOne() {
+        SearchResult result = searchFor("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1").search(4, 0, 0);
+        assertEquals("d1d8", Move.toUci(result.getBestMove()));
+        assertTrue("Avaliação de mate", Search.isMateScore(result.getScore()));
+        assertEquals("mate 1", SearchResult.formatScore(result.getScore()));
+    }
+
+    // Testa um mate dado no centésimo meio-lance sem captura nem lance de peão - Resultado esperado: Td1-d8
+    // com avaliação de mate, e não de empate pela regra dos 50 lances, como na situação da partida
+    @Test(timeout = 5000)
+    public void mateTakesPrecedenceOverFiftyMoveRule() {
+        String fen = "6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 99 60";
+        SearchResult result = searchFor(fen).search(4, 0, 0);
+        assertEquals("d1d8", Move.toUci(result.getBestMove()));
+        assertEquals("mate 1", SearchResult.formatScore(result.getScore()));
+
+        ChessModel model = ChessModel.fromFEN(fen);
+        assertTrue(model.playMove(result.getBestMove()));
+        assertTrue(model.getBoard().isFiftyMoveRule());
+        assertEquals(GameStatus.CHECKMATE, model.getGameStatus());
+    }
+
+    // Testa um mate em dois lances - Resultado esperado: variação principal com três meio-lances terminando em mate
+    @Test(timeout = 5000)
+    public void findsMateInTwo() {
+        // Escada de torres: uma torre corta a sétima fileira e a outra dá mate na oitava
+        SearchResult result = searchFor("7k/8/8/8/8/8/8/RR4K1 w - - 0 1").search(6, 0, 0);
+        assertTrue("Mate encontrado", result.getScore() > 0 && Search.isMateScore(result.getScore()));
+        assertEquals("mate 2", SearchResult.formatScore(result.getScore()));
+        assertEquals(3, result.getPrincipalVariation().length);
+    }
+
+    // Testa se a busca captura uma dama indefesa - Resultado esperado: Cf3xd4 e o tabuleiro volta ao estado inicial
+    @Test(timeout = 5000)
+    public void capturesHangingQueenAndRestoresBoard() {
+        String fen = "4k3/8/8/8/3q4/5N2/8/4K3 w - - 0 1";
+        ChessModel model = ChessModel.fromFEN(fen);
+        SearchResult result = new Search(model.getBoard()).search(4, 0, 0);
+        assertEquals("f3d4", Move.toUci(result.getBestMove()));
+        assertEquals("Busca faz e desfaz os lances no próprio tabuleiro", fen, model.generateFEN());
+    }
+
+    // Testa os limites de nós e as estatísticas - Resultado esperado: busca para perto do limite, com tempos crescentes
+    @Test(timeout = 10000)
+    public void respectsNodeBudgetAndReportsIterations() {
+        Search search = searchFor("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        SearchResult result = search.search(Search.MAX_PLY, 0, 50_000);
+        assertTrue("Pelo menos a primeira profundidade é concluída", result.getDepth() >= 1);
+        assertTrue("Parou antes do limite de profundidade", result.getDepth() < Search.MAX_PLY);
+        assertTrue("Nós perto do limite: " + result.getNodes(), result.getNodes() <= 50_000 + 2048);
+        assertNotEquals(Move.NONE, result.getBestMove());
+
+        long previous = 0;
+        for (SearchResult.Iteration iteration : result.getIterations()) {
+            assertTrue("Nós acumulados crescem com a profundidade", iteration.getNodes() > previous);
+            previous = iteration.getNodes();
+        }
+        assertEquals(result.getDepth(), result.getIterations().size());
+    }
+
+    // Testa o lance do computador aplicado ao modelo - Resultado esperado: lance legal feito e vez passa para as pretas
+    @Test(timeout = 5000)
+    public void modelPlaysSearchedMove() {
+        ChessModel model = new ChessModel();
+        SearchResult result = Search.fromModel(model).search(3, 0, 0);
+        assertTrue(model.playMove(result.getBestMove()));
+        assertFalse("Vez das pretas", model.isWhiteTurn());
+        assertFalse("Lance inexistente é recusado", model.playMove(Move.encode(0, 63, 0)));
+    }
+
+    // Testa a tabela de transposição - Resultado esperado: dados lidos iguais aos gravados, entrada corrompida ignorada
+    @Test(timeout = 2000)
+    public void transpositionTableVerifiesKeys() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x123456789ABCDEFL;
+        int move = Move.encode(52, 36, Move.DOUBLE_PUSH);
+        table.store(key, move, -Search.MATE + 3, 7, TranspositionTable.LOWER);
+
+        long data = table.probe(key);
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(-Search.MATE + 3, TranspositionTable.score(data));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+
+        assertEquals("Outra chave no mesmo índice não é aceita", 0L, table.probe(key + table.size()));
+        table.store(key, Move.NONE, 10, 3, TranspositionTable.UPPER);
+        assertEquals("Busca mais rasa não substitui a mais profunda", 7, TranspositionTable.depth(table.probe(key)));
+    }
+
+    // Testa o Lazy SMP com duas threads - Resultado esperado: mesmo mate da busca simples e nós somados das threads
+    @Test(timeout = 10000)
+    public void lazySmpFindsMateWithSharedTable() {
+        ChessModel model = ChessModel.fromFEN("7k/8/8/8/8/8/8/RR4K1 w - - 0 1");
+        String fen = model.generateFEN();
+        LazySmp smp = new LazySmp(2);
+        try {
+            SearchResult result = smp.search(model.getBoard(), 6, 0, 0);
+            assertEquals("mate 2", SearchResult.formatScore(result.getScore()));
+            assertNotEquals("Raiz guardada na tabela compartilhada", 0L, smp.getTable().probe(model.getBoard().getKey()));
+
+            SearchResult timed = smp.search(model.getBoard(), Search.MAX_PLY, 200, 0);
+            assertNotEquals(Move.NONE, timed.getBestMove());
+            long mainNodes = timed.getIterations().get(timed.getIterations().size() - 1).getNodes();
+            assertTrue("Total inclui a thread auxiliar", timed.getNodes() >= mainNodes);
+        } finally {
+            smp.shutdown();
+        }
+        assertEquals("Tabuleiro da partida não é alterado", fen, model.generateFEN());
+    }
+
+    // Testa a divisão da geração e o seletor de lances em todas as posições da suíte e nas filhas delas -
+    // Resultado esperado: capturas + quietos = lances legais, e o seletor entrega cada lance legal uma única vez
+    @Test(timeout = 5000)
+    public void movePickerYieldsEveryLegalMoveOnce() {
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        int[] children = new int[MoveGenerator.MAX_MOVES];
+        MovePicker picker = new MovePicker();
+        int[] history = new int[64 * 64];
+        for (String[] entry : Perft.SUITE) {
+            Board board = ChessModel.fromFEN(entry[1]).getBoard();
+            int count = MoveGenerator.generateLegal(board, children);
+            for (int c = -1; c < count; c++) {
+                if (c >= 0) board.makeMove(children[c]);
+                int n = MoveGenerator.generateLegal(board, legal);
+                int[] expected = Arrays.copyOf(legal, n);
+                Arrays.sort(expected);
+
+                int[] split = new int[MoveGenerator.MAX_MOVES];
+                int[] quiets = new int[MoveGenerator.MAX_MOVES];
+                int captures = MoveGenerator.generateCaptures(board, split);
+                int quietCount = MoveGenerator.generateQuiets(board, quiets);
+                System.arraycopy(quiets, 0, split, captures, quietCount);
+                int[] generated = Arrays.copyOf(split, captures + quietCount);
+                Arrays.sort(generated);
+                assertArrayEquals(entry[0], expected, generated);
+
+                // Lance da tabela legal, um matador ilegal (a8-h1) e outro legal, que não podem aparecer duas vezes
+                int hashMove = n > 0 ? legal[n / 2] : Move.NONE;
+                picker.reset(board, hashMove, Move.encode(0, 63, 0), n > 1 ? legal[n - 1] : Move.NONE, history, 0, true);
+                int[] picked = new int[MoveGenerator.MAX_MOVES];
+                int pickedCount = 0;
+                for (int move = picker.nextMove(); move != Move.NONE; move = picker.nextMove()) {
+                    assertTrue(entry[0] + ": lance " + Move.toUci(move) + " legal", MoveGenerator.isLegal(board, move));
+                    picked[pickedCount++] = move;
+                }
+                if (n > 0) assertEquals("Lance da tabela vem primeiro", hashMove, picked[0]);
+                picked = Arrays.copyOf(picked, pickedCount);
+                Arrays.sort(picked);
+                assertArrayEquals(entry[0], expected, picked);
+                if (c >= 0) board.unmakeMove();
+            }
+        }
+    }
+
+    // Testa o ganho da ordenação de lances - Resultado esperado: mesma avaliação com bem menos nós,
+    // e a maioria dos cortes no primeiro lance
+    @Test(timeout = 20000)
+    public void moveOrderingReducesNodes() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        Search unordered = searchFor(fen);
+        unordered.setMoveOrdering(false);
+        SearchResult plain = unordered.search(3, 0, 0);
+        SearchResult ordered = searchFor(fen).search(3, 0, 0);
+
+        assertEquals("Ordenação não muda a avaliação", plain.getScore(), ordered.getScore());
+        assertTrue("Nós sem ordenação: " + plain.getNodes() + ", com: " + ordered.getNodes(),
+                ordered.getNodes() * 2 < plain.getNodes());
+        SearchResult.Statistics statistics = ordered.getStatistics();
+        assertTrue(statistics.getCutoffs() > 0);
+        assertTrue("Cortes no primeiro lance: " + statistics.getFirstMoveCutoffRate(),
+                statistics.getFirstMoveCutoffRate() > plain.getStatistics().getFirstMoveCutoffRate());
+        assertTrue(statistics.getMovesPerNode() < plain.getStatistics().getMovesPerNode());
+        assertTrue(ordered.getEffectiveBranchingFactor() > 0);
+    }
+
+    // Testa a busca de quiescência - Resultado esperado: mesmo com profundidade 1, a rainha não pega o peão
+    // defendido, pois a recaptura é vista além do horizonte
+    @Test(timeout = 5000)
+    public void quiescenceSeesRecaptureBeyondHorizon() {
+        SearchResult result = searchFor("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1").search(1, 0, 0);
+        assertNotEquals("d1d5", Move.toUci(result.getBestMove()));
+        assertTrue(result.getStatistics().getQuiescenceNodes() > 0);
+
+        SearchResult deeper = searchFor("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1")
+                .search(3, 0, 0);
+        assertTrue("Capturas perdedoras são podadas", deeper.getStatistics().getLosingCapturesPruned() > 0);
+    }
+}
@@ -0,0 +1,122 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Classe de teste do torneio sem interface: placar com Elo e SPRT, partidas, adjudicação e arquivo PGN.
+ */
+public class TournamentTest {
+    private static final String MATE_IN_ONE = "4k3/8/4K3/8/8/8/8/7R w - - 0 1";
+
+    private static Tournament.Player player(String name) {
+        return new Tournament.Player(name, 20, 1, true, false);
+    }
+
+    // Testa o placar - Resultado esperado: Elo da pontuação, LLR acima do limite com muitas vitórias e
+    // abaixo do limite com muitos empates
+    @Test(timeout = 1000)
+    public void computesEloAndSprt() {
+        Sprt strong = new Sprt(0, 10, 0.05, 0.05);
+        for (int i = 0; i < 600; i++) strong.add(1);
+        for (int i = 0; i < 200; i++) strong.add(0.5);
+        for (int i = 0; i < 200; i++) strong.add(0);
+        assertEquals(0.7, strong.getScore(), 1e-9);
+        assertEquals(147.2, strong.getElo(), 0.1);
+        assertTrue(strong.getEloMargin() > 0 && strong.getEloMargin() < 30);
+        assertEquals(Sprt.ACCEPT_H1, strong.getDecision());
+        assertEquals(Math.log(0.05 / 0.95), strong.getLowerBound(), 1e-9);
+
+        Sprt equal = new Sprt(0, 10, 0.05, 0.05);
+        assertEquals(Sprt.CONTINUE, equal.getDecision());
+        equal.add(1);
+        assertTrue("Sem margem com um único resultado", Double.isInfinite(equal.getEloMargin()));
+        for (int i = 0; i < 6000; i++) {
+            equal.add(i % 3 == 0 ? 1 : i % 3 == 1 ? 0 : 0.5);
+        }
+        assertEquals(0, equal.getElo(), 0.5);
+        assertTrue("LLR " + equal.getLlr(), equal.getLlr() < 0);
+        assertEquals(Sprt.ACCEPT_H0, equal.getDecision());
+    }
+
+    // Testa uma partida com mate em um, com cada jogador de brancas - Resultado esperado: quem tem as brancas vence
+    @Test(timeout = 5000)
+    public void playsGamesWithBothColors() {
+        Tournament tournament = new Tournament(player("A"), player("B"), Collections.singletonList(MATE_IN_ONE), 1, 1);
+        Tournament.Game first = tournament.playGame(0);
+        assertEquals("A", first.getWhite());
+        assertEquals(Collections.singletonList("Rh8#"), first.getMoves());
+        assertEquals("1-0", first.getResult());
+        assertEquals(1, first.getFirstScore(), 0);
+        Tournament.Game second = tournament.playGame(1);
+        assertEquals("B", second.getWhite());
+        assertEquals(0, second.getFirstScore(), 0);
+    }
+
+    // Testa as adjudicações - Resultado esperado: final coberto decidido pelas bases e empate no limite de lances
+    @Test(timeout = 10000)
+    public void adjudicatesGames() {
+        Tournament tournament = new Tournament(player("A"), player("B"),
+                Arrays.asList("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"),
+                1, 1);
+        tournament.setBitbases(EndgameBitbases.generate(1));
+        tournament.setMaxPlies(4);
+        Tournament.Game endgame = tournament.playGame(1);
+        assertEquals("1-0", endgame.getResult());
+        assertTrue(endgame.getMoves().isEmpty());
+        assertEquals(0, endgame.getFirstScore(), 0);
+        Tournament.Game limited = tournament.playGame(2);
+        assertEquals("1/2-1/2", limited.getResult());
+        assertEquals(4, limited.getMoves().size());
+    }
+
+    // Testa o torneio completo em duas threads - Resultado esperado: todas as partidas no placar, na saída e no PGN
+    @Test(timeout = 20000)
+    public void runsTournamentAndWritesPgn() throws IOException, InterruptedException {
+        Path pgn = Files.createTempFile("torneio", ".pgn");
+        pgn.toFile().deleteOnExit();
+        Tournament tournament = new Tournament(player("A"), Tournament.Player.parse("B:time=10,ordering=off", 20),
+                Arrays.asList(MATE_IN_ONE, "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"), 2, 2);
+        tournament.setMaxPlies(12);
+        tournament.setPgnFile(pgn);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Sprt result = tournament.run(new PrintStream(output, true, "UTF-8"));
+
+        assertEquals(8, tournament.getGameCount());
+        assertEquals(8, result.getGames());
+        String text = output.toString("UTF-8");
+        assertEquals(8, text.split("Partida ", -1).length - 1);
+        assertTrue(text.contains("partidas/h"));
+        String games = new String(Files.readAllBytes(pgn), StandardCharsets.UTF_8);
+        assertEquals(8, games.split("\\[Result ", -1).length - 1);
+        assertTrue(games.contains("[FEN \"" + MATE_IN_ONE + "\"]"));
+        assertTrue(games.contains("Rh8# {xeque-mate} 1-0"));
+    }
+
+    // Testa a leitura das opções de um jogador - Resultado esperado: opções aplicadas, opção desconhecida recusada
+    @Test(timeout = 1000)
+    public void parsesPlayers() {
+        Tournament.Player player = Tournament.Player.parse("teste:time=50,hash=4,ordering=off,bitbases=off", 100);
+        assertEquals("teste", player.getName());
+        assertEquals(50, player.getTimeMillis());
+        assertEquals(4, player.getHashMegabytes());
+        assertFalse(player.isMoveOrdering());
+        assertFalse(player.isBitbases());
+        assertEquals(100, Tournament.Player.parse("base", 100).getTimeMillis());
+        try {
+            Tournament.Player.parse("x:cor=azul", 100);
+            fail("Opção desconhecida deveria ser recusada");
+        } catch (IllegalArgumentException expected) {
+            // esperado
+        }
+    }
+}
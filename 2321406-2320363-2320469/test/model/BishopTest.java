@@ -13,7 +13,7 @@ public class BishopTest {
     @Before
     public void prepare() {
         board_empty = new Board(true);
-        whiteBishop = new Bishop(true);
+        whiteBishop = Bishop.WHITE;
     }
 
     // Testa se o bispo pode se mover na diagonal (movimento válido) - Resultado esperado: true
@@ -59,4 +59,242 @@ public class BoardTest {
         assertTrue("Posição (6,0) deve estar vazia", board_filled.isEmpty(6, 0));
         assertFalse("Posição (5,0) não deve estar vazia", board_filled.isEmpty(5, 0));
     }
+
+    // Testa se os bitboards da posição inicial refletem as peças do tabuleiro - Resultado esperado: 16 peças por cor
+    @Test(timeout = 2000)
+    public void testInitialBitboards() {
+        assertEquals("Brancas ocupam as linhas 6 e 7", 0xFFFF000000000000L, board_filled.getOccupancy(true));
+        assertEquals("Pretas ocupam as linhas 0 e 1", 0x000000000000FFFFL, board_filled.getOccupancy(false));
+        assertEquals("Cavalos brancos em b1 e g1",
+                Bitboards.bit(Bitboards.square(7, 1)) | Bitboards.bit(Bitboards.square(7, 6)),
+                board_filled.getPieces(true, Board.KNIGHT));
+    }
+
+    // Testa se uma captura atualiza os bitboards das duas cores - Resultado esperado: peça capturada some da ocupação adversária
+    @Test(timeout = 2000)
+    public void testBitboardsAfterCapture() {
+        board_filled.movePiece(new Position(7, 0), new Position(1, 0)); // Torre branca captura peão preto em a7
+        long a7 = Bitboards.bit(Bitboards.square(1, 0));
+        assertEquals("Torre branca deve ocupar a7", a7, board_filled.getPieces(true, Board.ROOK) & a7);
+        assertEquals("Peão preto de a7 deve ter saído do bitboard", 0L, board_filled.getPieces(false, Board.PAWN) & a7);
+        assertEquals("Pretas devem ter 15 peças", 15, Long.bitCount(board_filled.getOccupancy(false)));
+        assertEquals("Ocupação total deve ter 31 peças", 31, Long.bitCount(board_filled.getOccupied()));
+    }
+
+    // Testa se makeMove seguido de unmakeMove restaura peças, turno e en passant - Resultado esperado: tabuleiro igual ao inicial
+    @Test(timeout = 2000)
+    public void testMakeUnmakeRestoresPosition() {
+        long whiteBefore = board_filled.getOccupancy(true);
+        long blackBefore = board_filled.getOccupancy(false);
+
+        int e2e4 = Move.encode(Bitboards.square(6, 4), Bitboards.square(4, 4), Move.DOUBLE_PUSH);
+        board_filled.makeMove(e2e4);
+        assertFalse("Vez das pretas após o lance", board_filled.isWhiteToMove());
+        assertEquals("Alvo de en passant em e3", Bitboards.square(5, 4), board_filled.getEnPassantSquare());
+        assertTrue("Peão deve estar em e4", board_filled.getPiece(4, 4) instanceof Pawn);
+
+        board_filled.unmakeMove();
+        assertTrue("Vez das brancas restaurada", board_filled.isWhiteToMove());
+        assertEquals("Sem alvo de en passant", -1, board_filled.getEnPassantSquare());
+        assertEquals("Ocupação das brancas restaurada", whiteBefore, board_filled.getOccupancy(true));
+        assertEquals("Ocupação das pretas restaurada", blackBefore, board_filled.getOccupancy(false));
+        assertEquals("Direitos de roque intactos", Board.ALL_CASTLING, board_filled.getCastlingRights());
+    }
+
+    // Testa make/unmake de um roque - Resultado esperado: rei e torre voltam às casas de origem
+    @Test(timeout = 2000)
+    public void testMakeUnmakeCastling() {
+        board_empty.setPiece(7, 4, King.WHITE);
+        board_empty.setPiece(7, 7, Rook.WHITE);
+
+        assertEquals("Só o roque pequeno das brancas é possível", Board.WHITE_KINGSIDE, board_empty.getCastlingRights());
+
+        board_empty.makeMove(Move.encode(Bitboards.square(7, 4), Bitboards.square(7, 6), Move.CASTLING));
+        assertTrue("Rei deve estar em g1", board_empty.getPiece(7, 6) instanceof King);
+        assertTrue("Torre deve estar em f1", board_empty.getPiece(7, 5) instanceof Rook);
+        assertEquals("Roque perdido após rocar", 0, board_empty.getCastlingRights());
+
+        board_empty.unmakeMove();
+        assertTrue("Rei deve voltar a e1", board_empty.getPiece(7, 4) instanceof King);
+        assertTrue("Torre deve voltar a h1", board_empty.getPiece(7, 7) instanceof Rook);
+        assertEquals("Direito de roque restaurado", Board.WHITE_KINGSIDE, board_empty.getCastlingRights());
+        assertTrue("f1 e g1 devem estar vazias", board_empty.isEmpty(7, 5) && board_empty.isEmpty(7, 6));
+    }
+
+    // Testa isSquareAttacked e o rastreamento da casa do rei - Resultado esperado: ataques de peão, cavalo e torre detectados
+    @Test(timeout = 2000)
+    public void testSquareAttackedAndKingSquare() {
+        board_empty.setPiece(4, 4, King.WHITE);    // Rei branco em e4
+        board_empty.setPiece(3, 3, Pawn.BLACK);   // Peão preto em d5 (ataca e4)
+        board_empty.setPiece(0, 0, Rook.BLACK);   // Torre preta em a8
+
+        int e4 = Bitboards.square(4, 4);
+        assertEquals("Casa do rei branco deve ser e4", e4, board_empty.getKingSquare(true));
+        assertEquals("Não há rei preto", -1, board_empty.getKingSquare(false));
+        assertTrue("Peão preto em d5 ataca e4", board_empty.isSquareAttacked(e4, false));
+        assertTrue("Torre preta ataca a1", board_empty.isSquareAttacked(Bitboards.square(7, 0), false));
+        assertFalse("Peão preto não ataca para trás (c6)", board_empty.isSquareAttacked(Bitboards.square(2, 2), false));
+
+        board_empty.setPiece(0, 1, Knight.WHITE);  // Cavalo branco em b8 bloqueia a fileira da torre
+        assertFalse("Torre bloqueada não ataca h8", board_empty.isSquareAttacked(Bitboards.square(0, 7), false));
+        assertTrue("Cavalo branco em b8 ataca d7", board_empty.isSquareAttacked(Bitboards.square(1, 3), true));
+    }
+
+    // Testa a chave de Zobrist incremental - Resultado esperado: lances que voltam à posição inicial e unmakeMove restauram a chave
+    @Test(timeout = 2000)
+    public void testZobristKeyTranspositionAndUnmake() {
+        long initial = board_filled.getKey();
+        int g1 = Bitboards.square(7, 6), f3 = Bitboards.square(5, 5);
+        int g8 = Bitboards.square(0, 6), f6 = Bitboards.square(2, 5);
+
+        board_filled.makeMove(Move.encode(g1, f3, 0));
+        long afterNf3 = board_filled.getKey();
+        assertNotEquals("Lance deve mudar a chave", initial, afterNf3);
+        board_filled.makeMove(Move.encode(g8, f6, 0));
+        board_filled.makeMove(Move.encode(f3, g1, 0));
+        board_filled.makeMove(Move.encode(f6, g8, 0));
+        assertEquals("Cavalos de volta: mesma posição, mesma chave", initial, board_filled.getKey());
+
+        board_filled.unmakeMove();
+        board_filled.unmakeMove();
+        board_filled.unmakeMove();
+        assertEquals("unmakeMove deve restaurar a chave", afterNf3, board_filled.getKey());
+        assertEquals("Cópia do tabuleiro deve ter a mesma chave", afterNf3, new Board(board_filled).getKey());
+
+        board_filled.setWhiteToMove(true);
+        assertNotEquals("A vez faz parte da chave", afterNf3, board_filled.getKey());
+    }
+
+    // Testa as tabelas mágicas de torre e bispo contra o cálculo casa a casa - Resultado esperado: mesmos ataques
+    @Test(timeout = 2000)
+    public void testMagicSliderAttacksMatchRayWalk() {
+        java.util.Random random = new java.util.Random(42);
+        int[][] rookSteps = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+        int[][] bishopSteps = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        for (int i = 0; i < 2000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            int square = random.nextInt(64);
+            assertEquals("Ataques de torre", walk(square, occupied, rookSteps), Attacks.rook(square, occupied));
+            assertEquals("Ataques de bispo", walk(square, occupied, bishopSteps), Attacks.bishop(square, occupied));
+        }
+    }
+
+    // Ataques de uma peça deslizante andando casa a casa até a primeira peça de cada direção
+    private static long walk(int square, long occupied, int[][] steps) {
+        long attacks = 0L;
+        for (int[] step : steps) {
+            int row = Bitboards.rowOf(square) + step[0];
+            int col = Bitboards.colOf(square) + step[1];
+            while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                long bit = Bitboards.bit(Bitboards.square(row, col));
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                row += step[0];
+                col += step[1];
+            }
+        }
+        return attacks;
+    }
+
+    // Testa a perda dos direitos de roque - Resultado esperado: torre movida ou capturada no canto perde o lado; unmake restaura
+    @Test(timeout = 2000)
+    public void testCastlingRightsLostOnRookMoveAndCapture() {
+        board_empty.setPiece(7, 4, King.WHITE);
+        board_empty.setPiece(7, 0, Rook.WHITE);
+        board_empty.setPiece(7, 7, Rook.WHITE);
+        board_empty.setPiece(0, 4, King.BLACK);
+        board_empty.setPiece(0, 7, Rook.BLACK);
+        assertEquals(Board.WHITE_KINGSIDE | Board.WHITE_QUEENSIDE | Board.BLACK_KINGSIDE, board_empty.getCastlingRights());
+
+        board_empty.makeMove(Move.encode(Bitboards.square(7, 7), Bitboards.square(0, 7), Move.CAPTURE)); // Th1xh8
+        assertEquals("Torre saiu de h1 e a de h8 foi capturada", Board.WHITE_QUEENSIDE, board_empty.getCastlingRights());
+        board_empty.unmakeMove();
+        assertEquals(Board.WHITE_KINGSIDE | Board.WHITE_QUEENSIDE | Board.BLACK_KINGSIDE, board_empty.getCastlingRights());
+
+        board_empty.movePiece(new Position(7, 0), new Position(6, 0));
+        board_empty.movePiece(new Position(6, 0), new Position(7, 0));
+        assertEquals("Torre que voltou a a1 não recupera o direito",
+                Board.WHITE_KINGSIDE | Board.BLACK_KINGSIDE, board_empty.getCastlingRights());
+        assertSame("Peças são instâncias compartilhadas", board_empty.getPiece(7, 0), Rook.WHITE);
+    }
+
+    // Testa snapshot/fromSnapshot - Resultado esperado: a cópia não muda com o tabuleiro e reconstrói a mesma posição
+    @Test(timeout = 2000)
+    public void testSnapshotRoundTrip() {
+        board_filled.makeMove(Move.encode(Bitboards.square(6, 4), Bitboards.square(4, 4), Move.DOUBLE_PUSH)); // e2-e4
+        BoardSnapshot snapshot = board_filled.snapshot();
+        long key = board_filled.getKey();
+
+        board_filled.makeMove(Move.encode(Bitboards.square(0, 6), Bitboards.square(2, 5), 0)); // Cg8-f6
+        assertEquals("Cópia não acompanha o tabuleiro", key, snapshot.getKey());
+        assertFalse("Vez das pretas na cópia", snapshot.isWhiteToMove());
+        assertEquals("En passant em e3 na cópia", Bitboards.square(5, 4), snapshot.getEnPassantSquare());
+
+        Board rebuilt = Board.fromSnapshot(snapshot);
+        assertEquals("Mesma chave da posição copiada", key, rebuilt.getKey());
+        assertEquals("Mesmo estado", snapshot, rebuilt.snapshot());
+        assertEquals(Board.ALL_CASTLING, rebuilt.getCastlingRights());
+        assertSame(Pawn.WHITE, rebuilt.getPiece(4, 4));
+
+        rebuilt.makeMove(Move.encode(Bitboards.square(1, 3), Bitboards.square(3, 3), Move.DOUBLE_PUSH)); // d7-d5
+        rebuilt.unmakeMove();
+        assertEquals("Tabuleiro reconstruído faz e desfaz lances", key, rebuilt.getKey());
+    }
+
+    // Testa as contagens de material - Resultado esperado: promoção e captura alteram as contagens; unmake e cópias as preservam
+    @Test(timeout = 2000)
+    public void testMaterialCountsAndKey() {
+        assertEquals(8, board_filled.getPieceCount(true, Board.PAWN));
+        assertEquals(2, board_filled.getPieceCount(false, Board.KNIGHT));
+        assertEquals(1, board_filled.getPieceCount(false, Board.QUEEN));
+
+        board_empty.setPiece(7, 4, King.WHITE);
+        board_empty.setPiece(1, 0, Pawn.WHITE);
+        board_empty.setPiece(0, 1, Knight.BLACK);
+        board_empty.setPiece(0, 7, King.BLACK);
+        long kpkn = Board.materialKey(true, Board.KING) + Board.materialKey(true, Board.PAWN)
+                  + Board.materialKey(false, Board.KING) + Board.materialKey(false, Board.KNIGHT);
+        assertEquals("Assinatura igual à soma das peças", kpkn, board_empty.getMaterialKey());
+
+        board_empty.makeMove(Move.encode(Bitboards.square(1, 0), Bitboards.square(0, 1), Move.CAPTURE, Board.QUEEN)); // axb8=D
+        assertEquals("Peão promovido", 0, board_empty.getPieceCount(true, Board.PAWN));
+        assertEquals(1, board_empty.getPieceCount(true, Board.QUEEN));
+        assertEquals("Cavalo capturado", 0, board_empty.getPieceCount(false, Board.KNIGHT));
+        assertEquals("Cópia mantém as contagens", board_empty.getMaterialKey(), new Board(board_empty).getMaterialKey());
+        assertEquals(board_empty.getMaterialKey(), Board.fromSnapshot(board_empty.snapshot()).getMaterialKey());
+
+        board_empty.unmakeMove();
+        assertEquals("unmakeMove restaura a assinatura", kpkn, board_empty.getMaterialKey());
+    }
+
+    // Testa as somas incrementais da avaliação - Resultado esperado: após cada lance e cada unmake, iguais às recalculadas do zero
+    @Test(timeout = 5000)
+    public void testIncrementalEvaluationTermsMatchRecomputed() {
+        ChessModel model = new ChessModel();
+        model.loadFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"); // promoções, roques e en passant
+        Board board = model.getBoard();
+        int[] first = new int[MoveGenerator.MAX_MOVES];
+        int[] second = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, first);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(first[i]);
+            int replies = MoveGenerator.generateLegal(board, second);
+            for (int j = 0; j < replies; j++) {
+                board.makeMove(second[j]);
+                assertEvaluationTermsRecomputed(board);
+                board.unmakeMove();
+            }
+            assertEvaluationTermsRecomputed(board);
+            board.unmakeMove();
+        }
+        assertEvaluationTermsRecomputed(board);
+    }
+
+    private static void assertEvaluationTermsRecomputed(Board board) {
+        Board fresh = Board.fromSnapshot(board.snapshot());
+        assertEquals(fresh.getMidgameScore(), board.getMidgameScore());
+        assertEquals(fresh.getEndgameScore(), board.getEndgameScore());
+        assertEquals(fresh.getPhase(), board.getPhase());
+        assertEquals(fresh.getPawnKey(), board.getPawnKey());
+    }
 }
@@ -1,7 +1,6 @@
 package model;
 
 import static org.junit.Assert.*;
-import org.junit.Before;
 import org.junit.Test;
 
 /**
@@ -10,24 +9,15 @@ import org.junit.Test;
  */
 public class ChessModelCheckTest {
 
-    /**
-     * Executa antes de cada teste.
-     * Reinicializa a instância única do modelo de xadrez para garantir estado limpo.
-     */
-    @Before
-    public void setup() {
-        ChessModel.resetInstance();
-    }
-
     // Testa se o rei branco está em cheque quando uma torre preta está alinhada na mesma coluna.
     @Test(timeout = 2000)
     public void whiteKingInCheckFromRook() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(7, 4, new King(true));       // Rei branco em e1
-        board.setPiece(0, 4, new Rook(false));      // Torre preta em e8
+        board.setPiece(7, 4, King.WHITE);       // Rei branco em e1
+        board.setPiece(0, 4, Rook.BLACK);      // Torre preta em e8
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue("Rei branco deve estar em cheque pela torre preta", model.isInCheck(true));
@@ -39,10 +29,10 @@ public class ChessModelCheckTest {
     public void whiteKingInCheckFromBishop() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(4, 3, new King(true));        // Rei branco em d4
-        board.setPiece(1, 0, new Bishop(false));     // Bispo preto em a7
+        board.setPiece(4, 3, King.WHITE);        // Rei branco em d4
+        board.setPiece(1, 0, Bishop.BLACK);     // Bispo preto em a7
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue("Rei branco deve estar em cheque pelo bispo preto", model.isInCheck(true));
@@ -54,11 +44,11 @@ public class ChessModelCheckTest {
     public void whiteKingInDoubleCheck() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(4, 4, new King(true));        // Rei branco em e4
-        board.setPiece(0, 4, new Rook(false));       // Torre preta em e8
-        board.setPiece(1, 7, new Bishop(false));     // Bispo preto em h7
+        board.setPiece(4, 4, King.WHITE);        // Rei branco em e4
+        board.setPiece(0, 4, Rook.BLACK);       // Torre preta em e8
+        board.setPiece(1, 7, Bishop.BLACK);     // Bispo preto em h7
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue("Rei branco deve estar em cheque duplo (torre e bispo)", model.isInCheck(true));
@@ -70,11 +60,11 @@ public class ChessModelCheckTest {
     public void whiteKingProtectedByPawn() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(7, 4, new King(true));        // Rei branco em e1
-        board.setPiece(6, 4, new Pawn(true));        // Peão branco em e2 (protege o rei)
-        board.setPiece(0, 4, new Rook(false));       // Torre preta em e8
+        board.setPiece(7, 4, King.WHITE);        // Rei branco em e1
+        board.setPiece(6, 4, Pawn.WHITE);        // Peão branco em e2 (protege o rei)
+        board.setPiece(0, 4, Rook.BLACK);       // Torre preta em e8
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertFalse("Rei branco não deve estar em cheque porque o peão branco bloqueia a torre", model.isInCheck(true));
@@ -1,7 +1,6 @@
 package model;
 
 import static org.junit.Assert.*;
-import org.junit.Before;
 import org.junit.Test;
 
 /**
@@ -9,15 +8,6 @@ import org.junit.Test;
  */
 public class ChessModelFENTest {
 
-    /**
-     * Executa antes de cada teste.
-     * Reinicializa a instância única do modelo de xadrez para garantir estado limpo.
-     */
-    @Before
-    public void setup() {
-        ChessModel.resetInstance();
-    }
-
     /**
      * Testa o carregamento e geração de FEN a partir de uma configuração personalizada.
      */
@@ -26,7 +16,7 @@ public class ChessModelFENTest {
         // FEN de exemplo: tabuleiro parcialmente cheio, rei branco e preto, e uma torre
         String fen = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.loadFEN(fen);
 
         Board board = model.getBoard();
@@ -42,4 +32,33 @@ public class ChessModelFENTest {
         String generatedFEN = model.generateFEN();
         assertEquals("FEN gerada deveria ser igual à original (exceto por campos ignorados)", fen, generatedFEN);
     }
+
+    /**
+     * Testa se a chave de posição mantida lance a lance coincide com a da mesma posição carregada por FEN,
+     * e se a perda do roque e a captura en passant possível mudam a chave.
+     */
+    @Test(timeout = 2000)
+    public void testPositionKeyMatchesLoadedFEN() {
+        ChessModel model = new ChessModel();
+        long initialKey = model.positionKey();
+        assertTrue(model.selectPiece(6, 4));
+        assertTrue(model.selectTargetSquare(4, 4));   // e2-e4
+        assertTrue(model.selectPiece(1, 3));
+        assertTrue(model.selectTargetSquare(3, 3));   // d7-d5
+
+        ChessModel loaded = new ChessModel();
+        loaded.loadFEN(model.generateFEN());
+        assertEquals("Mesma posição deve ter a mesma chave", loaded.positionKey(), model.positionKey());
+        assertNotEquals("Posição diferente deve ter outra chave", initialKey, model.positionKey());
+
+        ChessModel noCastling = new ChessModel();
+        noCastling.loadFEN("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w Kkq - 0 1");
+        assertNotEquals("Direitos de roque fazem parte da chave", initialKey, noCastling.positionKey());
+
+        ChessModel withTarget = new ChessModel();
+        withTarget.loadFEN("4k3/8/8/4Pp2/8/8/8/4K3 w - f6 0 1");
+        ChessModel withoutTarget = new ChessModel();
+        withoutTarget.loadFEN("4k3/8/8/4Pp2/8/8/8/4K3 w - - 0 1");
+        assertNotEquals("En passant possível faz parte da chave", withoutTarget.positionKey(), withTarget.positionKey());
+    }
 }
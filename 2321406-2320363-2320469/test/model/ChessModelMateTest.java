@@ -1,16 +1,10 @@
 package model;
 
 import static org.junit.Assert.*;
-import org.junit.Before;
 import org.junit.Test;
 
 public class ChessModelMateTest {
 
-    @Before
-    public void setup() {
-        ChessModel.resetInstance();
-    }
-
     /**
      * Configura um xeque-mate simples:
      * Rei branco em a1, rei preto em c3, dama preta em b2.
@@ -21,11 +15,11 @@ public class ChessModelMateTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(0, 0, new King(true));     // Rei branco em a1
-        board.setPiece(2, 2, new King(false));    // Rei preto em c3
-        board.setPiece(1, 1, new Queen(false));   // Dama preta em b2
+        board.setPiece(0, 0, King.WHITE);     // Rei branco em a1
+        board.setPiece(2, 2, King.BLACK);    // Rei preto em c3
+        board.setPiece(1, 1, Queen.BLACK);   // Dama preta em b2
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         // Deve detectar xeque-mate para o jogador branco
@@ -40,14 +34,13 @@ public class ChessModelMateTest {
      */
     @Test
     public void testStaleMatePosition() {
-        ChessModel.resetInstance();           // garante modelo limpo e vez das brancas
         Board board = new Board(true);        // cria tabuleiro vazio
 
-        board.setPiece(7, 7, new King(true));   // h1 – rei branco
-        board.setPiece(6, 5, new King(false));  // f2 – rei preto               <<< linha correta
-        board.setPiece(5, 6, new Queen(false)); // g3 – dama preta              <<< linha correta
+        board.setPiece(7, 7, King.WHITE);   // h1 – rei branco
+        board.setPiece(6, 5, King.BLACK);  // f2 – rei preto               <<< linha correta
+        board.setPiece(5, 6, Queen.BLACK); // g3 – dama preta              <<< linha correta
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertFalse("Não deve estar em xeque-mate", model.isCheckMate());
@@ -63,15 +56,109 @@ public class ChessModelMateTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(7, 4, new King(true));    // Rei branco em e1
-        board.setPiece(0, 4, new King(false));   // Rei preto em e8
-        board.setPiece(6, 4, new Pawn(true));    // Peão branco em e2
+        board.setPiece(7, 4, King.WHITE);    // Rei branco em e1
+        board.setPiece(0, 4, King.BLACK);   // Rei preto em e8
+        board.setPiece(6, 4, Pawn.WHITE);    // Peão branco em e2
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertFalse("Não deve estar em xeque-mate", model.isCheckMate());
         assertFalse("Não deve estar em afogamento", model.isStalelMate());
     }
 
+    /**
+     * Verifica a situação da partida calculada uma vez por posição:
+     * ela deve acompanhar alterações feitas direto no tabuleiro e lances feitos pelo modelo.
+     */
+    @Test(timeout = 2000)
+    public void testGameStatusFollowsPosition() {
+        Board board = new Board(true);
+        board.setPiece(0, 0, King.WHITE);     // Rei branco em a1
+        board.setPiece(2, 2, King.BLACK);    // Rei preto em c3
+
+        ChessModel model = new ChessModel();
+        model.setBoard(board);
+        assertEquals("Só os reis: material insuficiente", GameStatus.INSUFFICIENT_MATERIAL, model.getGameStatus());
+
+        board.setPiece(1, 1, Queen.BLACK);   // Dama preta em b2: xeque-mate
+        assertEquals(GameStatus.CHECKMATE, model.getGameStatus());
+        assertTrue("Xeque-mate encerra a partida", model.getGameStatus().isGameOver());
+
+        board.setPiece(2, 2, null);               // sem o rei preto, o rei branco captura a dama
+        assertEquals(GameStatus.CHECK, model.getGameStatus());
+        assertEquals("Único destino do rei é b2", 1, model.getValidMovesForPiece(0, 0).size());
+
+        assertTrue(model.selectPiece(0, 0));
+        assertTrue(model.selectTargetSquare(1, 1));
+        assertEquals("Pretas sem peças nem rei: sem lances", GameStatus.STALEMATE, model.getGameStatus());
+    }
+
+    /**
+     * Repetição tripla: os cavalos saem e voltam duas vezes, e a posição inicial aparece pela terceira vez.
+     */
+    @Test(timeout = 2000)
+    public void testThreefoldRepetitionIsDraw() {
+        ChessModel model = new ChessModel();
+        int[][] shuffle = {{7, 6, 5, 5}, {0, 6, 2, 5}, {5, 5, 7, 6}, {2, 5, 0, 6}}; // Cg1-f3, Cg8-f6, Cf3-g1, Cf6-g8
+
+        for (int round = 0; round < 2; round++) {
+            assertEquals("Sem repetição tripla antes da volta " + (round + 1), GameStatus.ONGOING, model.getGameStatus());
+            for (int[] move : shuffle) {
+                assertTrue(model.selectPiece(move[0], move[1]));
+                assertTrue(model.selectTargetSquare(move[2], move[3]));
+            }
+        }
+        assertEquals("Posição inicial pela terceira vez", GameStatus.THREEFOLD_REPETITION, model.getGameStatus());
+        assertTrue(model.getGameStatus().isDraw());
+    }
+
+    /**
+     * Regra dos 50 lances: o centésimo meio-lance sem captura nem lance de peão empata; um lance de peão zera a contagem.
+     */
+    @Test(timeout = 2000)
+    public void testFiftyMoveRuleIsDraw() {
+        ChessModel model = new ChessModel();
+        model.loadFEN("4k3/8/8/8/8/8/4P3/R3K3 w - - 99 80");
+        assertEquals(GameStatus.ONGOING, model.getGameStatus());
+
+        assertTrue(model.selectPiece(7, 0));
+        assertTrue(model.selectTargetSquare(6, 0));   // Ta1-a2
+        assertEquals(GameStatus.FIFTY_MOVE_RULE, model.getGameStatus());
+
+        model.loadFEN("4k3/8/8/8/8/8/4P3/R3K3 w - - 99 80");
+        assertTrue(model.selectPiece(6, 4));
+        assertTrue(model.selectTargetSquare(5, 4));   // e2-e3 zera a contagem
+        assertEquals(GameStatus.ONGOING, model.getGameStatus());
+    }
+
+    /**
+     * Material insuficiente: rei contra rei, rei e bispo ou cavalo contra rei e bispos na mesma cor de casa
+     * empatam; um peão, dois cavalos ou bispos em cores diferentes ainda permitem continuar.
+     */
+    @Test(timeout = 2000)
+    public void testInsufficientMaterialIsDraw() {
+        ChessModel model = new ChessModel();
+        String[] draws = {"4k3/8/8/8/8/8/8/4K3 w - - 0 1", "4k3/8/8/8/8/8/8/2B1K3 w - - 0 1",
+                          "4k3/8/8/8/8/8/8/1N2K3 b - - 0 1", "2b1k3/8/8/8/8/8/8/4KB2 w - - 0 1"};
+        for (String fen : draws) {
+            model.loadFEN(fen);
+            assertEquals(fen, GameStatus.INSUFFICIENT_MATERIAL, model.getGameStatus());
+        }
+        String[] playable = {"4k3/8/8/8/8/8/4P3/4K3 w - - 0 1", "4k3/8/8/8/8/8/8/1N2KN2 w - - 0 1",
+                             "3bk3/8/8/8/8/8/8/4KB2 w - - 0 1"};
+        for (String fen : playable) {
+            model.loadFEN(fen);
+            assertEquals(fen, GameStatus.ONGOING, model.getGameStatus());
+        }
+
+        // Capturar a última peça pesada leva ao empate: a contagem acompanha os lances
+        model.loadFEN("4k3/8/8/8/8/8/4r3/2B1K3 w - - 0 1");
+        assertEquals(GameStatus.CHECK, model.getGameStatus());
+        assertTrue(model.selectPiece(7, 4));
+        assertTrue(model.selectTargetSquare(6, 4));   // Rxe2
+        assertEquals(GameStatus.INSUFFICIENT_MATERIAL, model.getGameStatus());
+        assertEquals("Só o bispo branco além dos reis", 1, model.getBoard().getPieceCount(true, Board.BISHOP));
+        assertEquals(0, model.getBoard().getPieceCount(false, Board.ROOK));
+    }
 }
@@ -1,26 +1,20 @@
 package model;
 
 import static org.junit.Assert.*;
-import org.junit.Before;
 import org.junit.Test;
 import java.util.List;
 
 public class ChessModelMovementTest {
 
-    @Before
-    public void setup() {
-        ChessModel.resetInstance();
-    }
-
     @Test(timeout = 2000)
     public void cannotMoveOtherPieceWhileKingInCheck() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(7, 4, new King(true));
-        board.setPiece(6, 3, new Pawn(true));
-        board.setPiece(0, 4, new Rook(false));
+        board.setPiece(7, 4, King.WHITE);
+        board.setPiece(6, 3, Pawn.WHITE);
+        board.setPiece(0, 4, Rook.BLACK);
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue(model.isInCheck(true));
@@ -36,11 +30,11 @@ public class ChessModelMovementTest {
     public void canBlockCheckWithAnotherPiece() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(7, 4, new King(true));
-        board.setPiece(6, 3, new Bishop(true));
-        board.setPiece(0, 4, new Rook(false));
+        board.setPiece(7, 4, King.WHITE);
+        board.setPiece(6, 3, Bishop.WHITE);
+        board.setPiece(0, 4, Rook.BLACK);
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue(model.isInCheck(true));
@@ -56,10 +50,10 @@ public class ChessModelMovementTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(0, 4, new King(false));
-        board.setPiece(7, 3, new Queen(true));
+        board.setPiece(0, 4, King.BLACK);
+        board.setPiece(7, 3, Queen.WHITE);
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         model.selectPiece(7, 3);
@@ -82,11 +76,11 @@ public class ChessModelMovementTest {
     public void testKnightMovesWithoutObstacles() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(4, 4, new Knight(true));
-        board.setPiece(7, 7, new King(true));
-        board.setPiece(0, 0, new King(false));
+        board.setPiece(4, 4, Knight.WHITE);
+        board.setPiece(7, 7, King.WHITE);
+        board.setPiece(0, 0, King.BLACK);
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         List<int[]> moves = model.getValidMovesForPiece(4, 4);
@@ -107,12 +101,12 @@ public class ChessModelMovementTest {
     public void testBlockedPieceHasNoMoves() {
         Board board = new Board(true);
         board.clear();
-        board.setPiece(4, 4, new Rook(true));
-        board.setPiece(4, 5, new Pawn(true));
-        board.setPiece(7, 7, new King(true));
-        board.setPiece(0, 0, new King(false));
+        board.setPiece(4, 4, Rook.WHITE);
+        board.setPiece(4, 5, Pawn.WHITE);
+        board.setPiece(7, 7, King.WHITE);
+        board.setPiece(0, 0, King.BLACK);
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         List<int[]> moves = model.getValidMovesForPiece(4, 4);
@@ -126,11 +120,11 @@ public class ChessModelMovementTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(1, 0, new Pawn(true));
-        board.setPiece(7, 4, new King(true));
-        board.setPiece(0, 4, new King(false));
+        board.setPiece(1, 0, Pawn.WHITE);
+        board.setPiece(7, 4, King.WHITE);
+        board.setPiece(0, 4, King.BLACK);
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue(model.selectPiece(1, 0));
@@ -144,6 +138,98 @@ public class ChessModelMovementTest {
         assertEquals("wn", promotedCode);
     }
 
+    @Test(timeout = 2000)
+    public void noOtherMoveWhilePromotionIsPending() {
+        ChessModel model = ChessModel.fromFEN("4k3/P7/8/8/8/8/7P/4K3 w - - 0 1");
+
+        assertTrue(model.selectPiece(1, 0));
+        assertTrue(model.selectTargetSquare(0, 0));
+        assertTrue(model.hasPendingPromotion());
+
+        // Outra peça da mesma cor não pode ser selecionada nem movida antes da escolha
+        assertFalse(model.selectPiece(6, 7));
+        assertFalse(model.selectTargetSquare(5, 7));
+        assertEquals("wp", model.getPieceCode(6, 7));
+
+        assertTrue(model.promotePawn("queen"));
+        assertEquals("wq", model.getPieceCode(0, 0));
+        assertEquals("wp", model.getPieceCode(6, 7));
+        assertFalse(model.isWhiteTurn());
+        assertEquals("Q3k3/8/8/8/8/8/7P/4K3 b - - 0 1", model.generateFEN());
+    }
+
+    @Test(timeout = 2000)
+    public void newPositionDiscardsPendingPromotion() {
+        ChessModel model = ChessModel.fromFEN("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        assertTrue(model.selectPiece(1, 0));
+        assertTrue(model.selectTargetSquare(0, 0));
+
+        model.loadFEN("4k3/8/8/8/8/8/8/R3K3 w - - 0 1");
+        assertFalse(model.hasPendingPromotion());
+        assertFalse(model.promotePawn("queen"));
+        assertTrue(model.selectPiece(7, 0));
+        assertTrue(model.selectTargetSquare(0, 0));
+        assertEquals("R3k3/8/8/8/8/8/8/4K3 b - - 1 1", model.generateFEN());
+
+        model.loadFEN("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        assertTrue(model.selectPiece(1, 0));
+        assertTrue(model.selectTargetSquare(0, 0));
+        Board board = new Board(true);
+        board.clear();
+        board.setPiece(7, 0, Rook.WHITE);
+        board.setPiece(7, 4, King.WHITE);
+        board.setPiece(0, 4, King.BLACK);
+        model.setBoard(board);
+        assertFalse(model.hasPendingPromotion());
+        assertFalse(model.promotePawn("queen"));
+        assertEquals("wr", model.getPieceCode(7, 0));
+    }
+
+    @Test(timeout = 2000)
+    public void pinnedPieceOnlyMovesAlongPin() {
+        Board board = new Board(true);
+        board.clear();
+        board.setPiece(7, 4, King.WHITE);    // Rei branco em e1
+        board.setPiece(5, 4, Rook.WHITE);    // Torre branca em e3, cravada
+        board.setPiece(5, 2, Knight.WHITE);  // Cavalo branco em c3
+        board.setPiece(3, 2, Bishop.BLACK); // Bispo preto em c5 (não alinhado)
+        board.setPiece(0, 4, Queen.BLACK);  // Dama preta em e8 crava a torre
+        board.setPiece(0, 0, King.BLACK);
+
+        ChessModel model = new ChessModel();
+        model.setBoard(board);
+
+        List<int[]> moves = model.getValidMovesForPiece(5, 4);
+
+        // A torre só pode andar na coluna e (e2, e4 a e7 e capturar em e8)
+        assertEquals(6, moves.size());
+        assertTrue(containsPosition(moves, 0, 4));
+        assertFalse(containsPosition(moves, 5, 3));
+    }
+
+    @Test(timeout = 2000)
+    public void targetMaskMatchesValidMovesList() {
+        Board board = new Board(true);
+        board.clear();
+        board.setPiece(4, 4, Knight.WHITE);
+        board.setPiece(2, 3, Pawn.WHITE);    // Peão branco ocupa d6, destino do cavalo
+        board.setPiece(7, 7, King.WHITE);
+        board.setPiece(0, 0, King.BLACK);
+
+        ChessModel model = new ChessModel();
+        model.setBoard(board);
+
+        long mask = model.getValidTargetMask(4, 4);
+        List<int[]> moves = model.getValidMovesForPiece(4, 4);
+        assertEquals(moves.size(), Long.bitCount(mask));
+        for (int[] move : moves) {
+            assertTrue((mask & (1L << (move[0] * 8 + move[1]))) != 0);
+        }
+        assertEquals("Casa ocupada por peça aliada não é destino", 0L, mask & (1L << (2 * 8 + 3)));
+        assertEquals("Peça adversária não tem destinos na vez das brancas", 0L, model.getValidTargetMask(0, 0));
+        assertEquals("Casa vazia não tem destinos", 0L, model.getValidTargetMask(3, 3));
+    }
+
     private boolean containsPosition(List<int[]> positions, int row, int col) {
         for (int[] pos : positions) {
             if (pos[0] == row && pos[1] == col) {
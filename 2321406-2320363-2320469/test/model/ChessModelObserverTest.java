@@ -17,8 +17,7 @@ public class ChessModelObserverTest {
 
     @Before
     public void setup() {
-        ChessModel.resetInstance();
-        model = ChessModel.getInstance();
+        model = new ChessModel();
         observerNotificado = false;
     }
 
@@ -28,7 +27,7 @@ public class ChessModelObserverTest {
         board.clear();
 
         // Coloca um peão branco no tabuleiro
-        board.setPiece(6, 0, new Pawn(true));  // Peão em a2
+        board.setPiece(6, 0, Pawn.WHITE);  // Peão em a2
 
         model.setBoard(board);
         model.setWhiteTurn(true);
@@ -55,7 +54,7 @@ public class ChessModelObserverTest {
         board.clear();
 
         // Coloca um peão branco pronto para promover
-        board.setPiece(1, 0, new Pawn(true));  // Peão em a7
+        board.setPiece(1, 0, Pawn.WHITE);  // Peão em a7
 
         model.setBoard(board);
         model.setWhiteTurn(true);
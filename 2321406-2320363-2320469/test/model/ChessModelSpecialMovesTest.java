@@ -1,7 +1,6 @@
 package model;
 
 import static org.junit.Assert.*;
-import org.junit.Before;
 import org.junit.Test;
 
 /**
@@ -10,15 +9,6 @@ import org.junit.Test;
  */
 public class ChessModelSpecialMovesTest {
 
-    /**
-     * Executa antes de cada teste.
-     * Reinicializa a instância única do modelo de xadrez para garantir estado limpo.
-     */
-    @Before
-    public void setup() {
-        ChessModel.resetInstance();
-    }
-
     // Testa roque pequeno válido para as brancas (rei de e1 para g1)
     @Test(timeout = 2000)
     public void whiteKingsideCastlingValid() {
@@ -27,10 +17,10 @@ public class ChessModelSpecialMovesTest {
         Position rookPosition = new Position(7, 7); // h1
         board.clear();
 
-        board.setPiece(7, 4, new King(true));  // Rei branco em e1
-        board.setPiece(7, 7, new Rook(true));  // Torre branca em h1
+        board.setPiece(7, 4, King.WHITE);  // Rei branco em e1
+        board.setPiece(7, 7, Rook.WHITE);  // Torre branca em h1
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setWhiteTurn(true); // se for o rei branco
         model.setBoard(board);
 
@@ -45,11 +35,11 @@ public class ChessModelSpecialMovesTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(7, 4, new King(true));  // Rei branco em e1
-        board.setPiece(7, 7, new Rook(true));  // Torre branca em h1
-        board.setPiece(7, 5, new Knight(true)); // Cavalo bloqueando f1
+        board.setPiece(7, 4, King.WHITE);  // Rei branco em e1
+        board.setPiece(7, 7, Rook.WHITE);  // Torre branca em h1
+        board.setPiece(7, 5, Knight.WHITE); // Cavalo bloqueando f1
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue("Roque não deve ser permitido com peça no caminho", model.selectPiece(7, 4));
@@ -62,15 +52,17 @@ public class ChessModelSpecialMovesTest {
         Board board = new Board(true);
         board.clear();
 
-        King king = new King(true);
-        king.setHasMoved(true); // rei já se moveu
         Position kingPosition = new Position(7, 4); // e1
 
-        board.setPiece(7, 4, king);            // Rei branco em e1
-        board.setPiece(7, 7, new Rook(true));  // Torre branca em h1
+        board.setPiece(7, 4, King.WHITE);      // Rei branco em e1
+        board.setPiece(7, 7, Rook.WHITE);  // Torre branca em h1
         Position rookPosition = new Position(7, 7); // h1
 
-        ChessModel model = ChessModel.getInstance();
+        // rei já se moveu: vai a f1 e volta a e1
+        board.movePiece(kingPosition, new Position(7, 5));
+        board.movePiece(new Position(7, 5), kingPosition);
+
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertFalse("Tentativa de roque após mover", model.attemptCastling(kingPosition, rookPosition));
@@ -84,8 +76,8 @@ public class ChessModelSpecialMovesTest {
         Board board = new Board(true);
         board.clear();
 
-        King king = new King(true);
-        Rook rook = new Rook(true);
+        King king = King.WHITE;
+        Rook rook = Rook.WHITE;
         Position kingPosition = new Position(7, 4); // e1
         Position rookPosition = new Position(7, 7); // h1
 
@@ -93,9 +85,9 @@ public class ChessModelSpecialMovesTest {
         board.setPiece(7, 7, rook); // Torre em h1
 
         // Bispo inimigo atacando b4 (7,5)
-        board.setPiece(4, 1, new Bishop(false)); // Torre preta em f3
+        board.setPiece(4, 1, Bishop.BLACK); // Torre preta em f3
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         assertTrue("Rei está em cheque", model.isInCheck(true));
@@ -111,10 +103,10 @@ public class ChessModelSpecialMovesTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(3, 4, new Pawn(true));   // Peão branco em e5
-        board.setPiece(1, 5, new Pawn(false));  // Peão preto em f7
+        board.setPiece(3, 4, Pawn.WHITE);   // Peão branco em e5
+        board.setPiece(1, 5, Pawn.BLACK);  // Peão preto em f7
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         // Movimento do peão preto: f7 → f5 
@@ -123,7 +115,6 @@ public class ChessModelSpecialMovesTest {
 
         model.getBoard().getPiece(1, 5);
         model.getBoard().movePiece(from, to);
-        model.getBoard().getPiece(3, 5).setHasMoved(true);
         
         model.selectPiece(3, 4); // peão branco e5
         model.setEnPassantTarget(new Position(2, 5)); // Verifica o estado de en passant
@@ -142,14 +133,45 @@ public class ChessModelSpecialMovesTest {
         Board board = new Board(true);
         board.clear();
 
-        board.setPiece(3, 4, new Pawn(true));   // Peão branco em e5
-        board.setPiece(3, 5, new Pawn(false));  // Peão preto já em f5 (não recém chegado)
+        board.setPiece(3, 4, Pawn.WHITE);   // Peão branco em e5
+        board.setPiece(3, 5, Pawn.BLACK);  // Peão preto já em f5 (não recém chegado)
 
-        ChessModel model = ChessModel.getInstance();
+        ChessModel model = new ChessModel();
         model.setBoard(board);
 
         // Movimento do peão branco tentando en passant
         model.selectPiece(3, 4);  // Seleciona o peão de brancas
         assertFalse("En passant inválido sem movimento duplo anterior", model.selectTargetSquare(2, 5));
     }
+
+    // Testa en passant inválido quando a captura remove os dois peões da fileira do rei e descobre cheque
+    @Test(timeout = 2000)
+    public void enPassantInvalidIfItDiscoversCheck() {
+        ChessModel model = new ChessModel();
+        model.loadFEN("8/8/8/K2pP2r/8/8/8/7k w - d6 0 1"); // rei branco a5, peões d5/e5, torre preta h5
+
+        assertTrue("Peão branco selecionado", model.selectPiece(3, 4));
+        assertFalse("En passant deixaria o rei em cheque pela torre", model.selectTargetSquare(2, 3));
+        assertTrue("Avanço simples continua válido", model.selectTargetSquare(2, 4));
+    }
+
+    // Testa se o alvo de en passant pertence a cada partida - Resultado esperado: só o modelo com o alvo permite a captura
+    @Test(timeout = 2000)
+    public void enPassantTargetIsPerGame() {
+        ChessModel withTarget = new ChessModel();
+        withTarget.loadFEN("4k3/8/8/4Pp2/8/8/8/4K3 w - f6 0 1");
+        ChessModel withoutTarget = new ChessModel();
+        withoutTarget.loadFEN("4k3/8/8/4Pp2/8/8/8/4K3 w - - 0 1");
+
+        Pawn pawn = (Pawn) withTarget.getBoard().getPiece(3, 4);
+        assertTrue("En passant válido no tabuleiro com alvo",
+                pawn.isValidMove(new Position(3, 4), new Position(2, 5), withTarget.getBoard()));
+        assertFalse("En passant inválido no tabuleiro sem alvo",
+                pawn.isValidMove(new Position(3, 4), new Position(2, 5), withoutTarget.getBoard()));
+
+        assertTrue(withoutTarget.selectPiece(3, 4));
+        assertFalse("Outra partida não pode herdar o alvo de en passant", withoutTarget.selectTargetSquare(2, 5));
+        assertTrue(withTarget.selectPiece(3, 4));
+        assertTrue("Captura en passant válida", withTarget.selectTargetSquare(2, 5));
+    }
 }
@@ -13,7 +13,7 @@ public class KingTest {
     @Before
     public void prepare() {
         board_empty = new Board(true);
-        whiteKing = new King(true);
+        whiteKing = King.WHITE;
     }
 
     // Testa movimento válido: 1 casa para baixo
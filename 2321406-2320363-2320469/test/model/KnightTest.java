@@ -13,7 +13,7 @@ public class KnightTest {
     @Before
     public void prepare() {
         board_empty = new Board(true);
-        whiteKnight = new Knight(true);
+        whiteKnight = Knight.WHITE;
     }
 
     // Testa se o cavalo pode realizar um movimento em "L" válido (2 para frente, 1 para o lado) - Resultado esperado: true
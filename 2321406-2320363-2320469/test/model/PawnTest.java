@@ -13,7 +13,7 @@ public class PawnTest {
     @Before
     public void prepare() {
         board = new Board(true);
-        whitePawn = new Pawn(true);
+        whitePawn = Pawn.WHITE;
     }
 
     // Testa se o peão branco pode avançar uma casa para frente - Resultado esperado: true
@@ -9,14 +9,14 @@ public class PieceTest {
     // Testa se uma peça branca retorna true para isWhite()
     @Test(timeout = 2000)
     public void testWhitePieceIsWhite() {
-        Piece whitePawn = new Pawn(true);
+        Piece whitePawn = Pawn.WHITE;
         assertTrue("Peça branca deve retornar isWhite() = true", whitePawn.isWhite());
     }
 
     // Testa se uma peça preta retorna false para isWhite()
     @Test(timeout = 2000)
     public void testBlackPieceIsNotWhite() {
-        Piece blackBishop = new Bishop(false);
+        Piece blackBishop = Bishop.BLACK;
         assertFalse("Peça preta deve retornar isWhite() = false", blackBishop.isWhite());
     }
 }
@@ -13,7 +13,7 @@ public class QueenTest {
     @Before
     public void prepare() {
         board_empty = new Board(true);
-        whiteQueen = new Queen(true);
+        whiteQueen = Queen.WHITE;
     }
 
     // Testa movimento válido vertical da rainha - Resultado esperado: true
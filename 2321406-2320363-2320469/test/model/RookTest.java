@@ -16,7 +16,7 @@ public class RookTest {
     public void prepare() {
         board_empty = new Board(true);
         board_filled = new Board(false);
-        whiteRook = new Rook(true);
+        whiteRook = Rook.WHITE;
     }
 
     // Movendo a torre 5 unidades para frente em linha reta na horizontal sem obstáculos - Resultado esperado: true
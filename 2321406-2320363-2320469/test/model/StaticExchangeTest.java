@@ -0,0 +1,76 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+// Testa a avaliação estática de trocas (StaticExchange): recapturas, raios atrás das peças, en passant,
+// promoções e o rei, que não pode recapturar numa casa ainda defendida.
+public class StaticExchangeTest {
+
+    // Saldo da troca do lance (em notação de coordenadas) na posição da FEN
+    private static int see(String fen, String uci) {
+        ChessModel model = ChessModel.fromFEN(fen);
+        Board board = model.getBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, moves);
+        for (int i = 0; i < count; i++) {
+            if (Move.toUci(moves[i]).equals(uci)) {
+                String before = model.generateFEN();
+                int value = StaticExchange.evaluate(board, moves[i]);
+                assertEquals("Tabuleiro não é alterado", before, model.generateFEN());
+                return value;
+            }
+        }
+        throw new AssertionError("Lance " + uci + " não é legal em " + fen);
+    }
+
+    // Testa capturas simples - Resultado esperado: peão solto vale 100, peão defendido pelo peão custa a rainha
+    @Test(timeout = 2000)
+    public void testSimpleCaptures() {
+        assertEquals(100, see("4k3/8/8/3p4/8/8/8/3QK3 w - - 0 1", "d1d5"));
+        assertEquals(-800, see("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", "d1d5"));
+        assertEquals(0, see("4k3/8/2p5/3p4/4P3/8/8/4K3 w - - 0 1", "e4d5"));
+    }
+
+    // Testa lance quieto para casa atacada - Resultado esperado: a rainha é perdida para o peão
+    @Test(timeout = 2000)
+    public void testQuietMoveToAttackedSquare() {
+        assertEquals(-900, see("4k3/8/2p5/8/8/8/8/3QK3 w - - 0 1", "d1d5"));
+        assertEquals(0, see("4k3/8/8/8/8/8/8/3QK3 w - - 0 1", "d1d5"));
+    }
+
+    // Testa torres dobradas dos dois lados - Resultado esperado: os raios de trás entram na troca e a captura perde
+    @Test(timeout = 2000)
+    public void testXRayAttackers() {
+        assertEquals(-400, see("3rk3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2d5"));
+    }
+
+    // Testa o rei defendendo - Resultado esperado: recaptura sozinho, mas não numa casa defendida por um raio
+    @Test(timeout = 2000)
+    public void testKingRecapture() {
+        assertEquals(-400, see("4k3/4p3/8/8/8/8/4R3/K7 w - - 0 1", "e2e7"));
+        assertEquals(100, see("4k3/4p3/8/8/8/4R3/4R3/K7 w - - 0 1", "e3e7"));
+    }
+
+    // Testa en passant e promoções - Resultado esperado: o peão capturado e a troca da peça nova
+    @Test(timeout = 2000)
+    public void testEnPassantAndPromotion() {
+        assertEquals(100, see("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5d6"));
+        assertEquals(800, see("4k3/P7/8/8/8/8/8/4K3 w - - 0 1", "a7a8q"));
+        assertEquals(-100, see("1k6/P7/8/8/8/8/8/4K3 w - - 0 1", "a7a8q"));
+    }
+
+    // Testa isLosing - Resultado esperado: peão ou rainha pela rainha não perdem; rainha por peão defendido perde
+    @Test(timeout = 2000)
+    public void testIsLosing() {
+        ChessModel model = ChessModel.fromFEN("4k3/8/2p5/3q4/4P3/8/8/3QK3 w - - 0 1");
+        Board board = model.getBoard();
+        int[] gain = new int[StaticExchange.MAX_EXCHANGES];
+        int pawnTakesQueen = Move.encode(Bitboards.square(4, 4), Bitboards.square(3, 3), Move.CAPTURE);
+        int queenTakesQueen = Move.encode(Bitboards.square(7, 3), Bitboards.square(3, 3), Move.CAPTURE);
+        assertFalse(StaticExchange.isLosing(board, pawnTakesQueen, gain));
+        assertFalse(StaticExchange.isLosing(board, queenTakesQueen, gain));
+        model.loadFEN("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1");
+        assertTrue(StaticExchange.isLosing(model.getBoard(), queenTakesQueen, gain));
+    }
+}